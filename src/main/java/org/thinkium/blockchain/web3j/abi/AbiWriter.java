@@ -0,0 +1,304 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.thinkium.blockchain.web3j.abi.datatypes.Type.MAX_BYTE_LENGTH;
+
+/**
+ * <p>Binary ABI encoder. The exact size of an encoding is computed first, then head and tail
+ * words are written straight into one {@code byte[]}, so a call is hex encoded only once, by the
+ * caller, instead of once per parameter.</p>
+ *
+ * <p>Values follow the ABI specification: a struct, a fixed size array and the elements of a
+ * dynamic array are each encoded as a tuple, static values in the head and offsets in the head to
+ * dynamic values in the tail, the offsets counted from the start of the tuple.</p>
+ */
+public class AbiWriter {
+    
+    private final byte[] buffer;
+    private int position;
+    
+    /**
+     * @param buffer   receives the encoding, must have room for it from {@code position} on
+     * @param position where writing starts
+     */
+    public AbiWriter(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+    
+    public int getPosition() {
+        return position;
+    }
+    
+    public static byte[] encode(Type parameter) {
+        byte[] result = new byte[encodedLength(parameter)];
+        new AbiWriter(result, 0).write(parameter);
+        return result;
+    }
+    
+    /**
+     * Encode function or constructor parameters: static values and offsets in the head, dynamic
+     * values in the tail.
+     *
+     * @param parameters the parameters
+     *
+     * @return the encoding
+     */
+    public static byte[] encodeParameters(List<Type> parameters) {
+        byte[] result = new byte[encodedLength(parameters)];
+        new AbiWriter(result, 0).writeParameters(parameters);
+        return result;
+    }
+    
+    /**
+     * @param parameter a value
+     *
+     * @return number of bytes {@link #write(Type)} produces for it
+     */
+    public static int encodedLength(Type parameter) {
+        if (parameter instanceof NumericType
+                || parameter instanceof Address
+                || parameter instanceof Bool) {
+            return MAX_BYTE_LENGTH;
+        } else if (parameter instanceof Bytes) {
+            return paddedLength(((Bytes) parameter).getValue().length);
+        } else if (parameter instanceof DynamicBytes) {
+            return MAX_BYTE_LENGTH + paddedLength(((DynamicBytes) parameter).getValue().length);
+        } else if (parameter instanceof Utf8String) {
+            return MAX_BYTE_LENGTH + paddedLength(utf8Length(((Utf8String) parameter).getValue()));
+        } else if (parameter instanceof StaticArray || parameter instanceof DynamicStruct) {
+            return tupleLength((Array<?>) parameter);
+        } else if (parameter instanceof DynamicArray) {
+            return MAX_BYTE_LENGTH + tupleLength((Array<?>) parameter);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+    
+    /**
+     * @param parameters function or constructor parameters
+     *
+     * @return number of bytes {@link #writeParameters(List)} produces for them
+     */
+    public static int encodedLength(List<Type> parameters) {
+        return encodedLength(parameters, Layout.of(parameters));
+    }
+    
+    static int encodedLength(List<Type> parameters, Layout layout) {
+        int length = layout.headLength;
+        for (int i = 0; i < layout.dynamic.length; i++) {
+            if (layout.dynamic[i]) {
+                length += encodedLength(parameters.get(i));
+            }
+        }
+        return length;
+    }
+    
+    public void write(Type parameter) {
+        if (parameter instanceof NumericType) {
+            writeNumeric((NumericType) parameter);
+        } else if (parameter instanceof Address) {
+            writeNumeric(((Address) parameter).toUint());
+        } else if (parameter instanceof Bool) {
+            writeWord(((Bool) parameter).getValue() ? 1 : 0);
+        } else if (parameter instanceof Bytes) {
+            writePadded(((Bytes) parameter).getValue());
+        } else if (parameter instanceof DynamicBytes) {
+            byte[] value = ((DynamicBytes) parameter).getValue();
+            writeWord(value.length);
+            writePadded(value);
+        } else if (parameter instanceof Utf8String) {
+            byte[] value = ((Utf8String) parameter).getValue().getBytes(StandardCharsets.UTF_8);
+            writeWord(value.length);
+            writePadded(value);
+        } else if (parameter instanceof StaticArray || parameter instanceof DynamicStruct) {
+            writeTuple((Array<?>) parameter);
+        } else if (parameter instanceof DynamicArray) {
+            writeWord(((DynamicArray<?>) parameter).getValue().size());
+            writeTuple((Array<?>) parameter);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+    
+    /**
+     * Write function or constructor parameters, see {@link #encodeParameters(List)}.
+     *
+     * @param parameters the parameters
+     */
+    public void writeParameters(List<Type> parameters) {
+        writeParameters(parameters, Layout.of(parameters));
+    }
+    
+    void writeParameters(List<Type> parameters, Layout layout) {
+        long dynamicDataOffset = layout.headLength;
+        int head = position;
+        int tail = position + layout.headLength;
+        for (int i = 0; i < layout.dynamic.length; i++) {
+            Type parameter = parameters.get(i);
+            if (layout.dynamic[i]) {
+                position = head;
+                writeWord(dynamicDataOffset);
+                head = position;
+                position = tail;
+                write(parameter);
+                dynamicDataOffset += position - tail;
+                tail = position;
+            } else {
+                position = head;
+                write(parameter);
+                head = position;
+            }
+        }
+        position = tail;
+    }
+    
+    /** Write a non negative value as a 32 byte word. */
+    public void writeWord(long value) {
+        Arrays.fill(buffer, position, position + MAX_BYTE_LENGTH - 8, (byte) 0);
+        for (int i = MAX_BYTE_LENGTH - 1; i >= MAX_BYTE_LENGTH - 8; i--) {
+            buffer[position + i] = (byte) value;
+            value >>>= 8;
+        }
+        position += MAX_BYTE_LENGTH;
+    }
+    
+    private void writeNumeric(NumericType numericType) {
+        BigInteger value = numericType.getValue();
+        if (value.signum() >= 0 && value.bitLength() < Long.SIZE) {
+            writeWord(value.longValue());
+            return;
+        }
+        byte[] rawValue = value.toByteArray();
+        // a 256 bit unsigned value carries an extra sign byte
+        int length = Math.min(rawValue.length, MAX_BYTE_LENGTH);
+        int padding = MAX_BYTE_LENGTH - length;
+        Arrays.fill(buffer, position, position + padding, value.signum() < 0 ? (byte) 0xff : 0);
+        System.arraycopy(rawValue, rawValue.length - length, buffer, position + padding, length);
+        position += MAX_BYTE_LENGTH;
+    }
+    
+    private void writePadded(byte[] value) {
+        System.arraycopy(value, 0, buffer, position, value.length);
+        int end = position + paddedLength(value.length);
+        Arrays.fill(buffer, position + value.length, end, (byte) 0);
+        position = end;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void writeTuple(Array<?> tuple) {
+        List<Type> values = (List<Type>) tuple.getValue();
+        Layout layout = tupleLayout(tuple);
+        if (layout == null) {
+            for (Type value : values) {
+                write(value);
+            }
+        } else {
+            writeParameters(values, layout);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static int tupleLength(Array<?> tuple) {
+        List<Type> values = (List<Type>) tuple.getValue();
+        Layout layout = tupleLayout(tuple);
+        if (layout == null) {
+            int length = 0;
+            for (Type value : values) {
+                length += encodedLength(value);
+            }
+            return length;
+        }
+        return encodedLength(values, layout);
+    }
+    
+    /**
+     * @return layout of the values of an array or struct, or null if they are all static and so
+     * simply follow each other
+     */
+    @SuppressWarnings("unchecked")
+    private static Layout tupleLayout(Array<?> tuple) {
+        List<Type> values = (List<Type>) tuple.getValue();
+        Layout layout;
+        if (tuple instanceof StructType) {
+            layout = TypeRegistry.getStructLayout(tuple.getClass());
+            if (layout == null || layout.dynamic.length != values.size()) {
+                layout = Layout.of(values);
+            }
+        } else if (!values.isEmpty() && TypeEncoder.isDynamic(values.get(0))) {
+            // array elements share one type
+            layout = Layout.of(values);
+        } else {
+            return null;
+        }
+        return layout.hasDynamic ? layout : null;
+    }
+    
+    static int paddedLength(int length) {
+        return (length + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH * MAX_BYTE_LENGTH;
+    }
+    
+    /** Length of {@code s} in UTF-8, as {@code s.getBytes(UTF_8).length}, without encoding it. */
+    static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogates are replaced by '?'
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+    
+    /**
+     * Placement of the values of a tuple, such as the parameters of one function signature or the
+     * fields of a struct: which are dynamic and how long the head is. It depends on the types only,
+     * so it can be kept per signature or struct class.
+     */
+    static final class Layout {
+        final boolean[] dynamic;
+        final int headLength;
+        final boolean hasDynamic;
+        
+        Layout(boolean[] dynamic, int headLength) {
+            this.dynamic = dynamic;
+            this.headLength = headLength;
+            boolean hasDynamic = false;
+            for (boolean value : dynamic) {
+                hasDynamic |= value;
+            }
+            this.hasDynamic = hasDynamic;
+        }
+        
+        static Layout of(List<Type> parameters) {
+            boolean[] dynamic = new boolean[parameters.size()];
+            int headLength = 0;
+            for (int i = 0; i < dynamic.length; i++) {
+                Type parameter = parameters.get(i);
+                dynamic[i] = TypeEncoder.isDynamic(parameter);
+                headLength += dynamic[i] ? MAX_BYTE_LENGTH : encodedLength(parameter);
+            }
+            return new Layout(dynamic, headLength);
+        }
+    }
+}
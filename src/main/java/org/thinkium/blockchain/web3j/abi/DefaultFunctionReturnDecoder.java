@@ -3,16 +3,13 @@ package org.thinkium.blockchain.web3j.abi;
 import org.thinkium.blockchain.web3j.abi.datatypes.*;
 import org.thinkium.blockchain.web3j.abi.datatypes.generated.Bytes32;
 import org.thinkium.blockchain.web3j.utils.Numeric;
-import org.thinkium.blockchain.web3j.utils.Strings;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import static org.thinkium.blockchain.web3j.abi.TypeDecoder.MAX_BYTE_LENGTH_FOR_HEX_STRING;
 import static org.thinkium.blockchain.web3j.abi.TypeDecoder.isDynamic;
 import static org.thinkium.blockchain.web3j.abi.Utils.getParameterizedTypeFromArray;
-import static org.thinkium.blockchain.web3j.abi.Utils.staticStructNestedPublicFieldsFlatList;
 
 /**
  * Ethereum Contract Application Binary Interface (ABI) encoding for functions. Further details are
@@ -22,9 +19,9 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
 
     public List<Type> decodeFunctionResult(String rawInput, List<TypeReference<Type>> outputParameters) {
 
-        String input = Numeric.cleanHexPrefix(rawInput);
+        byte[] input = Numeric.hexStringToByteArray(rawInput);
 
-        if (Strings.isEmpty(input)) {
+        if (input.length == 0) {
             return Collections.emptyList();
         } else {
             return build(input, outputParameters);
@@ -34,14 +31,13 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
     @SuppressWarnings("unchecked")
     public <T extends Type> Type decodeEventParameter(String rawInput, TypeReference<T> typeReference) {
 
-        String input = Numeric.cleanHexPrefix(rawInput);
+        byte[] input = Numeric.hexStringToByteArray(rawInput);
 
         try {
             Class<T> type = typeReference.getClassType();
 
             if (Bytes.class.isAssignableFrom(type)) {
-                Class<Bytes> bytesClass = (Class<Bytes>) Class.forName(type.getName());
-                return TypeDecoder.decodeBytes(input, bytesClass);
+                return TypeDecoder.decodeBytes(input, (Class<Bytes>) (Class<?>) type);
             } else if (Array.class.isAssignableFrom(type)
                     || BytesType.class.isAssignableFrom(type)
                     || Utf8String.class.isAssignableFrom(type)) {
@@ -54,44 +50,38 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
         }
     }
 
-    private static List<Type> build(String input, List<TypeReference<Type>> outputParameters) {
+    static List<Type> build(byte[] input, List<TypeReference<Type>> outputParameters) {
         List<Type> results = new ArrayList<>(outputParameters.size());
 
         int offset = 0;
         for (TypeReference<?> typeReference : outputParameters) {
             try {
-                int hexStringDataOffset = getDataOffset(input, offset, typeReference);
+                int dataOffset = getDataOffset(input, offset, typeReference);
 
                 @SuppressWarnings("unchecked")
                 Class<Type> classType = (Class<Type>) typeReference.getClassType();
 
                 Type result;
                 if (DynamicStruct.class.isAssignableFrom(classType)) {
-                    result = TypeDecoder.decodeDynamicStruct(input, hexStringDataOffset, typeReference);
-                    offset += MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                    result = TypeDecoder.decodeDynamicStruct(input, dataOffset, typeReference);
+                    offset += Type.MAX_BYTE_LENGTH;
                 } else if (DynamicArray.class.isAssignableFrom(classType)) {
-                    result = TypeDecoder.decodeDynamicArray(input, hexStringDataOffset, typeReference);
-                    offset += MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                    result = TypeDecoder.decodeDynamicArray(input, dataOffset, typeReference);
+                    offset += Type.MAX_BYTE_LENGTH;
                 } else if (typeReference instanceof TypeReference.StaticArrayTypeReference) {
                     int length = ((TypeReference.StaticArrayTypeReference) typeReference).getSize();
-                    result = TypeDecoder.decodeStaticArray(input, hexStringDataOffset, typeReference, length);
-                    offset += length * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                    result = TypeDecoder.decodeStaticArray(input, dataOffset, typeReference, length);
+                    offset += staticArrayHeadLength(typeReference, length);
                 } else if (StaticStruct.class.isAssignableFrom(classType)) {
-                    result = TypeDecoder.decodeStaticStruct(input, hexStringDataOffset, typeReference);
-                    offset += staticStructNestedPublicFieldsFlatList(classType).size() * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                    result = TypeDecoder.decodeStaticStruct(input, dataOffset, typeReference);
+                    offset += TypeDecoder.staticStructLength(classType);
                 } else if (StaticArray.class.isAssignableFrom(classType)) {
-                    int length = Integer.parseInt(classType.getSimpleName().substring(StaticArray.class.getSimpleName().length()));
-                    result = TypeDecoder.decodeStaticArray(input, hexStringDataOffset, typeReference, length);
-                    if (DynamicStruct.class.isAssignableFrom(getParameterizedTypeFromArray(typeReference))) {
-                        offset += MAX_BYTE_LENGTH_FOR_HEX_STRING;
-                    } else if (StaticStruct.class.isAssignableFrom(getParameterizedTypeFromArray(typeReference))) {
-                        offset += staticStructNestedPublicFieldsFlatList(getParameterizedTypeFromArray(typeReference)).size() * length * MAX_BYTE_LENGTH_FOR_HEX_STRING;
-                    } else {
-                        offset += length * MAX_BYTE_LENGTH_FOR_HEX_STRING;
-                    }
+                    int length = TypeRegistry.getStaticArraySize((Class<StaticArray>) (Class<?>) classType);
+                    result = TypeDecoder.decodeStaticArray(input, dataOffset, typeReference, length);
+                    offset += staticArrayHeadLength(typeReference, length);
                 } else {
-                    result = TypeDecoder.decode(input, hexStringDataOffset, classType);
-                    offset += MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                    result = TypeDecoder.decode(input, dataOffset, classType);
+                    offset += Type.MAX_BYTE_LENGTH;
                 }
                 results.add(result);
 
@@ -102,14 +92,38 @@ public class DefaultFunctionReturnDecoder extends FunctionReturnDecoder {
         return results;
     }
 
-    public static <T extends Type> int getDataOffset(String input, int offset, TypeReference<?> typeReference) throws ClassNotFoundException {
+    /**
+     * @return bytes a fixed size array takes in the head: an offset if its elements are dynamic,
+     * otherwise the elements themselves
+     */
+    private static int staticArrayHeadLength(TypeReference<?> typeReference, int length) throws ClassNotFoundException {
+        Class<Type> elementType = getParameterizedTypeFromArray(typeReference);
+        if (DynamicStruct.class.isAssignableFrom(elementType) || isDynamic(elementType)) {
+            return Type.MAX_BYTE_LENGTH;
+        } else if (StaticStruct.class.isAssignableFrom(elementType)) {
+            return TypeDecoder.staticStructLength(elementType) * length;
+        } else {
+            return length * Type.MAX_BYTE_LENGTH;
+        }
+    }
+
+    /**
+     * @param input         decoded input
+     * @param offset        byte offset of the head word of the value
+     * @param typeReference type of the value
+     *
+     * @return byte offset of the value, read from the head word for dynamic types
+     *
+     * @throws ClassNotFoundException if class type cannot be determined
+     */
+    public static <T extends Type> int getDataOffset(byte[] input, int offset, TypeReference<?> typeReference) throws ClassNotFoundException {
         @SuppressWarnings("unchecked")
         Class<Type> type = (Class<Type>) typeReference.getClassType();
         if (DynamicBytes.class.isAssignableFrom(type)
                 || Utf8String.class.isAssignableFrom(type)
                 || DynamicArray.class.isAssignableFrom(type)
                 || hasDynamicOffsetInStaticArray(typeReference, offset)) {
-            return TypeDecoder.decodeUintAsInt(input, offset) << 1;
+            return TypeDecoder.decodeUintAsInt(input, offset);
         } else {
             return offset;
         }
@@ -6,6 +6,8 @@ import org.thinkium.blockchain.web3j.utils.Numeric;
 import org.thinkium.blockchain.web3j.utils.cipher.Hash;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -16,6 +18,11 @@ import java.util.stream.Collectors;
  */
 public class EventEncoder {
     
+    /** Maximum number of cached topics; signatures beyond it are hashed on every call. */
+    private static final int CACHE_SIZE = 1024;
+    
+    private static final Map<String, String> TOPICS = new ConcurrentHashMap<>();
+    
     private EventEncoder() {
     }
     
@@ -25,7 +32,14 @@ public class EventEncoder {
                 event.getName(),
                 event.getParameters());
         
-        return buildEventSignature(methodSignature);
+        String topic = TOPICS.get(methodSignature);
+        if (topic == null) {
+            topic = buildEventSignature(methodSignature);
+            if (TOPICS.size() < CACHE_SIZE) {
+                TOPICS.put(methodSignature, topic);
+            }
+        }
+        return topic;
     }
     
     static <T extends Type> String buildMethodSignature(
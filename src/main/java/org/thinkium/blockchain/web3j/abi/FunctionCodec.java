@@ -0,0 +1,148 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.thinkium.blockchain.web3j.abi.datatypes.Function;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Encoder and decoder of one function shape: its name, input types and output types.</p>
+ *
+ * <p>A codec is compiled on the first call of a shape and cached, so later calls skip building
+ * and hashing the method signature, placing the head words, and resolving the output
+ * {@link TypeReference}s: the selector, the head layout and the resolved output references of the
+ * first call are reused.</p>
+ */
+public final class FunctionCodec {
+    
+    /** Maximum number of cached shapes. */
+    public static final int CACHE_SIZE = 1024;
+    
+    private static final Map<String, FunctionCodec> CACHE = new ConcurrentHashMap<>();
+    
+    private final String methodSignature;
+    private final byte[] selector;
+    private final AbiWriter.Layout layout;
+    private final List<TypeReference<Type>> outputParameters;
+    
+    private FunctionCodec(String methodSignature, List<Type> inputParameters, List<TypeReference<Type>> outputParameters) {
+        this.methodSignature = methodSignature;
+        byte[] hash = Hash.sha3(methodSignature.getBytes());
+        this.selector = new byte[FunctionEncoder.METHOD_ID_LENGTH];
+        System.arraycopy(hash, 0, selector, 0, selector.length);
+        this.layout = AbiWriter.Layout.of(inputParameters);
+        this.outputParameters = outputParameters;
+        for (TypeReference<Type> outputParameter : outputParameters) {
+            try {
+                // fail on unresolvable output types when compiling, not on every call
+                outputParameter.getClassType();
+            } catch (ClassNotFoundException e) {
+                throw new UnsupportedOperationException("Invalid class reference provided", e);
+            }
+        }
+    }
+    
+    /**
+     * Get the codec of the shape of a function, compiling it on first use.
+     *
+     * <p>When the cache is full an arbitrary shape is evicted; it is compiled again on its next
+     * call.</p>
+     *
+     * @param function the function
+     *
+     * @return the codec
+     */
+    public static FunctionCodec of(Function function) {
+        String methodSignature = FunctionEncoder.buildMethodSignature(function.getName(), function.getInputParameters());
+        String key = key(methodSignature, function.getOutputParameters());
+        FunctionCodec codec = CACHE.get(key);
+        if (codec == null) {
+            codec = new FunctionCodec(methodSignature, function.getInputParameters(), function.getOutputParameters());
+            if (CACHE.size() >= CACHE_SIZE) {
+                Iterator<String> keys = CACHE.keySet().iterator();
+                if (keys.hasNext()) {
+                    CACHE.remove(keys.next());
+                }
+            }
+            FunctionCodec existing = CACHE.putIfAbsent(key, codec);
+            if (existing != null) {
+                codec = existing;
+            }
+        }
+        return codec;
+    }
+    
+    public String getMethodSignature() {
+        return methodSignature;
+    }
+    
+    public String getMethodId() {
+        return Numeric.toHexString(selector);
+    }
+    
+    /**
+     * Encode a call.
+     *
+     * @param inputParameters values of the inputs, of the types of this shape
+     *
+     * @return selector and encoded inputs, 0x prefixed
+     */
+    public String encode(List<Type> inputParameters) {
+        if (inputParameters.size() != layout.dynamic.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + layout.dynamic.length + " parameters for " + methodSignature
+                            + " but got " + inputParameters.size());
+        }
+        byte[] result = new byte[selector.length + AbiWriter.encodedLength(inputParameters, layout)];
+        System.arraycopy(selector, 0, result, 0, selector.length);
+        new AbiWriter(result, selector.length).writeParameters(inputParameters, layout);
+        return Numeric.toHexString(result);
+    }
+    
+    public String encode(Function function) {
+        return encode(function.getInputParameters());
+    }
+    
+    /**
+     * Decode the values returned by a call. Uses the {@link FunctionReturnDecoder} provider when
+     * one is installed.
+     *
+     * @param rawInput ABI encoded output
+     *
+     * @return the output values, {@link Collections#emptyList()} if the output is empty
+     */
+    public List<Type> decode(String rawInput) {
+        if (!FunctionReturnDecoder.isDefaultDecoder()) {
+            return FunctionReturnDecoder.decode(rawInput, outputParameters);
+        }
+        byte[] input = Numeric.hexStringToByteArray(rawInput);
+        if (input.length == 0) {
+            return Collections.emptyList();
+        }
+        return DefaultFunctionReturnDecoder.build(input, outputParameters);
+    }
+    
+    public List<TypeReference<Type>> getOutputParameters() {
+        return outputParameters;
+    }
+    
+    private static String key(String methodSignature, List<TypeReference<Type>> outputParameters) {
+        StringBuilder key = new StringBuilder(methodSignature);
+        for (TypeReference<Type> outputParameter : outputParameters) {
+            key.append(',').append(outputParameter.getType().getTypeName());
+            if (outputParameter instanceof TypeReference.StaticArrayTypeReference) {
+                key.append('[').append(((TypeReference.StaticArrayTypeReference<?>) outputParameter).getSize()).append(']');
+            }
+            if (outputParameter.isIndexed()) {
+                key.append('!');
+            }
+        }
+        return key.toString();
+    }
+}
@@ -1,15 +1,11 @@
 package org.thinkium.blockchain.web3j.abi;
 
 import org.thinkium.blockchain.web3j.abi.datatypes.Function;
-import org.thinkium.blockchain.web3j.abi.datatypes.StaticArray;
 import org.thinkium.blockchain.web3j.abi.datatypes.Type;
-import org.thinkium.blockchain.web3j.abi.datatypes.Uint;
 import org.thinkium.blockchain.web3j.utils.Numeric;
 import org.thinkium.blockchain.web3j.utils.cipher.Hash;
 
-import java.math.BigInteger;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * <p>Ethereum Contract Application Binary Interface (ABI) encoding for functions.
@@ -19,67 +15,29 @@ import java.util.stream.Collectors;
  */
 public class FunctionEncoder {
     
+    static final int METHOD_ID_LENGTH = 4;
+    
     private FunctionEncoder() {
     }
     
     public static String encode(Function function) {
-        List<Type> parameters = function.getInputParameters();
-        
-        String methodSignature = buildMethodSignature(function.getName(), parameters);
-        String methodId = buildMethodId(methodSignature);
-        
-        StringBuilder result = new StringBuilder();
-        result.append(methodId);
-        
-        return encodeParameters(parameters, result);
+        return FunctionCodec.of(function).encode(function);
     }
     
     public static String encodeConstructor(List<Type> parameters) {
-        return encodeParameters(parameters, new StringBuilder());
-    }
-    
-    private static String encodeParameters(List<Type> parameters, StringBuilder result) {
-        int dynamicDataOffset = getLength(parameters) * Type.MAX_BYTE_LENGTH;
-        StringBuilder dynamicData = new StringBuilder();
-        
-        for (Type parameter : parameters) {
-            String encodedValue = TypeEncoder.encode(parameter);
-            
-            if (TypeEncoder.isDynamic(parameter)) {
-                String encodedDataOffset = TypeEncoder.encodeNumeric(
-                        new Uint(BigInteger.valueOf(dynamicDataOffset)));
-                result.append(encodedDataOffset);
-                dynamicData.append(encodedValue);
-                dynamicDataOffset += encodedValue.length() >> 1;
-            } else {
-                result.append(encodedValue);
-            }
-        }
-        result.append(dynamicData);
-        
-        return result.toString();
-    }
-    
-    private static int getLength(List<Type> parameters) {
-        int count = 0;
-        for (Type type : parameters) {
-            if (type instanceof StaticArray) {
-                count += ((StaticArray) type).getValue().size();
-            } else {
-                count++;
-            }
-        }
-        return count;
+        return Numeric.toHexStringNoPrefix(AbiWriter.encodeParameters(parameters));
     }
     
     static String buildMethodSignature(String methodName, List<Type> parameters) {
         StringBuilder result = new StringBuilder();
         result.append(methodName);
         result.append("(");
-        String params = parameters.stream()
-                .map(Type::getTypeAsString)
-                .collect(Collectors.joining(","));
-        result.append(params);
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(parameters.get(i).getTypeAsString());
+        }
         result.append(")");
         return result.toString();
     }
@@ -87,6 +45,6 @@ public class FunctionEncoder {
     static String buildMethodId(String methodSignature) {
         byte[] input = methodSignature.getBytes();
         byte[] hash = Hash.sha3(input);
-        return Numeric.toHexString(hash).substring(0, 10);
+        return Numeric.toHexString(hash, 0, METHOD_ID_LENGTH, true);
     }
 }
@@ -61,6 +61,13 @@ public abstract class FunctionReturnDecoder {
 
     protected abstract <T extends Type> Type decodeEventParameter(String rawInput, TypeReference<T> typeReference);
 
+    /**
+     * @return true if no {@link FunctionReturnDecoderProvider} is installed
+     */
+    static boolean isDefaultDecoder() {
+        return !loader.iterator().hasNext();
+    }
+
     private static FunctionReturnDecoder decoder() {
         final Iterator<FunctionReturnDecoderProvider> iterator = loader.iterator();
         return iterator.hasNext() ? iterator.next().get() : defaultDecoder();
@@ -17,18 +17,18 @@ import java.util.function.BiFunction;
 import static org.thinkium.blockchain.web3j.abi.DefaultFunctionReturnDecoder.getDataOffset;
 import static org.thinkium.blockchain.web3j.abi.TypeReference.makeTypeReference;
 import static org.thinkium.blockchain.web3j.abi.Utils.getSimpleTypeName;
-import static org.thinkium.blockchain.web3j.abi.Utils.staticStructNestedPublicFieldsFlatList;
 
 /**
  * <p>Ethereum Contract Application Binary Interface (ABI) decoding for types.
  * Decoding is not documented, but is the reverse of the encoding details located
  * <a href="https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
  * </p>
+ *
+ * <p>Input is decoded from hex once; every method reads words of that {@code byte[]} at absolute
+ * byte offsets, so no element copies the rest of the input.</p>
  */
 public class TypeDecoder {
 
-    static final int MAX_BYTE_LENGTH_FOR_HEX_STRING = Type.MAX_BYTE_LENGTH << 1;
-
     public static Type instantiateType(String solidityType, Object value) throws InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException, ClassNotFoundException {
         return instantiateType(makeTypeReference(solidityType), value);
     }
@@ -41,7 +41,15 @@ public class TypeDecoder {
         return instantiateAtomicType(rc, value);
     }
 
+    /**
+     * @param input  hex input
+     * @param offset offset of the value, in hex chars
+     */
     public static <T extends Array> T decode(String input, int offset, TypeReference<T> typeReference) {
+        return decode(Numeric.hexStringToByteArray(input), byteOffset(input, offset), typeReference);
+    }
+
+    public static <T extends Array> T decode(byte[] input, int offset, TypeReference<T> typeReference) {
         Class cls = ((ParameterizedType) typeReference.getType()).getRawType().getClass();
         if (StaticArray.class.isAssignableFrom(cls)) {
             return decodeStaticArray(input, offset, typeReference, 1);
@@ -56,11 +64,11 @@ public class TypeDecoder {
     }
 
     @SuppressWarnings("unchecked")
-    static <T extends Type> T decode(String input, int offset, Class<T> type) {
+    static <T extends Type> T decode(byte[] input, int offset, Class<T> type) {
         if (NumericType.class.isAssignableFrom(type)) {
-            return (T) decodeNumeric(input.substring(offset), (Class<NumericType>) type);
+            return (T) decodeNumeric(input, offset, (Class<NumericType>) type);
         } else if (Address.class.isAssignableFrom(type)) {
-            return (T) decodeAddress(input.substring(offset));
+            return (T) new Address(decodeNumeric(input, offset, Uint160.class));
         } else if (Bool.class.isAssignableFrom(type)) {
             return (T) decodeBool(input, offset);
         } else if (Bytes.class.isAssignableFrom(type)) {
@@ -77,39 +85,33 @@ public class TypeDecoder {
         }
     }
 
-    static <T extends Type> T decode(String input, Class<T> type) {
+    static <T extends Type> T decode(byte[] input, Class<T> type) {
         return decode(input, 0, type);
     }
 
-    static Address decodeAddress(String input) {
-        return new Address(decodeNumeric(input, Uint160.class));
-    }
-
-    static <T extends NumericType> T decodeNumeric(String input, Class<T> type) {
-        try {
-            byte[] inputByteArray = Numeric.hexStringToByteArray(input);
-            int typeLengthAsBytes = getTypeLengthInBytes(type);
+    /** Decode the 32 byte word starting at {@code offset}. */
+    static <T extends NumericType> T decodeNumeric(byte[] input, int offset, Class<T> type) {
+        int typeLengthAsBytes = getTypeLengthInBytes(type);
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+        boolean signed = Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type);
 
+        BigInteger numericValue;
+        if (typeLengthAsBytes < Long.BYTES) {
+            // the MSB of the word is the sign for signed types
+            long value = signed ? input[offset] : 0;
+            for (int i = valueOffset; i < valueOffset + typeLengthAsBytes; i++) {
+                value = value << 8 | (input[i] & 0xff);
+            }
+            numericValue = BigInteger.valueOf(value);
+        } else {
             byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
-
-            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
-                resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
+            if (signed) {
+                resultByteArray[0] = input[offset]; // take MSB as sign bit
             }
-
-            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
-            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
-
-            BigInteger numericValue = new BigInteger(resultByteArray);
-            return type.getConstructor(BigInteger.class).newInstance(numericValue);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
+            System.arraycopy(input, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+            numericValue = new BigInteger(resultByteArray);
         }
+        return TypeRegistry.newNumeric(type, numericValue);
     }
 
     static <T extends NumericType> int getTypeLengthInBytes(Class<T> type) {
@@ -117,21 +119,7 @@ public class TypeDecoder {
     }
 
     static <T extends NumericType> int getTypeLength(Class<T> type) {
-        if (IntType.class.isAssignableFrom(type)) {
-            String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
-            String[] splitName = type.getSimpleName().split(regex);
-            if (splitName.length == 2) {
-                return Integer.parseInt(splitName[1]);
-            }
-        } else if (FixedPointType.class.isAssignableFrom(type)) {
-            String regex = "(" + Ufixed.class.getSimpleName() + "|" + Fixed.class.getSimpleName() + ")";
-            String[] splitName = type.getSimpleName().split(regex);
-            if (splitName.length == 2) {
-                String[] bitsCounts = splitName[1].split("x");
-                return Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
-            }
-        }
-        return Type.MAX_BIT_LENGTH;
+        return TypeRegistry.getTypeLength(type);
     }
 
     static Type instantiateArrayType(TypeReference ref, Object value) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, ClassNotFoundException {
@@ -143,14 +131,9 @@ public class TypeDecoder {
         } else {
             throw new ClassCastException("Arg of type " + value.getClass() + " should be a list to instantiate web3j Array");
         }
-        Constructor listcons;
         int arraySize = ref instanceof TypeReference.StaticArrayTypeReference ? ((TypeReference.StaticArrayTypeReference) ref).getSize() : -1;
-        if (arraySize <= 0) {
-            listcons = DynamicArray.class.getConstructor(Class.class, List.class);
-        } else {
-            Class<?> arrayClass =
-                    Class.forName("org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray" + arraySize);
-            listcons = arrayClass.getConstructor(Class.class, List.class);
+        if (arraySize > 0 && TypeRegistry.getStaticArrayType(arraySize) == null) {
+            throw new ClassNotFoundException("org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray" + arraySize);
         }
         // create a list of arguments coerced to the correct type of sub-TypeReference
         ArrayList<Type> transformedList = new ArrayList<Type>(values.size());
@@ -158,9 +141,13 @@ public class TypeDecoder {
         for (Object o : values) {
             transformedList.add(instantiateType(subTypeReference, o));
         }
-        return (Type) listcons.newInstance(subTypeReference.getClassType(), transformedList);
+        if (arraySize <= 0) {
+            return new DynamicArray(subTypeReference.getClassType(), transformedList);
+        }
+        return TypeRegistry.newStaticArray(arraySize, subTypeReference.getClassType(), transformedList);
     }
 
+    @SuppressWarnings("unchecked")
     static Type instantiateAtomicType(Class<?> referenceClass, Object value)
             throws NoSuchMethodException, IllegalAccessException, InvocationTargetException,
             InstantiationException, ClassNotFoundException {
@@ -200,85 +187,83 @@ public class TypeDecoder {
                             + " of type "
                             + value.getClass());
         }
+        if (NumericType.class.isAssignableFrom(referenceClass)) {
+            return TypeRegistry.newNumeric((Class<NumericType>) referenceClass, (BigInteger) constructorArg);
+        } else if (BytesType.class.isAssignableFrom(referenceClass)) {
+            return TypeRegistry.newBytes((Class<BytesType>) referenceClass, (byte[]) constructorArg);
+        }
         Class<?>[] types = new Class[]{constructorArg.getClass()};
         Constructor cons = referenceClass.getConstructor(types);
         return (Type) cons.newInstance(constructorArg);
     }
 
     @SuppressWarnings("unchecked")
-    static <T extends Type> int getSingleElementLength(String input, int offset, Class<T> type) {
-        if (input.length() == offset) {
+    static <T extends Type> int getSingleElementLength(byte[] input, int offset, Class<T> type) {
+        if (input.length == offset) {
             return 0;
         } else if (DynamicBytes.class.isAssignableFrom(type)
                 || Utf8String.class.isAssignableFrom(type)) {
             // length field + data value
             return (decodeUintAsInt(input, offset) / Type.MAX_BYTE_LENGTH) + 2;
         } else if (StaticStruct.class.isAssignableFrom(type)) {
-            return staticStructNestedPublicFieldsFlatList((Class<Type>) type).size();
+            return staticStructLength(type) / Type.MAX_BYTE_LENGTH;
         } else {
             return 1;
         }
     }
 
-    static int decodeUintAsInt(String rawInput, int offset) {
-        String input = rawInput.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING);
-        return decode(input, 0, Uint.class).getValue().intValue();
+    /** Low 32 bits of the word at {@code offset}, as offsets and lengths are read. */
+    static int decodeUintAsInt(byte[] input, int offset) {
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH - Integer.BYTES;
+        int value = 0;
+        for (int i = valueOffset; i < valueOffset + Integer.BYTES; i++) {
+            value = value << 8 | (input[i] & 0xff);
+        }
+        return value;
     }
 
-    static Bool decodeBool(String rawInput, int offset) {
-        String input = rawInput.substring(offset, offset + MAX_BYTE_LENGTH_FOR_HEX_STRING);
-        BigInteger numericValue = Numeric.toBigInt(input);
-        boolean value = numericValue.equals(BigInteger.ONE);
+    static Bool decodeBool(byte[] input, int offset) {
+        int last = offset + Type.MAX_BYTE_LENGTH - 1;
+        boolean value = input[last] == 1;
+        for (int i = offset; value && i < last; i++) {
+            value = input[i] == 0;
+        }
         return new Bool(value);
     }
 
-    static <T extends Bytes> T decodeBytes(String input, Class<T> type) {
+    static <T extends Bytes> T decodeBytes(byte[] input, Class<T> type) {
         return decodeBytes(input, 0, type);
     }
 
-    static <T extends Bytes> T decodeBytes(String input, int offset, Class<T> type) {
-        try {
-            String simpleName = type.getSimpleName();
-            String[] splitName = simpleName.split(Bytes.class.getSimpleName());
-            int length = Integer.parseInt(splitName[1]);
-            int hexStringLength = length << 1;
-
-            byte[] bytes = Numeric.hexStringToByteArray(input.substring(offset, offset + hexStringLength));
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
+    static <T extends Bytes> T decodeBytes(byte[] input, int offset, Class<T> type) {
+        int length = TypeRegistry.getBytesLength(type);
+        if (length < 0) {
+            throw new UnsupportedOperationException("Unable to create instance of " + type.getName());
         }
+        byte[] bytes = copyOfRange(input, offset, length);
+        return TypeRegistry.newBytes(type, bytes);
     }
 
-    static DynamicBytes decodeDynamicBytes(String input, int offset) {
+    static DynamicBytes decodeDynamicBytes(byte[] input, int offset) {
         int encodedLength = decodeUintAsInt(input, offset);
-        int hexStringEncodedLength = encodedLength << 1;
 
-        int valueOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH;
 
-        String data = input.substring(valueOffset, valueOffset + hexStringEncodedLength);
-        byte[] bytes = Numeric.hexStringToByteArray(data);
+        byte[] bytes = copyOfRange(input, valueOffset, encodedLength);
 
         return new DynamicBytes(bytes);
     }
 
-    static Utf8String decodeUtf8String(String input, int offset) {
-        DynamicBytes dynamicBytesResult = decodeDynamicBytes(input, offset);
-        byte[] bytes = dynamicBytesResult.getValue();
+    static Utf8String decodeUtf8String(byte[] input, int offset) {
+        int encodedLength = decodeUintAsInt(input, offset);
 
-        return new Utf8String(new String(bytes, StandardCharsets.UTF_8));
+        return new Utf8String(new String(input, offset + Type.MAX_BYTE_LENGTH, encodedLength, StandardCharsets.UTF_8));
     }
 
     /** Static array length cannot be passed as a type. */
     @SuppressWarnings("unchecked")
     static <T extends Type> T decodeStaticArray(
-            String input, int offset, TypeReference<T> typeReference, int length) {
+            byte[] input, int offset, TypeReference<T> typeReference, int length) {
 
         BiFunction<List<T>, String, T> function =
                 (elements, typeName) -> {
@@ -293,8 +278,17 @@ public class TypeDecoder {
         return decodeArrayElements(input, offset, typeReference, length, function);
     }
 
+    /**
+     * @param input  hex input
+     * @param offset offset of the struct, in hex chars
+     */
     public static <T extends Type> T decodeStaticStruct(
             final String input, final int offset, final TypeReference<T> typeReference) {
+        return decodeStaticStruct(Numeric.hexStringToByteArray(input), byteOffset(input, offset), typeReference);
+    }
+
+    public static <T extends Type> T decodeStaticStruct(
+            final byte[] input, final int offset, final TypeReference<T> typeReference) {
         BiFunction<List<T>, String, T> function = (elements, typeName) -> {
             if (elements.isEmpty()) {
                 throw new UnsupportedOperationException(
@@ -308,38 +302,23 @@ public class TypeDecoder {
     }
 
     @SuppressWarnings("unchecked")
-    private static <T extends Type> T decodeStaticStructElement(final String input, final int offset, final TypeReference<T> typeReference, final BiFunction<List<T>, String, T> consumer) {
+    private static <T extends Type> T decodeStaticStructElement(final byte[] input, final int offset, final TypeReference<T> typeReference, final BiFunction<List<T>, String, T> consumer) {
         try {
             Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(declaredConstructor -> Arrays.stream(declaredConstructor.getParameterTypes()).allMatch(Type.class::isAssignableFrom))
-                            .findAny()
-                            .orElseThrow(() -> new RuntimeException("TypeReferenced struct must contain a constructor with types that extend Type"));
-            final int length = constructor.getParameterCount();
+            final Class<?>[] fieldTypes = structFieldTypes(classType);
+            final int length = fieldTypes.length;
             List<T> elements = new ArrayList<>(length);
 
             for (int i = 0, currOffset = offset; i < length; i++) {
                 T value;
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) fieldTypes[i];
 
                 if (StaticStruct.class.isAssignableFrom(declaredField)) {
-                    final int nestedStructLength =
-                            classType
-                                    .getDeclaredFields()[i]
-                                    .getType()
-                                    .getConstructors()[0]
-                                    .getParameters()
-                                    .length
-                                    * 64;
-                    value = decodeStaticStruct(
-                            input.substring(currOffset, currOffset + nestedStructLength),
-                            0,
-                            TypeReference.create(declaredField));
-                    currOffset += nestedStructLength;
+                    value = decodeStaticStruct(input, currOffset, TypeReference.create(declaredField));
+                    currOffset += staticStructLength(declaredField);
                 } else {
-                    value = decode(input.substring(currOffset, currOffset + 64), 0, declaredField);
-                    currOffset += 64;
+                    value = decode(input, currOffset, declaredField);
+                    currOffset += Type.MAX_BYTE_LENGTH;
                 }
                 elements.add(value);
             }
@@ -354,35 +333,56 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private static <T extends Type> T instantiateStruct(final TypeReference<T> typeReference, final List<T> parameters) {
         try {
-            Constructor ctor =
-                    Arrays.stream(typeReference.getClassType().getDeclaredConstructors())
-                            .filter(declaredConstructor -> Arrays.stream(declaredConstructor.getParameterTypes()).allMatch(Type.class::isAssignableFrom))
-                            .findAny()
-                            .orElseThrow(() -> new RuntimeException("TypeReference struct must contain a constructor with types that extend Type"));
-            ctor.setAccessible(true);
-            return (T) ctor.newInstance(parameters.toArray());
-        } catch (ReflectiveOperationException e) {
+            Class<T> classType = typeReference.getClassType();
+            structFieldTypes(classType);
+            return TypeRegistry.newStruct(classType, parameters);
+        } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Constructor cannot accept" + Arrays.toString(parameters.toArray()), e);
         }
     }
 
+    /** Field types of a struct, from its cached constructor whose parameters all extend Type. */
+    private static Class<?>[] structFieldTypes(Class<?> classType) {
+        Class<?>[] fieldTypes = TypeRegistry.getStructFieldTypes(classType);
+        if (fieldTypes == null) {
+            throw new RuntimeException("TypeReferenced struct must contain a constructor with types that extend Type");
+        }
+        return fieldTypes;
+    }
+
+    /** Encoded length in bytes of a static struct. */
+    static int staticStructLength(Class<?> classType) {
+        int length = TypeRegistry.getStaticLength(classType);
+        if (length < 0) {
+            throw new UnsupportedOperationException("Unable to tell the encoded length of " + classType.getName());
+        }
+        return length;
+    }
+
     @SuppressWarnings("unchecked")
-    static <T extends Type> T decodeDynamicArray(String input, int offset, TypeReference<T> typeReference) {
+    static <T extends Type> T decodeDynamicArray(byte[] input, int offset, TypeReference<T> typeReference) {
 
         int length = decodeUintAsInt(input, offset);
 
-        BiFunction<List<T>, String, T> function = (elements, typeName) -> (T) new DynamicArray(AbiTypes.getType(typeName), elements);
+        final Class<?> componentType;
+        try {
+            componentType = Utils.getParameterizedTypeFromArray(typeReference);
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedOperationException("Unable to access parameterized type " + typeReference.getType().getTypeName(), e);
+        }
+        // struct names are class names, not ABI type names
+        BiFunction<List<T>, String, T> function = (elements, typeName) -> (T) new DynamicArray(
+                StructType.class.isAssignableFrom(componentType) ? componentType : AbiTypes.getType(typeName), elements);
 
-        int valueOffset = offset + MAX_BYTE_LENGTH_FOR_HEX_STRING;
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH;
 
         return decodeArrayElements(input, valueOffset, typeReference, length, function);
     }
 
-    static <T extends Type> T decodeDynamicStruct(String input, int offset, TypeReference<T> typeReference) {
+    static <T extends Type> T decodeDynamicStruct(byte[] input, int offset, TypeReference<T> typeReference) {
 
         BiFunction<List<T>, String, T> function =
                 (elements, typeName) -> {
@@ -398,57 +398,39 @@ public class TypeDecoder {
     }
 
     @SuppressWarnings("unchecked")
-    private static <T extends Type> T decodeDynamicStructElements(final String input, final int offset, final TypeReference<T> typeReference, final BiFunction<List<T>, String, T> consumer) {
+    private static <T extends Type> T decodeDynamicStructElements(final byte[] input, final int offset, final TypeReference<T> typeReference, final BiFunction<List<T>, String, T> consumer) {
         try {
             final Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(declaredConstructor -> Arrays.stream(declaredConstructor.getParameterTypes()).allMatch(Type.class::isAssignableFrom))
-                            .findAny()
-                            .orElseThrow(() -> new RuntimeException("TypeReferenced struct must contain a constructor with types that extend Type"));
-            final int length = constructor.getParameterCount();
+            final Class<?>[] fieldTypes = structFieldTypes(classType);
+            final int length = fieldTypes.length;
             final Map<Integer, T> parameters = new HashMap<>();
             int staticOffset = 0;
             final List<Integer> parameterOffsets = new ArrayList<>();
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) fieldTypes[i];
                 final T value;
                 final int beginIndex = offset + staticOffset;
                 if (isDynamic(declaredField)) {
-                    final boolean isOnlyParameterInStruct = length == 1;
-                    final int parameterOffset =
-                            isOnlyParameterInStruct
-                                    ? offset
-                                    : (decodeDynamicStructDynamicParameterOffset(
-                                    input.substring(beginIndex, beginIndex + 64)))
-                                    + offset;
+                    // offsets of dynamic fields count from the start of the struct
+                    final int parameterOffset = decodeUintAsInt(input, beginIndex) + offset;
                     parameterOffsets.add(parameterOffset);
-                    staticOffset += 64;
+                    staticOffset += Type.MAX_BYTE_LENGTH;
                 } else {
                     if (StaticStruct.class.isAssignableFrom(declaredField)) {
-                        value = decodeStaticStruct(input.substring(beginIndex), 0, TypeReference.create(declaredField));
-                        staticOffset += staticStructNestedPublicFieldsFlatList((Class<Type>) classType).size() * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                        value = decodeStaticStruct(input, beginIndex, TypeReference.create(declaredField));
+                        staticOffset += staticStructLength(declaredField);
                     } else {
-                        value = decode(input.substring(beginIndex), 0, declaredField);
-                        staticOffset += value.bytes32PaddedLength() * 2;
+                        value = decode(input, beginIndex, declaredField);
+                        staticOffset += value.bytes32PaddedLength();
                     }
                     parameters.put(i, value);
                 }
             }
             int dynamicParametersProcessed = 0;
-            int dynamicParametersToProcess = getDynamicStructDynamicParametersCount(constructor.getParameterTypes());
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
+                final Class<T> declaredField = (Class<T>) fieldTypes[i];
                 if (isDynamic(declaredField)) {
-                    final boolean isLastParameterInStruct =
-                            dynamicParametersProcessed == (dynamicParametersToProcess - 1);
-                    final int parameterLength =
-                            isLastParameterInStruct
-                                    ? input.length()
-                                    - parameterOffsets.get(dynamicParametersProcessed)
-                                    : parameterOffsets.get(dynamicParametersProcessed + 1)
-                                    - parameterOffsets.get(dynamicParametersProcessed);
-                    parameters.put(i, decodeDynamicParameterFromStruct(input, parameterOffsets.get(dynamicParametersProcessed), parameterLength, declaredField));
+                    parameters.put(i, decodeDynamicParameterFromStruct(input, parameterOffsets.get(dynamicParametersProcessed), declaredField));
                     dynamicParametersProcessed++;
                 }
             }
@@ -468,27 +450,16 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> int getDynamicStructDynamicParametersCount(final Class<?>[] cls) {
-        return (int) Arrays.stream(cls).filter(c -> isDynamic((Class<T>) c)).count();
-    }
-
-    private static <T extends Type> T decodeDynamicParameterFromStruct(final String input, final int parameterOffset, final int parameterLength, final Class<T> declaredField) {
-        final String dynamicElementData = input.substring(parameterOffset, parameterOffset + parameterLength);
-
+    private static <T extends Type> T decodeDynamicParameterFromStruct(final byte[] input, final int parameterOffset, final Class<T> declaredField) {
         final T value;
         if (DynamicStruct.class.isAssignableFrom(declaredField)) {
-            value = decodeDynamicStruct(dynamicElementData, 64, TypeReference.create(declaredField));
+            value = decodeDynamicStruct(input, parameterOffset, TypeReference.create(declaredField));
         } else {
-            value = decode(dynamicElementData, declaredField);
+            value = decode(input, parameterOffset, declaredField);
         }
         return value;
     }
 
-    private static int decodeDynamicStructDynamicParameterOffset(final String input) {
-        return (decodeUintAsInt(input, 0) * 2);
-    }
-
     static <T extends Type> boolean isDynamic(Class<T> parameter) {
         return DynamicBytes.class.isAssignableFrom(parameter)
                 || Utf8String.class.isAssignableFrom(parameter)
@@ -526,22 +497,21 @@ public class TypeDecoder {
 
     @SuppressWarnings("unchecked")
     private static <T extends Type> T instantiateStaticArray(List<T> elements, int length) {
-        try {
-            Class<? extends StaticArray> arrayClass = (Class<? extends StaticArray>) Class.forName("org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray" + length);
-            return (T) arrayClass.getConstructor(List.class).newInstance(elements);
-        } catch (ReflectiveOperationException e) {
-            throw new UnsupportedOperationException(e);
+        if (elements.get(0) instanceof StructType) {
+            // the component type cannot be told from the ABI type name of a struct
+            return (T) TypeRegistry.newStaticArray(length, (Class<T>) elements.get(0).getClass(), elements);
         }
+        return (T) TypeRegistry.newStaticArray(length, elements);
     }
 
-    private static <T extends Type> T decodeArrayElements(String input, int offset, TypeReference<T> typeReference, int length, BiFunction<List<T>, String, T> consumer) {
+    private static <T extends Type> T decodeArrayElements(byte[] input, int offset, TypeReference<T> typeReference, int length, BiFunction<List<T>, String, T> consumer) {
         try {
             Class<T> cls = Utils.getParameterizedTypeFromArray(typeReference);
             if (StructType.class.isAssignableFrom(cls)) {
                 List<T> elements = new ArrayList<>(length);
                 for (int i = 0, currOffset = offset;
                      i < length;
-                     i++, currOffset += getSingleElementLength(input, currOffset, cls) * MAX_BYTE_LENGTH_FOR_HEX_STRING) {
+                     i++, currOffset += getSingleElementLength(input, currOffset, cls) * Type.MAX_BYTE_LENGTH) {
                     T value;
                     if (DynamicStruct.class.isAssignableFrom(cls)) {
                         value = TypeDecoder.decodeDynamicStruct(input, offset + getDataOffset(input, currOffset, typeReference), TypeReference.create(cls));
@@ -564,12 +534,12 @@ public class TypeDecoder {
                 for (int i = 0; i < length; i++) {
                     T value;
                     if (isDynamic(cls)) {
-                        int hexStringDataOffset = getDataOffset(input, currOffset, typeReference);
-                        value = decode(input, offset + hexStringDataOffset, cls);
-                        currOffset += MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                        int dataOffset = getDataOffset(input, currOffset, typeReference);
+                        value = decode(input, offset + dataOffset, cls);
+                        currOffset += Type.MAX_BYTE_LENGTH;
                     } else {
                         value = decode(input, currOffset, cls);
-                        currOffset += getSingleElementLength(input, currOffset, cls) * MAX_BYTE_LENGTH_FOR_HEX_STRING;
+                        currOffset += getSingleElementLength(input, currOffset, cls) * Type.MAX_BYTE_LENGTH;
                     }
                     elements.add(value);
                 }
@@ -582,4 +552,16 @@ public class TypeDecoder {
             throw new UnsupportedOperationException("Unable to access parameterized type " + typeReference.getType().getTypeName(), e);
         }
     }
+
+    /** Unlike {@link Arrays#copyOfRange}, fails instead of padding when the input is too short. */
+    private static byte[] copyOfRange(byte[] input, int offset, int length) {
+        byte[] bytes = new byte[length];
+        System.arraycopy(input, offset, bytes, 0, length);
+        return bytes;
+    }
+
+    /** Byte offset in the decoded input of a hex char offset in {@code input}. */
+    private static int byteOffset(String input, int offset) {
+        return (offset - (Numeric.containsHexPrefix(input) ? 2 : 0)) >> 1;
+    }
 }
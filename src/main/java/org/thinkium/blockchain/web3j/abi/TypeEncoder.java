@@ -3,134 +3,68 @@ package org.thinkium.blockchain.web3j.abi;
 import org.thinkium.blockchain.web3j.abi.datatypes.*;
 import org.thinkium.blockchain.web3j.utils.Numeric;
 
-import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-
-import static org.thinkium.blockchain.web3j.abi.datatypes.Type.MAX_BIT_LENGTH;
-import static org.thinkium.blockchain.web3j.abi.datatypes.Type.MAX_BYTE_LENGTH;
-
 /**
  * <p>Ethereum Contract Application Binary Interface (ABI) encoding for types.
  * Further details are available
  * <a href="https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
  * </p>
+ *
+ * <p>Values are written by {@link AbiWriter}, which encoders of whole calls should use directly.</p>
  */
 public class TypeEncoder {
     
     private TypeEncoder() {
     }
     
+    /**
+     * @param parameter a value
+     *
+     * @return true if it is encoded behind an offset: bytes, strings, dynamic arrays, structs with
+     * a dynamic field, and fixed size arrays of dynamic values
+     */
     static boolean isDynamic(Type parameter) {
+        if (parameter instanceof StaticArray) {
+            for (Object value : ((StaticArray<?>) parameter).getValue()) {
+                if (isDynamic((Type) value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
         return parameter instanceof DynamicBytes
                 || parameter instanceof Utf8String
                 || parameter instanceof DynamicArray;
     }
     
-    @SuppressWarnings("unchecked")
     public static String encode(Type parameter) {
-        if (parameter instanceof NumericType) {
-            return encodeNumeric(((NumericType) parameter));
-        } else if (parameter instanceof Address) {
-            return encodeAddress((Address) parameter);
-        } else if (parameter instanceof Bool) {
-            return encodeBool((Bool) parameter);
-        } else if (parameter instanceof Bytes) {
-            return encodeBytes((Bytes) parameter);
-        } else if (parameter instanceof DynamicBytes) {
-            return encodeDynamicBytes((DynamicBytes) parameter);
-        } else if (parameter instanceof Utf8String) {
-            return encodeString((Utf8String) parameter);
-        } else if (parameter instanceof StaticArray) {
-            return encodeArrayValues((StaticArray) parameter);
-        } else if (parameter instanceof DynamicArray) {
-            return encodeDynamicArray((DynamicArray) parameter);
-        } else {
-            throw new UnsupportedOperationException(
-                    "Type cannot be encoded: " + parameter.getClass());
-        }
+        return Numeric.toHexStringNoPrefix(AbiWriter.encode(parameter));
     }
     
     static String encodeAddress(Address address) {
-        return encodeNumeric(address.toUint());
+        return encode(address);
     }
     
     static String encodeNumeric(NumericType numericType) {
-        byte[] rawValue = toByteArray(numericType);
-        byte paddingValue = getPaddingValue(numericType);
-        byte[] paddedRawValue = new byte[MAX_BYTE_LENGTH];
-        if (paddingValue != 0) {
-            Arrays.fill(paddedRawValue, paddingValue);
-        }
-        
-        System.arraycopy(
-                rawValue, 0,
-                paddedRawValue, MAX_BYTE_LENGTH - rawValue.length,
-                rawValue.length);
-        return Numeric.toHexStringNoPrefix(paddedRawValue);
-    }
-    
-    private static byte getPaddingValue(NumericType numericType) {
-        if (numericType.getValue().signum() == -1) {
-            return (byte) 0xff;
-        } else {
-            return 0;
-        }
-    }
-    
-    private static byte[] toByteArray(NumericType numericType) {
-        BigInteger value = numericType.getValue();
-        if (numericType instanceof Ufixed || numericType instanceof Uint) {
-            if (value.bitLength() == MAX_BIT_LENGTH) {
-                // As BigInteger is signed, if we have a 256 bit value, the resultant byte array
-                // will contain a sign byte in it's MSB, which we should ignore for this unsigned
-                // integer type.
-                byte[] byteArray = new byte[MAX_BYTE_LENGTH];
-                System.arraycopy(value.toByteArray(), 1, byteArray, 0, MAX_BYTE_LENGTH);
-                return byteArray;
-            }
-        }
-        return value.toByteArray();
+        return encode(numericType);
     }
     
     static String encodeBool(Bool value) {
-        byte[] rawValue = new byte[MAX_BYTE_LENGTH];
-        if (value.getValue()) {
-            rawValue[rawValue.length - 1] = 1;
-        }
-        return Numeric.toHexStringNoPrefix(rawValue);
+        return encode(value);
     }
     
     static String encodeBytes(BytesType bytesType) {
         byte[] value = bytesType.getValue();
-        int length = value.length;
-        int mod = length % MAX_BYTE_LENGTH;
-        
-        byte[] dest;
-        if (mod != 0) {
-            int padding = MAX_BYTE_LENGTH - mod;
-            dest = new byte[length + padding];
-            System.arraycopy(value, 0, dest, 0, length);
-        } else {
-            dest = value;
-        }
+        byte[] dest = new byte[AbiWriter.paddedLength(value.length)];
+        System.arraycopy(value, 0, dest, 0, value.length);
         return Numeric.toHexStringNoPrefix(dest);
     }
     
     static String encodeDynamicBytes(DynamicBytes dynamicBytes) {
-        int size = dynamicBytes.getValue().length;
-        String encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        String encodedValue = encodeBytes(dynamicBytes);
-        
-        StringBuilder result = new StringBuilder();
-        result.append(encodedLength);
-        result.append(encodedValue);
-        return result.toString();
+        return encode(dynamicBytes);
     }
     
     static String encodeString(Utf8String string) {
-        byte[] utfEncoded = string.getValue().getBytes(StandardCharsets.UTF_8);
-        return encodeDynamicBytes(new DynamicBytes(utfEncoded));
+        return encode(string);
     }
     
     static <T extends Type> String encodeArrayValues(Array<T> value) {
@@ -142,46 +76,6 @@ public class TypeEncoder {
     }
     
     static <T extends Type> String encodeDynamicArray(DynamicArray<T> value) {
-        int size = value.getValue().size();
-        String encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        String valuesOffsets = encodeArrayValuesOffsets(value);
-        String encodedValues = encodeArrayValues(value);
-        
-        StringBuilder result = new StringBuilder();
-        result.append(encodedLength);
-        result.append(valuesOffsets);
-        result.append(encodedValues);
-        return result.toString();
-    }
-    
-    private static <T extends Type> String encodeArrayValuesOffsets(DynamicArray<T> value) {
-        StringBuilder result = new StringBuilder();
-        boolean arrayOfBytes = !value.getValue().isEmpty()
-                && value.getValue().get(0) instanceof DynamicBytes;
-        boolean arrayOfString = !value.getValue().isEmpty()
-                && value.getValue().get(0) instanceof Utf8String;
-        if (arrayOfBytes || arrayOfString) {
-            long offset = 0;
-            for (int i = 0; i < value.getValue().size(); i++) {
-                if (i == 0) {
-                    offset = value.getValue().size() * MAX_BYTE_LENGTH;
-                } else {
-                    int bytesLength = arrayOfBytes
-                            ? ((byte[]) value.getValue().get(i - 1).getValue()).length
-                            : ((String) value.getValue().get(i - 1).getValue()).length();
-                    int numberOfWords = (bytesLength + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH;
-                    int totalBytesLength = numberOfWords * MAX_BYTE_LENGTH;
-                    offset += totalBytesLength + MAX_BYTE_LENGTH;
-                }
-                result.append(
-                        Numeric.toHexStringNoPrefix(
-                                Numeric.toBytesPadded(
-                                        new BigInteger(Long.toString(offset)), MAX_BYTE_LENGTH
-                                )
-                        )
-                );
-            }
-        }
-        return result.toString();
+        return encode(value);
     }
-}
\ No newline at end of file
+}
@@ -66,7 +66,9 @@ public abstract class TypeReference<T extends org.thinkium.blockchain.web3j.abi.
     public Class<T> getClassType() throws ClassNotFoundException {
         Type clsType = getType();
         
-        if (getType() instanceof ParameterizedType) {
+        if (clsType instanceof Class) {
+            return (Class<T>) clsType;
+        } else if (clsType instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) clsType).getRawType();
         } else {
             return (Class<T>) Class.forName(clsType.getTypeName());
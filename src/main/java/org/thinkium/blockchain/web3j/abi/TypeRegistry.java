@@ -0,0 +1,408 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.AbiTypes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * <p>Per class facts the ABI codec needs for every value: the bit length of numeric types, the
+ * length of {@code bytesN} and {@code T[N]} types, the fields and encoded layout of struct types,
+ * and constructor handles.</p>
+ *
+ * <p>A class is inspected once, on first use, so decoding a value costs a lookup and a
+ * constructor call instead of a class name parse and a reflective constructor search. This covers
+ * the generated {@code UintN}, {@code IntN}, {@code BytesN} and {@code StaticArrayN} classes as
+ * well as any other public {@link Type} class with the same constructors.</p>
+ */
+public final class TypeRegistry {
+    
+    private static final String STATIC_ARRAY_PACKAGE = "org.thinkium.blockchain.web3j.abi.datatypes.generated.";
+    
+    private static final ClassValue<Entry> ENTRIES = new ClassValue<Entry>() {
+        @Override
+        protected Entry computeValue(Class<?> type) {
+            return new Entry(type);
+        }
+    };
+    
+    /** {@code StaticArrayN} classes, indexed by N. */
+    private static final Class<?>[] STATIC_ARRAYS = new Class<?>[StaticArray.MAX_SIZE_OF_STATIC_ARRAY + 1];
+    
+    static {
+        for (int size = 1; size < STATIC_ARRAYS.length; size++) {
+            try {
+                STATIC_ARRAYS[size] = Class.forName(STATIC_ARRAY_PACKAGE + "StaticArray" + size);
+            } catch (ClassNotFoundException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+    }
+    
+    private TypeRegistry() {
+    }
+    
+    /**
+     * @param type a numeric type
+     *
+     * @return its length in bits, {@link Type#MAX_BIT_LENGTH} for {@code Uint}, {@code Int} and
+     * classes without a length in their name
+     */
+    public static int getTypeLength(Class<? extends NumericType> type) {
+        return ENTRIES.get(type).length;
+    }
+    
+    /**
+     * @param type a {@code bytesN} type
+     *
+     * @return N, or -1 if the class name does not carry it
+     */
+    public static int getBytesLength(Class<? extends Bytes> type) {
+        return ENTRIES.get(type).length;
+    }
+    
+    /**
+     * @param type a {@code StaticArrayN} type
+     *
+     * @return N, or -1 if the class name does not carry it
+     */
+    @SuppressWarnings("rawtypes")
+    public static int getStaticArraySize(Class<? extends StaticArray> type) {
+        return ENTRIES.get(type).length;
+    }
+    
+    /**
+     * @param size N
+     *
+     * @return the generated {@code StaticArrayN} class, or null if there is none of that size
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> Class<StaticArray<T>> getStaticArrayType(int size) {
+        return size > 0 && size < STATIC_ARRAYS.length ? (Class<StaticArray<T>>) STATIC_ARRAYS[size] : null;
+    }
+    
+    /**
+     * @param type a static type
+     *
+     * @return its encoded length in bytes, or -1 if it is dynamic or its length depends on the
+     * value, as for {@code StaticArrayN} classes whose element type is erased
+     */
+    public static int getStaticLength(Class<?> type) {
+        return ENTRIES.get(type).staticLength;
+    }
+    
+    /**
+     * @param type a struct type
+     *
+     * @return types of the fields, in order, taken from its constructor whose parameters all extend
+     * {@link Type}, or null if it has none. Shared, not to be modified.
+     */
+    static Class<?>[] getStructFieldTypes(Class<?> type) {
+        return ENTRIES.get(type).structFields;
+    }
+    
+    /**
+     * @param type a struct type
+     *
+     * @return its tuple type, such as {@code (string,uint256[])}, taken from the declared types of
+     * its fields, or null if it cannot be told from the class
+     */
+    public static String getStructTypeAsString(Class<?> type) {
+        return ENTRIES.get(type).structTypeAsString;
+    }
+    
+    /**
+     * @param type a struct type
+     *
+     * @return placement of its fields when encoded, or null if it cannot be told from the class
+     */
+    static AbiWriter.Layout getStructLayout(Class<?> type) {
+        return ENTRIES.get(type).structLayout;
+    }
+    
+    /**
+     * Create a struct from its field values.
+     *
+     * @param type   the struct type
+     * @param values values of the fields, see {@link #getStructFieldTypes(Class)}
+     */
+    public static <T extends Type> T newStruct(Class<T> type, List<?> values) {
+        return type.cast(ENTRIES.get(type).newStruct(values.toArray()));
+    }
+    
+    public static <T extends NumericType> T newNumeric(Class<T> type, BigInteger value) {
+        return type.cast(ENTRIES.get(type).newInstance(value));
+    }
+    
+    public static <T extends BytesType> T newBytes(Class<T> type, byte[] value) {
+        return type.cast(ENTRIES.get(type).newInstance(value));
+    }
+    
+    /**
+     * Create a {@code StaticArrayN} with the component type taken from its first element.
+     *
+     * @param size   N
+     * @param values the elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> StaticArray<T> newStaticArray(int size, List<T> values) {
+        return (StaticArray<T>) ENTRIES.get(requireStaticArrayType(size)).newInstance(values);
+    }
+    
+    /**
+     * Create a {@code StaticArrayN}.
+     *
+     * @param size   N
+     * @param type   component type
+     * @param values the elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Type> StaticArray<T> newStaticArray(int size, Class<T> type, List<T> values) {
+        return (StaticArray<T>) ENTRIES.get(requireStaticArrayType(size)).newInstance(type, values);
+    }
+    
+    private static Class<?> requireStaticArrayType(int size) {
+        Class<?> type = getStaticArrayType(size);
+        if (type == null) {
+            throw new UnsupportedOperationException(
+                    "Static arrays with a length greater than "
+                            + StaticArray.MAX_SIZE_OF_STATIC_ARRAY + " are not supported.");
+        }
+        return type;
+    }
+    
+    private static final class Entry {
+        private final Class<?> type;
+        private final int length;
+        private final int staticLength;
+        // (Object)Object, or (Object,Object)Object for the typed static array constructor
+        private final MethodHandle constructor;
+        private final MethodHandle typedConstructor;
+        // (Object[])Object
+        private final MethodHandle structConstructor;
+        private final Class<?>[] structFields;
+        private final AbiWriter.Layout structLayout;
+        private final String structTypeAsString;
+        
+        Entry(Class<?> type) {
+            this.type = type;
+            MethodHandle constructor = null;
+            MethodHandle typedConstructor = null;
+            int staticLength = -1;
+            if (NumericType.class.isAssignableFrom(type)) {
+                length = numericLength(type);
+                staticLength = Type.MAX_BYTE_LENGTH;
+                constructor = findConstructor(type, BigInteger.class);
+            } else if (Bytes.class.isAssignableFrom(type)) {
+                length = suffix(type, Bytes.class.getSimpleName());
+                staticLength = Type.MAX_BYTE_LENGTH;
+                constructor = findConstructor(type, byte[].class);
+            } else if (BytesType.class.isAssignableFrom(type)) {
+                length = -1;
+                constructor = findConstructor(type, byte[].class);
+            } else if (StaticArray.class.isAssignableFrom(type) && !StructType.class.isAssignableFrom(type)) {
+                length = suffix(type, StaticArray.class.getSimpleName());
+                constructor = findConstructor(type, List.class);
+                typedConstructor = findConstructor(type, Class.class, List.class);
+            } else {
+                length = -1;
+                if (Address.class.isAssignableFrom(type) || Bool.class.isAssignableFrom(type)) {
+                    staticLength = Type.MAX_BYTE_LENGTH;
+                }
+            }
+            this.constructor = constructor;
+            this.typedConstructor = typedConstructor;
+            
+            Constructor<?> fieldsConstructor = StructType.class.isAssignableFrom(type) ? findStructConstructor(type) : null;
+            if (fieldsConstructor == null) {
+                this.structConstructor = null;
+                this.structFields = null;
+                this.structLayout = null;
+                this.structTypeAsString = null;
+            } else {
+                this.structConstructor = unreflect(fieldsConstructor);
+                this.structFields = fieldsConstructor.getParameterTypes();
+                java.lang.reflect.Type[] genericFields = fieldsConstructor.getGenericParameterTypes();
+                boolean[] dynamic = new boolean[structFields.length];
+                int headLength = 0;
+                boolean known = genericFields.length == structFields.length;
+                for (int i = 0; i < structFields.length && known; i++) {
+                    int fieldLength = staticLength(genericFields[i]);
+                    dynamic[i] = fieldLength < 0;
+                    headLength += dynamic[i] ? Type.MAX_BYTE_LENGTH : fieldLength;
+                    // only values of these types are dynamic whatever they hold
+                    known = !dynamic[i]
+                            || DynamicBytes.class.isAssignableFrom(structFields[i])
+                            || Utf8String.class.isAssignableFrom(structFields[i])
+                            || DynamicArray.class.isAssignableFrom(structFields[i]);
+                }
+                this.structLayout = known ? new AbiWriter.Layout(dynamic, headLength) : null;
+                this.structTypeAsString = tupleTypeAsString(genericFields);
+                if (known && StaticStruct.class.isAssignableFrom(type) && !this.structLayout.hasDynamic) {
+                    staticLength = headLength;
+                }
+            }
+            this.staticLength = staticLength;
+        }
+        
+        Object newInstance(Object value) {
+            if (constructor == null) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName());
+            }
+            try {
+                return constructor.invokeExact(value);
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName(), e);
+            }
+        }
+        
+        Object newInstance(Object componentType, Object values) {
+            if (typedConstructor == null) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName());
+            }
+            try {
+                return typedConstructor.invokeExact(componentType, values);
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName(), e);
+            }
+        }
+        
+        Object newStruct(Object[] values) {
+            if (structConstructor == null) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName());
+            }
+            try {
+                return structConstructor.invokeExact(values);
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Unable to create instance of " + type.getName(), e);
+            }
+        }
+        
+        private static Constructor<?> findStructConstructor(Class<?> type) {
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                boolean fields = true;
+                for (Class<?> parameterType : constructor.getParameterTypes()) {
+                    fields &= Type.class.isAssignableFrom(parameterType);
+                }
+                if (fields) {
+                    return constructor;
+                }
+            }
+            return null;
+        }
+        
+        private static MethodHandle unreflect(Constructor<?> constructor) {
+            try {
+                constructor.setAccessible(true);
+                MethodHandle handle = MethodHandles.publicLookup().unreflectConstructor(constructor)
+                        .asSpreader(Object[].class, constructor.getParameterCount());
+                return handle.asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+        
+        /** Tuple type of struct fields, or null if the type of one is unknown. */
+        private static String tupleTypeAsString(java.lang.reflect.Type[] fieldTypes) {
+            StringBuilder tuple = new StringBuilder("(");
+            for (int i = 0; i < fieldTypes.length; i++) {
+                String fieldType = typeAsString(fieldTypes[i]);
+                if (fieldType == null) {
+                    return null;
+                }
+                tuple.append(i == 0 ? "" : ",").append(fieldType);
+            }
+            return tuple.append(")").toString();
+        }
+        
+        /** ABI type of a struct field, or null if erased or unknown. */
+        @SuppressWarnings("unchecked")
+        private static String typeAsString(java.lang.reflect.Type fieldType) {
+            if (fieldType instanceof Class) {
+                Class<?> fieldClass = (Class<?>) fieldType;
+                if (StructType.class.isAssignableFrom(fieldClass)) {
+                    return ENTRIES.get(fieldClass).structTypeAsString;
+                } else if (Array.class.isAssignableFrom(fieldClass) || !Type.class.isAssignableFrom(fieldClass)) {
+                    return null;
+                }
+                return AbiTypes.getTypeAString((Class<? extends Type>) fieldClass);
+            } else if (fieldType instanceof ParameterizedType
+                    && ((ParameterizedType) fieldType).getRawType() instanceof Class) {
+                Class<?> rawType = (Class<?>) ((ParameterizedType) fieldType).getRawType();
+                String componentType = typeAsString(((ParameterizedType) fieldType).getActualTypeArguments()[0]);
+                if (componentType == null) {
+                    return null;
+                } else if (DynamicArray.class.isAssignableFrom(rawType)) {
+                    return componentType + "[]";
+                } else if (StaticArray.class.isAssignableFrom(rawType) && ENTRIES.get(rawType).length > 0) {
+                    return componentType + "[" + ENTRIES.get(rawType).length + "]";
+                }
+            }
+            return null;
+        }
+        
+        /** Encoded length of a struct field of a static type, or -1. */
+        private static int staticLength(java.lang.reflect.Type fieldType) {
+            if (fieldType instanceof Class) {
+                return ENTRIES.get((Class<?>) fieldType).staticLength;
+            } else if (fieldType instanceof ParameterizedType
+                    && ((ParameterizedType) fieldType).getRawType() instanceof Class) {
+                Class<?> rawType = (Class<?>) ((ParameterizedType) fieldType).getRawType();
+                int size = ENTRIES.get(rawType).length;
+                if (StaticArray.class.isAssignableFrom(rawType) && size > 0) {
+                    int elementLength = staticLength(((ParameterizedType) fieldType).getActualTypeArguments()[0]);
+                    return elementLength < 0 ? -1 : size * elementLength;
+                }
+                return ENTRIES.get(rawType).staticLength;
+            }
+            return -1;
+        }
+        
+        private static MethodHandle findConstructor(Class<?> type, Class<?>... parameterTypes) {
+            try {
+                MethodHandle handle = MethodHandles.publicLookup()
+                        .findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+                return handle.asType(handle.type().generic());
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
+            }
+        }
+        
+        private static int numericLength(Class<?> type) {
+            String simpleName = type.getSimpleName();
+            if (IntType.class.isAssignableFrom(type)) {
+                String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
+                String[] splitName = simpleName.split(regex);
+                if (splitName.length == 2) {
+                    return Integer.parseInt(splitName[1]);
+                }
+            } else if (FixedPointType.class.isAssignableFrom(type)) {
+                String regex = "(" + Ufixed.class.getSimpleName() + "|" + Fixed.class.getSimpleName() + ")";
+                String[] splitName = simpleName.split(regex);
+                if (splitName.length == 2) {
+                    String[] bitsCounts = splitName[1].split("x");
+                    return Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
+                }
+            }
+            return Type.MAX_BIT_LENGTH;
+        }
+        
+        private static int suffix(Class<?> type, String prefix) {
+            String simpleName = type.getSimpleName();
+            if (simpleName.length() > prefix.length() && simpleName.startsWith(prefix)) {
+                try {
+                    return Integer.parseInt(simpleName.substring(prefix.length()));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -26,6 +26,8 @@ public class Utils {
             if (reflectedType instanceof ParameterizedType) {
                 type = (Class<?>) ((ParameterizedType) reflectedType).getRawType();
                 return getParameterizedTypeName(typeReference, type);
+            } else if (reflectedType instanceof Class) {
+                return getSimpleTypeName((Class<?>) reflectedType);
             } else {
                 type = Class.forName(reflectedType.getTypeName());
                 return getSimpleTypeName(type);
@@ -76,6 +78,9 @@ public class Utils {
     static <T extends Type> Class<T> getParameterizedTypeFromArray(TypeReference typeReference) throws ClassNotFoundException {
         java.lang.reflect.Type type = typeReference.getType();
         java.lang.reflect.Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+        if (typeArguments[0] instanceof Class) {
+            return (Class<T>) typeArguments[0];
+        }
 
         String parameterizedTypeName = typeArguments[0].getTypeName();
         return (Class<T>) Class.forName(parameterizedTypeName);
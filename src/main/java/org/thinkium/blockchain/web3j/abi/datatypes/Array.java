@@ -1,5 +1,6 @@
 package org.thinkium.blockchain.web3j.abi.datatypes;
 
+import org.thinkium.blockchain.web3j.abi.TypeRegistry;
 import org.thinkium.blockchain.web3j.abi.datatypes.generated.AbiTypes;
 
 import java.util.ArrayList;
@@ -64,6 +65,22 @@ public abstract class Array<T extends Type> implements Type<List<T>> {
     @Override
     public abstract String getTypeAsString();
     
+    /**
+     * @return ABI type of the elements: for structs the tuple type, from the struct class or else
+     * from the first element
+     */
+    String getComponentTypeAsString() {
+        if (StructType.class.isAssignableFrom(type)) {
+            String tuple = TypeRegistry.getStructTypeAsString(type);
+            if (tuple != null) {
+                return tuple;
+            } else if (!value.isEmpty()) {
+                return value.get(0).getTypeAsString();
+            }
+        }
+        return AbiTypes.getTypeAString(type);
+    }
+    
     private void checkValid(Class<T> type, List<T> values) {
         Objects.requireNonNull(type);
         Objects.requireNonNull(values);
@@ -47,6 +47,6 @@ public class DynamicArray<T extends Type> extends Array<T> {
     
     @Override
     public String getTypeAsString() {
-        return AbiTypes.getTypeAString(getComponentType()) + "[]";
+        return getComponentTypeAsString() + "[]";
     }
 }
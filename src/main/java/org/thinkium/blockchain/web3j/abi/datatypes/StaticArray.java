@@ -68,7 +68,7 @@ public abstract class StaticArray<T extends Type> extends Array<T> {
     
     @Override
     public String getTypeAsString() {
-        return AbiTypes.getTypeAString(getComponentType()) + "[" + value.size() + "]";
+        return getComponentTypeAsString() + "[" + value.size() + "]";
     }
     
     private void checkValid(int expectedSize) {
@@ -0,0 +1,124 @@
+package org.thinkium.blockchain.web3j.crypto;
+
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>Signs batches of transactions of one account in parallel on a {@link ForkJoinPool}, for
+ * pre-signed payouts and airdrops.</p>
+ *
+ * <p>A batch is split into ranges that workers hash and sign independently; every worker thread
+ * keeps its own Keccak digest and {@link Signer} state, so workers share nothing but the input and
+ * output arrays. The input transactions are left untouched: signed copies are returned, in input
+ * order, with {@code from}, {@code pub}, {@code sig} and the hash set.</p>
+ */
+public class BulkSigner {
+    
+    /** Transactions below which a range is signed by one worker instead of split further. */
+    static final int THRESHOLD = 16;
+    
+    private final Signer signer;
+    private final String from;
+    private final String pub;
+    private final ForkJoinPool pool;
+    
+    /**
+     * Sign on the common pool.
+     *
+     * @param credentials account signing all transactions
+     */
+    public BulkSigner(Credentials credentials) {
+        this(credentials, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * @param credentials account signing all transactions
+     * @param pool        pool whose workers sign, its parallelism bounds the number of cores used
+     */
+    public BulkSigner(Credentials credentials, ForkJoinPool pool) {
+        this.signer = credentials.getSigner();
+        this.from = credentials.getAddress();
+        this.pub = credentials.getPublicKey();
+        this.pool = pool;
+    }
+    
+    /**
+     * @param transactions transactions to sign, not modified
+     *
+     * @return signed copies, in the order of {@code transactions}
+     */
+    public List<Transaction> sign(List<Transaction> transactions) {
+        Transaction[] input = transactions.toArray(new Transaction[0]);
+        Transaction[] signed = new Transaction[input.length];
+        if (input.length > 0) {
+            pool.invoke(new SignRange(input, signed, 0, input.length));
+        }
+        return Arrays.asList(signed);
+    }
+    
+    /**
+     * Collect and sign a stream of transactions.
+     *
+     * @param transactions transactions to sign, not modified
+     *
+     * @return signed copies, in encounter order
+     */
+    public List<Transaction> sign(Stream<Transaction> transactions) {
+        return sign(transactions.collect(Collectors.toList()));
+    }
+    
+    /**
+     * @param transaction a transaction, not modified
+     *
+     * @return a signed copy
+     */
+    public Transaction sign(Transaction transaction) {
+        Transaction signed = new Transaction(
+                transaction.getChainId(),
+                transaction.getFromChainId(),
+                transaction.getToChainId(),
+                from,
+                transaction.getTo(),
+                transaction.getNonce(),
+                transaction.getValue(),
+                transaction.getInput(),
+                null,
+                pub,
+                transaction.getUseLocal(),
+                transaction.getExtra());
+        signed.setSig(signer.sign(signed));
+        return signed;
+    }
+    
+    private final class SignRange extends RecursiveAction {
+        private final Transaction[] input;
+        private final Transaction[] signed;
+        private final int from;
+        private final int to;
+        
+        SignRange(Transaction[] input, Transaction[] signed, int from, int to) {
+            this.input = input;
+            this.signed = signed;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    signed[i] = sign(input[i]);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SignRange(input, signed, from, middle), new SignRange(input, signed, middle, to));
+            }
+        }
+    }
+}
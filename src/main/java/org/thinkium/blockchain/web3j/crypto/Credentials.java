@@ -4,17 +4,17 @@ import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
 import org.thinkium.blockchain.web3j.utils.Numeric;
 import org.thinkium.blockchain.web3j.utils.cipher.*;
 
-import java.math.BigInteger;
-
 /** Credentials wrapper. */
 public class Credentials {
     
     private final ECKeyPair ecKeyPair;
     private final String address;
+    private final Signer signer;
     
     private Credentials(ECKeyPair ecKeyPair, String address) {
         this.ecKeyPair = ecKeyPair;
         this.address = address;
+        this.signer = new Signer(ecKeyPair);
     }
     
     public ECKeyPair getEcKeyPair() {
@@ -25,6 +25,10 @@ public class Credentials {
         return address;
     }
     
+    public Signer getSigner() {
+        return signer;
+    }
+    
     public static Credentials create(ECKeyPair ecKeyPair) {
         String address = Numeric.prependHexPrefix(Keys.getAddress(ecKeyPair));
         return new Credentials(ecKeyPair, address);
@@ -78,27 +82,6 @@ public class Credentials {
     }
     
     public String signHash(byte[] messageHash) {
-        ECDSASignature sig = ecKeyPair.sign(messageHash);
-        // Now we have to work backwards to figure out the recId needed to recover the signature.
-        int recId = -1;
-        for (int i = 0; i < 4; i++) {
-            BigInteger k = Sign.recoverFromSignature(i, sig, messageHash);
-            if (k != null && k.equals(ecKeyPair.getPublicKey())) {
-                recId = i;
-                break;
-            }
-        }
-        if (recId == -1) {
-            throw new RuntimeException("Could not construct a recoverable key. Are your credentials valid?");
-        }
-        int headerByte = recId + 27;
-        byte v = (byte) headerByte;
-        byte[] r = Numeric.toBytesPadded(sig.r, 32);
-        byte[] s = Numeric.toBytesPadded(sig.s, 32);
-        String rHex = Numeric.toHexString(r);
-        String sHex = Numeric.toHexString(s);
-        String sigData = rHex + sHex.replace("0x", "");
-        sigData = sigData + "1c";
-        return sigData;
+        return signer.signHash(messageHash);
     }
 }
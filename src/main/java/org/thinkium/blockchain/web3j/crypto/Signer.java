@@ -0,0 +1,49 @@
+package org.thinkium.blockchain.web3j.crypto;
+
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+import org.thinkium.blockchain.web3j.utils.cipher.ECKeyPair;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+import org.thinkium.blockchain.web3j.utils.cipher.RecoverableECDSASigner;
+import org.thinkium.blockchain.web3j.utils.cipher.RecoverableSignature;
+import org.thinkium.blockchain.web3j.utils.cipher.Sign;
+
+import java.math.BigInteger;
+
+/**
+ * Signs with one key pair, reusing the signing state between calls. Every thread keeps its own
+ * {@link RecoverableECDSASigner} (nonce generator and digests), and the generator multiplication
+ * uses the shared precomputed table of {@link org.thinkium.blockchain.web3j.utils.cipher.FixedBaseMultiplier},
+ * so an instance can be shared between threads and signing allocates no signer state.
+ */
+public class Signer {
+    
+    private final BigInteger privateKey;
+    private final ThreadLocal<RecoverableECDSASigner> signers = ThreadLocal.withInitial(RecoverableECDSASigner::new);
+    
+    public Signer(ECKeyPair ecKeyPair) {
+        this.privateKey = ecKeyPair.getPrivateKey();
+    }
+    
+    public RecoverableSignature signRecoverable(byte[] messageHash) {
+        return signers.get().generateSignature(privateKey, messageHash);
+    }
+    
+    /**
+     * Sign a hash.
+     *
+     * @param messageHash the hash to sign
+     *
+     * @return signature in the transaction format of {@link Sign#toTransactionSignature}
+     */
+    public String signHash(byte[] messageHash) {
+        return Sign.toTransactionSignature(signRecoverable(messageHash));
+    }
+    
+    public String sign(Transaction tx) {
+        return signHash(tx.hash());
+    }
+    
+    public String sign(String string) {
+        return signHash(Hash.sha3(string.getBytes()));
+    }
+}
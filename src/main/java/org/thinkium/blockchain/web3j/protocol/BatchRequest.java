@@ -0,0 +1,74 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** A group of requests that is sent to the node as one JSON-RPC batch payload. */
+public class BatchRequest {
+    
+    private final Web3jService web3jService;
+    private final List<Request<?, ? extends Response<?>>> requests = new ArrayList<>();
+    
+    public BatchRequest(Web3jService web3jService) {
+        this.web3jService = web3jService;
+    }
+    
+    public BatchRequest add(Request<?, ? extends Response<?>> request) {
+        requests.add(request);
+        return this;
+    }
+    
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return requests;
+    }
+    
+    public BatchResponse send() throws IOException {
+        return web3jService.sendBatch(this);
+    }
+    
+    public CompletableFuture<BatchResponse> sendAsync() {
+        return web3jService.sendBatchAsync(this);
+    }
+    
+    /**
+     * Send the batch asynchronously and expose each response on its own future. A request the
+     * node did not answer fails its future with an {@link IOException}.
+     *
+     * @return one future per request, in the order the requests were added
+     */
+    public List<CompletableFuture<Response<?>>> sendAsyncEach() {
+        List<CompletableFuture<Response<?>>> futures = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        CompletableFuture<BatchResponse> batchFuture;
+        try {
+            batchFuture = sendAsync();
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.completeExceptionally(e));
+            return futures;
+        }
+        batchFuture.whenComplete(
+                (batchResponse, throwable) -> {
+                    List<? extends Response<?>> responses = batchResponse == null ? null : batchResponse.getResponses();
+                    for (int i = 0; i < futures.size(); i++) {
+                        // complete every slot, whatever happens to the others
+                        try {
+                            if (throwable != null) {
+                                futures.get(i).completeExceptionally(throwable);
+                            } else if (responses == null || i >= responses.size() || responses.get(i) == null) {
+                                futures.get(i).completeExceptionally(new IOException(
+                                        "No response received for request " + requests.get(i).getId()));
+                            } else {
+                                futures.get(i).complete(responses.get(i));
+                            }
+                        } catch (RuntimeException e) {
+                            futures.get(i).completeExceptionally(e);
+                        }
+                    }
+                });
+        return futures;
+    }
+}
@@ -0,0 +1,48 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import java.util.List;
+
+/** Responses of a {@link BatchRequest}, aligned with the order of its requests. */
+public class BatchResponse {
+    
+    private final List<Request<?, ? extends Response<?>>> requests;
+    private final List<? extends Response<?>> responses;
+    
+    public BatchResponse(
+            List<Request<?, ? extends Response<?>>> requests,
+            List<? extends Response<?>> responses) {
+        this.requests = requests;
+        this.responses = responses;
+    }
+    
+    public List<Request<?, ? extends Response<?>>> getRequests() {
+        return requests;
+    }
+    
+    /**
+     * The decoded responses, {@code responses.get(i)} answers {@code requests.get(i)}. An entry is
+     * null if the node returned nothing for that request.
+     *
+     * @return decoded responses
+     */
+    public List<? extends Response<?>> getResponses() {
+        return responses;
+    }
+    
+    /**
+     * Typed lookup of the response to a request of this batch.
+     *
+     * @param request a request that was added to the batch
+     * @param <T>     response type of the request
+     *
+     * @return the response, or null if the request is not part of this batch
+     */
+    public <T extends Response> T getResponse(Request<?, T> request) {
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == request) {
+                return request.getResponseType().cast(responses.get(i));
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,319 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetBlockHeader;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetBlockTxs;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetTransactionByHash;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Caches the responses that can never change, so that chain data read again and again, as by
+ * a block explorer, is fetched from the node once:</p>
+ *
+ * <ul>
+ *   <li>{@code GetBlockHeader} of a height given as a number, once the block exists: blocks are
+ *       final as soon as they are produced;</li>
+ *   <li>{@code GetBlockTxs} of a height given as a number, once it lists account changes;</li>
+ *   <li>{@code GetTransactionByHash} once the transaction is in a block.</li>
+ * </ul>
+ *
+ * <p>Other requests, errors and batches go to the node every time. Responses are cached by method
+ * and parameters, and handed out shared, so they must not be modified.</p>
+ *
+ * <p>The cache holds up to a number and a total weight of decoded responses, evicted with segmented
+ * LRU so that a scan over old blocks does not flush the hot ones. A response weighs the length of
+ * its JSON by default, so that a few blocks with thousands of transactions cannot fill the heap
+ * while the count stays low. Optionally, evicted responses move to a second tier
+ * of serialized responses outside of the heap, bounded by its size in bytes, which is decoded again
+ * on a hit.</p>
+ */
+public class CachingWeb3jService implements Web3jService {
+    
+    private static final Logger log = LoggerFactory.getLogger(CachingWeb3jService.class);
+    
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+    
+    /** Serialized bytes of the decoded responses held by default, 32 MiB. */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 32L << 20;
+    
+    private final Web3jService web3jService;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final SegmentedLruCache<String, Response<?>> responses;
+    private final SegmentedLruCache<String, ByteBuffer> serializedResponses;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder serializedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Up to {@link #DEFAULT_MAXIMUM_SIZE} responses of up to {@link #DEFAULT_MAXIMUM_WEIGHT} bytes of
+     * JSON, without a serialized tier.
+     *
+     * @param web3jService service to cache the responses of
+     */
+    public CachingWeb3jService(Web3jService web3jService) {
+        this(web3jService, DEFAULT_MAXIMUM_SIZE, 0);
+    }
+    
+    /**
+     * Up to {@link #DEFAULT_MAXIMUM_WEIGHT} bytes of JSON in the decoded tier.
+     *
+     * @param web3jService          service to cache the responses of
+     * @param maximumSize           number of decoded responses held
+     * @param maximumSerializedSize bytes of serialized responses held outside of the heap, 0 for
+     *                              none
+     */
+    public CachingWeb3jService(Web3jService web3jService, int maximumSize, long maximumSerializedSize) {
+        this(web3jService, maximumSize, DEFAULT_MAXIMUM_WEIGHT, null, maximumSerializedSize);
+    }
+    
+    /**
+     * @param web3jService          service to cache the responses of
+     * @param maximumSize           number of decoded responses held
+     * @param maximumWeight         total weight of the decoded responses held
+     * @param weigher               weight of a decoded response, or null for the length of its JSON
+     * @param maximumSerializedSize bytes of serialized responses held outside of the heap, 0 for
+     *                              none
+     */
+    public CachingWeb3jService(
+            Web3jService web3jService,
+            int maximumSize,
+            long maximumWeight,
+            ToLongFunction<Response<?>> weigher,
+            long maximumSerializedSize) {
+        this.web3jService = web3jService;
+        this.serializedResponses = maximumSerializedSize > 0
+                ? new SegmentedLruCache<>(
+                        maximumSerializedSize, ByteBuffer::capacity, (key, value) -> evictions.increment())
+                : null;
+        this.responses = new SegmentedLruCache<>(
+                maximumWeight, maximumSize, weigher != null ? weigher : this::serializedLength, this::evicted);
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = key(request);
+        if (key == null) {
+            return web3jService.send(request, responseType);
+        }
+        T cached = lookup(key, responseType);
+        if (cached != null) {
+            return cached;
+        }
+        return store(key, web3jService.send(request, responseType));
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String key;
+        T cached;
+        try {
+            key = key(request);
+            cached = key == null ? null : lookup(key, responseType);
+        } catch (IOException e) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<T> future = web3jService.sendAsync(request, responseType);
+        return key == null ? future : future.thenApply(response -> store(key, response));
+    }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        return web3jService.sendStreaming(request, elementType, resultPath);
+    }
+    
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+    
+    /** @return requests answered from the cache, from either tier */
+    public long getHitCount() {
+        return hits.sum() + serializedHits.sum();
+    }
+    
+    /** @return requests answered from the serialized tier */
+    public long getSerializedHitCount() {
+        return serializedHits.sum();
+    }
+    
+    /** @return requests of cacheable methods sent to the node */
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /** @return responses dropped from the cache, from the last tier */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    /** @return share of the requests of cacheable methods answered from the cache */
+    public double getHitRate() {
+        long hitCount = getHitCount();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+    
+    /** @return number of decoded responses held */
+    public int size() {
+        return responses.size();
+    }
+    
+    /** @return total weight of the decoded responses held */
+    public long weight() {
+        return responses.weight();
+    }
+    
+    /** @return bytes of serialized responses held */
+    public long serializedSize() {
+        return serializedResponses == null ? 0 : serializedResponses.weight();
+    }
+    
+    /**
+     * @return the cache key of a request whose response may be immutable, or null for requests
+     * that always go to the node
+     */
+    private String key(Request<?, ?> request) throws JsonProcessingException {
+        Object params = request.getParams();
+        if (params instanceof ThkGetBlockHeader.Params) {
+            if (!isNumber(((ThkGetBlockHeader.Params) params).getHeight())) {
+                return null;
+            }
+        } else if (params instanceof ThkGetBlockTxs.Params) {
+            if (!isNumber(((ThkGetBlockTxs.Params) params).getHeight())) {
+                return null;
+            }
+        } else if (!(params instanceof ThkGetTransactionByHash.Params)) {
+            return null;
+        }
+        return request.getMethod() + objectMapper.writeValueAsString(params);
+    }
+    
+    private static boolean isNumber(String height) {
+        if (height == null || height.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < height.length(); i++) {
+            if (height.charAt(i) < '0' || height.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isImmutable(Response<?> response) {
+        if (response == null || response.hasError() || response.getResult() == null) {
+            return false;
+        }
+        if (response instanceof ThkGetBlockHeader) {
+            String hash = ((ThkGetBlockHeader) response).getBlockHeader().getHash();
+            return hash != null && !hash.isEmpty();
+        }
+        if (response instanceof ThkGetBlockTxs) {
+            ThkGetBlockTxs.BlockTxs blockTxs = ((ThkGetBlockTxs) response).getBlockTxs();
+            return blockTxs.getAccountChanges() != null && !blockTxs.getAccountChanges().isEmpty();
+        }
+        if (response instanceof ThkGetTransactionByHash) {
+            return ((ThkGetTransactionByHash) response).getTransaction().getBlockHeight() != null;
+        }
+        return false;
+    }
+    
+    private <T extends Response> T lookup(String key, Class<T> responseType) throws IOException {
+        Response<?> cached = responses.get(key);
+        if (responseType.isInstance(cached)) {
+            hits.increment();
+            return responseType.cast(cached);
+        }
+        if (serializedResponses != null) {
+            ByteBuffer serialized = serializedResponses.remove(key);
+            if (serialized != null) {
+                byte[] bytes = new byte[serialized.remaining()];
+                serialized.duplicate().get(bytes);
+                T response = objectMapper.readValue(bytes, responseType);
+                serializedHits.increment();
+                responses.put(key, response);
+                return response;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+    
+    private <T extends Response> T store(String key, T response) {
+        if (isImmutable(response)) {
+            responses.put(key, response);
+        }
+        return response;
+    }
+    
+    /** Length of the JSON of a response, counted without buffering it. */
+    private long serializedLength(Response<?> response) {
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(out, response);
+        } catch (IOException e) {
+            log.warn("Failed to weigh a response", e);
+            // heavier than any bound, so it is not cached
+            return Long.MAX_VALUE;
+        }
+        return out.count;
+    }
+    
+    /** Move a response evicted from the decoded tier to the serialized tier, if there is one. */
+    private void evicted(String key, Response<?> response) {
+        if (serializedResponses == null) {
+            evictions.increment();
+            return;
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            ByteBuffer serialized = ByteBuffer.allocateDirect(bytes.length);
+            serialized.put(bytes).flip();
+            serializedResponses.put(key, serialized);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize the response of {}", key, e);
+            evictions.increment();
+        }
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.protocol.methods.ChainParams;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetChainInfo;
+import org.thinkium.blockchain.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Sends every request to the nodes of the chain it is about, taken from the {@code chainId} of
+ * its {@link ChainParams}: requests of a shard chain reach the nodes of that chain directly, without
+ * a hop through a node of another chain.</p>
+ *
+ * <p>The nodes of each chain are learnt from {@code GetChainInfo}, asked to the default service on
+ * construction and then periodically, and a service is built for each chain by a
+ * {@link ServiceFactory}. Routes set with {@link #route(String, Web3jService)} take precedence over
+ * the topology. Requests without a chain, such as {@code GetChainInfo} and {@code Ping}, and
+ * requests of chains without nodes go to the default service.</p>
+ *
+ * <p>The routes are replaced as a whole on refresh, so routing a request never waits for a
+ * refresh. A replaced service is closed one refresh interval later, once the requests already
+ * routed to it are done.</p>
+ */
+public class ChainRoutingService implements Web3jService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ChainRoutingService.class);
+    
+    public static final long DEFAULT_REFRESH_INTERVAL = 60000;
+    
+    /** Builds the service of a chain from its data nodes. */
+    public interface ServiceFactory {
+        
+        /**
+         * @param chainId   id of the chain, in decimal
+         * @param dataNodes data nodes of the chain, never empty
+         *
+         * @return service sending requests to the nodes, or null to send them to the default
+         * service
+         */
+        Web3jService create(String chainId, List<ThkGetChainInfo.DataNode> dataNodes);
+    }
+    
+    /**
+     * Sends JSON-RPC over HTTP to the ip and port of every data node, balancing over them with a
+     * {@link LoadBalancedService} when there are several.
+     */
+    public static final ServiceFactory HTTP_SERVICE_FACTORY = (chainId, dataNodes) -> {
+        String[] urls = new String[dataNodes.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "http://" + dataNodes.get(i).getDataNodeIp() + ":" + dataNodes.get(i).getDataNodePort() + "/";
+        }
+        return urls.length == 1 ? new HttpService(urls[0]) : new LoadBalancedService(urls);
+    };
+    
+    private final Web3jService defaultService;
+    private final ServiceFactory serviceFactory;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsScheduledExecutorService;
+    private final long refreshInterval;
+    /** Services replaced on refresh, waiting to be closed. */
+    private final Set<Web3jService> retired = ConcurrentHashMap.newKeySet();
+    private final Map<String, Web3jService> fixedRoutes = new ConcurrentHashMap<>();
+    private volatile Map<String, Route> routes = Collections.emptyMap();
+    
+    /**
+     * Route over HTTP to the data nodes of each chain, with a refresh thread of its own.
+     *
+     * @param defaultService service asked for the topology, and sent requests without a route
+     */
+    public ChainRoutingService(Web3jService defaultService) {
+        this(defaultService, HTTP_SERVICE_FACTORY, newScheduledExecutorService(), DEFAULT_REFRESH_INTERVAL, true);
+    }
+    
+    /**
+     * @param defaultService           service asked for the topology, and sent requests without a
+     *                                 route
+     * @param serviceFactory           builds the service of each chain
+     * @param scheduledExecutorService runs the refreshes, it is not shut down on {@link #close()}
+     * @param refreshInterval          milliseconds between refreshes of the topology, the first
+     *                                 one starts right away, and before a replaced service is
+     *                                 closed
+     */
+    public ChainRoutingService(
+            Web3jService defaultService,
+            ServiceFactory serviceFactory,
+            ScheduledExecutorService scheduledExecutorService,
+            long refreshInterval) {
+        this(defaultService, serviceFactory, scheduledExecutorService, refreshInterval, false);
+    }
+    
+    private ChainRoutingService(
+            Web3jService defaultService,
+            ServiceFactory serviceFactory,
+            ScheduledExecutorService scheduledExecutorService,
+            long refreshInterval,
+            boolean ownsScheduledExecutorService) {
+        this.defaultService = defaultService;
+        this.serviceFactory = serviceFactory;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsScheduledExecutorService = ownsScheduledExecutorService;
+        this.refreshInterval = refreshInterval;
+        scheduledExecutorService.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.warn("Failed to refresh the chain topology", e);
+            }
+        }, 0, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+    
+    private static ScheduledExecutorService newScheduledExecutorService() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chain-routing-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Send the requests of a chain to a service of the caller's choice instead of its data nodes.
+     *
+     * @param chainId id of the chain, in decimal
+     * @param service service of the chain
+     */
+    public void route(String chainId, Web3jService service) {
+        fixedRoutes.put(chainId, service);
+    }
+    
+    /**
+     * Ask the default service for the topology and route to the nodes it lists. The service of a
+     * chain whose data nodes did not change is kept, those of other chains are closed after the
+     * refresh interval.
+     *
+     * @throws IOException if the topology could not be read
+     */
+    public synchronized void refresh() throws IOException {
+        ThkGetChainInfo chainInfo = defaultService.send(
+                new Request<>(
+                        "GetChainInfo",
+                        new ThkGetChainInfo.Params(Collections.emptyList()),
+                        defaultService,
+                        ThkGetChainInfo.class),
+                ThkGetChainInfo.class);
+        if (chainInfo == null || chainInfo.hasError() || chainInfo.getChainInfos() == null) {
+            throw new IOException("No chain topology received"
+                    + (chainInfo != null && chainInfo.hasError() ? ": " + chainInfo.getError().getMessage() : ""));
+        }
+        
+        Map<String, Route> previous = routes;
+        Map<String, Route> updated = new HashMap<>();
+        for (ThkGetChainInfo.ChainInfo chain : chainInfo.getChainInfos()) {
+            List<ThkGetChainInfo.DataNode> dataNodes = chain.getDataNodes();
+            if (dataNodes == null || dataNodes.isEmpty()) {
+                continue;
+            }
+            String chainId = String.valueOf(chain.getChainId());
+            List<String> addresses = addresses(dataNodes);
+            Route route = previous.get(chainId);
+            if (route == null || !route.addresses.equals(addresses)) {
+                Web3jService service = serviceFactory.create(chainId, dataNodes);
+                if (service == null) {
+                    continue;
+                }
+                route = new Route(addresses, service);
+            }
+            updated.put(chainId, route);
+        }
+        routes = updated;
+        
+        for (Map.Entry<String, Route> entry : previous.entrySet()) {
+            if (updated.get(entry.getKey()) != entry.getValue()) {
+                retire(entry.getValue().service);
+            }
+        }
+    }
+    
+    /** Close a replaced service later, as requests routed to it before the refresh may be in flight. */
+    private void retire(Web3jService service) {
+        retired.add(service);
+        try {
+            scheduledExecutorService.schedule(() -> {
+                if (retired.remove(service)) {
+                    closeQuietly(service);
+                }
+            }, refreshInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (retired.remove(service)) {
+                closeQuietly(service);
+            }
+        }
+    }
+    
+    /**
+     * @param chainId id of a chain, in decimal, or null
+     *
+     * @return the service requests of the chain are sent to
+     */
+    public Web3jService serviceOf(String chainId) {
+        if (chainId == null) {
+            return defaultService;
+        }
+        Web3jService service = fixedRoutes.get(chainId);
+        if (service != null) {
+            return service;
+        }
+        Route route = routes.get(chainId);
+        return route != null ? route.service : defaultService;
+    }
+    
+    private Web3jService serviceOf(Request<?, ?> request) {
+        Object params = request.getParams();
+        return params instanceof ChainParams ? serviceOf(((ChainParams) params).getChainId()) : defaultService;
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return serviceOf(request).send(request, responseType);
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return serviceOf(request).sendAsync(request, responseType);
+    }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        return serviceOf(request).sendStreaming(request, elementType, resultPath);
+    }
+    
+    /** A batch spanning several chains is split into one batch per service, sent in parallel. */
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        Map<Web3jService, List<Integer>> split = split(batchRequest.getRequests());
+        if (split.size() <= 1) {
+            return (split.isEmpty() ? defaultService : split.keySet().iterator().next()).sendBatch(batchRequest);
+        }
+        return Async.join(sendBatchAsync(batchRequest.getRequests(), split));
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        Map<Web3jService, List<Integer>> split = split(batchRequest.getRequests());
+        if (split.size() <= 1) {
+            return (split.isEmpty() ? defaultService : split.keySet().iterator().next()).sendBatchAsync(batchRequest);
+        }
+        return sendBatchAsync(batchRequest.getRequests(), split);
+    }
+    
+    /** @return indexes of the requests, by the service they are sent to, in request order */
+    private Map<Web3jService, List<Integer>> split(List<Request<?, ? extends Response<?>>> requests) {
+        Map<Web3jService, List<Integer>> split = new IdentityHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            split.computeIfAbsent(serviceOf(requests.get(i)), service -> new ArrayList<>()).add(i);
+        }
+        return split;
+    }
+    
+    private CompletableFuture<BatchResponse> sendBatchAsync(
+            List<Request<?, ? extends Response<?>>> requests, Map<Web3jService, List<Integer>> split) {
+        Response<?>[] responses = new Response<?>[requests.size()];
+        List<CompletableFuture<?>> futures = new ArrayList<>(split.size());
+        for (Map.Entry<Web3jService, List<Integer>> entry : split.entrySet()) {
+            BatchRequest part = new BatchRequest(entry.getKey());
+            for (int index : entry.getValue()) {
+                part.add(requests.get(index));
+            }
+            futures.add(part.sendAsync().thenAccept(response -> {
+                for (int i = 0; i < entry.getValue().size(); i++) {
+                    // each part fills its own slots, and allOf publishes them to the caller
+                    responses[entry.getValue().get(i)] = response.getResponses().get(i);
+                }
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> new BatchResponse(requests, Arrays.asList(responses)));
+    }
+    
+    /**
+     * Closes the default service, the services of the topology, including replaced ones not closed
+     * yet, and those of the routes set with {@link #route(String, Web3jService)}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (ownsScheduledExecutorService) {
+            scheduledExecutorService.shutdownNow();
+        }
+        for (Route route : routes.values()) {
+            closeQuietly(route.service);
+        }
+        for (Web3jService service : retired) {
+            if (retired.remove(service)) {
+                closeQuietly(service);
+            }
+        }
+        for (Web3jService service : fixedRoutes.values()) {
+            closeQuietly(service);
+        }
+        defaultService.close();
+    }
+    
+    private static List<String> addresses(List<ThkGetChainInfo.DataNode> dataNodes) {
+        List<String> addresses = new ArrayList<>(dataNodes.size());
+        for (ThkGetChainInfo.DataNode dataNode : dataNodes) {
+            addresses.add(dataNode.getDataNodeIp() + ":" + dataNode.getDataNodePort());
+        }
+        Collections.sort(addresses);
+        return addresses;
+    }
+    
+    private static void closeQuietly(Web3jService service) {
+        try {
+            service.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the service of a chain", e);
+        }
+    }
+    
+    /** The service of a chain, and the sorted addresses of the data nodes it was built for. */
+    private static final class Route {
+        private final List<String> addresses;
+        private final Web3jService service;
+        
+        Route(List<String> addresses, Web3jService service) {
+            this.addresses = addresses;
+            this.service = service;
+        }
+    }
+}
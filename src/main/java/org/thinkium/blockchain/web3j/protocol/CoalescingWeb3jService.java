@@ -0,0 +1,251 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Shares {@code GetAccount} requests for hot accounts, such as the nonce of a hot wallet read
+ * by many threads at once.</p>
+ *
+ * <p>Requests for an account, by chain and address, that arrive while one is in flight do not go
+ * to the node: they get the reply of the request in flight. Optionally the reply is also kept for
+ * a time to live, which should be shorter than a block, and later requests within it are answered
+ * without the node.</p>
+ *
+ * <p>{@code SendTx} sent through this service, including in a batch, drops every kept reply and
+ * detaches the requests in flight, before it is sent and again once it completes, so that an
+ * account read after our own transaction never sees the state from before it. Replies are shared
+ * between callers, so they must not be modified.</p>
+ */
+public class CoalescingWeb3jService implements Web3jService {
+    
+    static final String GET_ACCOUNT = "GetAccount";
+    static final String SEND_TX = "SendTx";
+    
+    private final Web3jService web3jService;
+    private final long timeToLive;
+    private final Map<String, CompletableFuture<ThkGetAccount>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Kept> kept = new ConcurrentHashMap<>();
+    /** Changed by every {@code SendTx}, replies of requests started before are not kept. */
+    private final AtomicLong generation = new AtomicLong();
+    
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    
+    /**
+     * Share requests in flight only.
+     *
+     * @param web3jService service to send requests to
+     */
+    public CoalescingWeb3jService(Web3jService web3jService) {
+        this(web3jService, 0);
+    }
+    
+    /**
+     * @param web3jService service to send requests to
+     * @param timeToLive   milliseconds a reply is kept for, 0 not to keep replies
+     */
+    public CoalescingWeb3jService(Web3jService web3jService, long timeToLive) {
+        this.web3jService = web3jService;
+        this.timeToLive = TimeUnit.MILLISECONDS.toNanos(timeToLive);
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        String key = key(request);
+        if (key == null) {
+            if (!SEND_TX.equals(request.getMethod())) {
+                return web3jService.send(request, responseType);
+            }
+            invalidate();
+            try {
+                return web3jService.send(request, responseType);
+            } finally {
+                invalidate();
+            }
+        }
+        ThkGetAccount reply = keptReply(key);
+        if (reply != null) {
+            return responseType.cast(reply);
+        }
+        CompletableFuture<ThkGetAccount> flight = new CompletableFuture<>();
+        CompletableFuture<ThkGetAccount> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return responseType.cast(Async.join(existing));
+        }
+        long started = generation.get();
+        requests.increment();
+        try {
+            T response = web3jService.send(request, responseType);
+            landed(key, flight, started, (ThkGetAccount) response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String key = key(request);
+        if (key == null) {
+            if (!SEND_TX.equals(request.getMethod())) {
+                return web3jService.sendAsync(request, responseType);
+            }
+            invalidate();
+            return web3jService.sendAsync(request, responseType).whenComplete((response, throwable) -> invalidate());
+        }
+        ThkGetAccount reply = keptReply(key);
+        if (reply != null) {
+            return CompletableFuture.completedFuture(responseType.cast(reply));
+        }
+        CompletableFuture<ThkGetAccount> flight = new CompletableFuture<>();
+        CompletableFuture<ThkGetAccount> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            // a future of its own, so that a caller completing it does not affect the others
+            return existing.thenApply(responseType::cast);
+        }
+        long started = generation.get();
+        requests.increment();
+        web3jService.sendAsync(request, responseType).whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                landed(key, flight, started, (ThkGetAccount) response);
+            } else {
+                inFlight.remove(key, flight);
+                flight.completeExceptionally(throwable);
+            }
+        });
+        return flight.thenApply(responseType::cast);
+    }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        return web3jService.sendStreaming(request, elementType, resultPath);
+    }
+    
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        if (!hasSendTx(batchRequest)) {
+            return web3jService.sendBatch(batchRequest);
+        }
+        invalidate();
+        try {
+            return web3jService.sendBatch(batchRequest);
+        } finally {
+            invalidate();
+        }
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (!hasSendTx(batchRequest)) {
+            return web3jService.sendBatchAsync(batchRequest);
+        }
+        invalidate();
+        return web3jService.sendBatchAsync(batchRequest).whenComplete((response, throwable) -> invalidate());
+    }
+    
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+    
+    /** @return {@code GetAccount} requests sent to the node */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+    
+    /** @return {@code GetAccount} requests that shared the reply of a request in flight */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    /** @return {@code GetAccount} requests answered with a kept reply */
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * Drop the kept replies, and let the next requests go to the node rather than wait for those in
+     * flight. Called around every {@code SendTx}; call it after sending transactions through
+     * another service.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        kept.clear();
+        inFlight.clear();
+    }
+    
+    private static String key(Request<?, ?> request) {
+        if (!GET_ACCOUNT.equals(request.getMethod())
+                || !(request.getParams() instanceof ThkGetAccount.Params)) {
+            return null;
+        }
+        ThkGetAccount.Params params = (ThkGetAccount.Params) request.getParams();
+        String address = params.getAddress() == null ? null : params.getAddress().toLowerCase(Locale.ROOT);
+        return GET_ACCOUNT + ":" + params.getChainId() + ":" + address;
+    }
+    
+    private static boolean hasSendTx(BatchRequest batchRequest) {
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            if (SEND_TX.equals(request.getMethod())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private ThkGetAccount keptReply(String key) {
+        if (timeToLive <= 0) {
+            return null;
+        }
+        Kept reply = kept.get(key);
+        if (reply == null) {
+            return null;
+        }
+        if (System.nanoTime() - reply.expiresAt >= 0) {
+            kept.remove(key, reply);
+            return null;
+        }
+        hits.increment();
+        return reply.response;
+    }
+    
+    private void landed(String key, CompletableFuture<ThkGetAccount> flight, long started, ThkGetAccount response) {
+        if (timeToLive > 0 && response != null && !response.hasError()) {
+            Kept reply = new Kept(response, System.nanoTime() + timeToLive);
+            kept.put(key, reply);
+            // a transaction sent meanwhile may have changed the account, drop the reply again
+            if (generation.get() != started) {
+                kept.remove(key, reply);
+            }
+        }
+        inFlight.remove(key, flight);
+        flight.complete(response);
+    }
+    
+    /** A reply, and the {@link System#nanoTime()} it expires at. */
+    private static final class Kept {
+        private final ThkGetAccount response;
+        private final long expiresAt;
+        
+        Kept(ThkGetAccount response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,19 +2,24 @@ package org.thinkium.blockchain.web3j.protocol;
 
 import okhttp3.*;
 import okhttp3.logging.HttpLoggingInterceptor;
-import okio.Buffer;
-import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.utils.Async;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static okhttp3.ConnectionSpec.CLEARTEXT;
 
@@ -68,21 +73,45 @@ public class HttpService extends Service {
     
     public static final String DEFAULT_URL = "http://localhost:8545/";
     
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    
+    /** Methods the node serves on its {@code chaininfo} endpoint rather than on the root. */
+    public static final Set<String> CHAIN_INFO_METHODS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GetChainInfo", "GetCommittee", "Ping")));
+    
     private static final Logger log = LoggerFactory.getLogger(HttpService.class);
     
+    /** Decodes asynchronous responses, shared by all instances without an executor of their own. */
+    private static final Executor DEFAULT_DECODE_EXECUTOR =
+            Async.boundedExecutorService(Runtime.getRuntime().availableProcessors(), 1024);
+    
     private OkHttpClient httpClient;
     
     private final String url;
     
+    private final String chainInfoUrl;
+    
     private final boolean includeRawResponse;
     
+    private final Executor decodeExecutor;
+    
     private HashMap<String, String> headers = new HashMap<>();
     
-    public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
+    public HttpService(
+            String url,
+            OkHttpClient httpClient,
+            boolean includeRawResponses,
+            Executor decodeExecutor) {
         super(includeRawResponses);
         this.url = url;
+        this.chainInfoUrl = (url.endsWith("/") ? url : url + "/") + "chaininfo";
         this.httpClient = httpClient;
         this.includeRawResponse = includeRawResponses;
+        this.decodeExecutor = decodeExecutor;
+    }
+    
+    public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
+        this(url, httpClient, includeRawResponses, DEFAULT_DECODE_EXECUTOR);
     }
     
     public HttpService(OkHttpClient httpClient, boolean includeRawResponses) {
@@ -114,8 +143,10 @@ public class HttpService extends Service {
     }
     
     private static OkHttpClient createOkHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(DEFAULT_MAX_REQUESTS_PER_HOST);
         final OkHttpClient.Builder builder =
-                new OkHttpClient.Builder().connectionSpecs(CONNECTION_SPEC_LIST);
+                new OkHttpClient.Builder().connectionSpecs(CONNECTION_SPEC_LIST).dispatcher(dispatcher);
         configureLogging(builder);
         return builder.build();
     }
@@ -130,14 +161,91 @@ public class HttpService extends Service {
     
     @Override
     protected InputStream performIO(String request) throws IOException {
+        return performIO(null, request);
+    }
+    
+    @Override
+    protected InputStream performIO(String method, String request) throws IOException {
+        okhttp3.Response response = httpClient.newCall(buildRequest(method, request)).execute();
+        return processResponse(response);
+    }
+    
+    /**
+     * Send the request on OkHttp's dispatcher, no thread is held while waiting for the node. The
+     * response body is decoded on the decode executor once it arrives.
+     */
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return performAsync(
+                request.getMethod(),
+                request,
+                inputStream -> objectMapper.readValue(inputStream, responseType));
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return CompletableFuture.completedFuture(new BatchResponse(requests, Collections.emptyList()));
+        }
+        return performAsync(
+                commonMethod(requests),
+                requests,
+                inputStream -> readBatchResponse(requests, objectMapper.readTree(inputStream)));
+    }
+    
+    private <T> CompletableFuture<T> performAsync(String method, Object request, ResponseReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        final okhttp3.Request httpRequest;
+        try {
+            httpRequest = buildRequest(method, objectMapper.writeValueAsString(request));
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
         
+        httpClient.newCall(httpRequest).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                result.completeExceptionally(e);
+            }
+            
+            @Override
+            public void onResponse(Call call, okhttp3.Response response) {
+                try {
+                    decodeExecutor.execute(() -> {
+                        // we need to explicitly catch any exceptions,
+                        // otherwise they will be silently discarded
+                        try (InputStream inputStream = processResponse(response)) {
+                            result.complete(inputStream == null ? null : reader.read(inputStream));
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        } finally {
+                            response.close();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    response.close();
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        return result;
+    }
+    
+    private okhttp3.Request buildRequest(String method, String request) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
         
-        okhttp3.Request httpRequest =
-                new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
-        
-        okhttp3.Response response = httpClient.newCall(httpRequest).execute();
+        return new okhttp3.Request.Builder().url(urlFor(method)).headers(headers).post(requestBody).build();
+    }
+    
+    private String urlFor(String method) {
+        return method != null && CHAIN_INFO_METHODS.contains(method) ? chainInfoUrl : url;
+    }
+    
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
         processHeaders(response.headers());
         ResponseBody responseBody = response.body();
         if (response.isSuccessful()) {
@@ -150,7 +258,7 @@ public class HttpService extends Service {
             int code = response.code();
             String text = responseBody == null ? "N/A" : responseBody.string();
             
-            throw new ClientConnectionException("Invalid response received: " + code + "; " + text);
+            throw new ClientConnectionException("Invalid response received: " + code + "; " + text, code);
         }
     }
     
@@ -159,31 +267,13 @@ public class HttpService extends Service {
     }
     
     private InputStream buildInputStream(ResponseBody responseBody) throws IOException {
-        InputStream inputStream = responseBody.byteStream();
-        
         if (includeRawResponse) {
-            // we have to buffer the entire input payload, so that after processing
-            // it can be re-read and used to populate the rawResponse field.
-            
-            BufferedSource source = responseBody.source();
-            source.request(Long.MAX_VALUE); // Buffer the entire body
-            Buffer buffer = source.buffer();
-            
-            long size = buffer.size();
-            if (size > Integer.MAX_VALUE) {
-                throw new UnsupportedOperationException(
-                        "Non-integer input buffer size specified: " + size);
-            }
-            
-            int bufferSize = (int) size;
-            BufferedInputStream bufferedinputStream =
-                    new BufferedInputStream(inputStream, bufferSize);
-            
-            bufferedinputStream.mark(inputStream.available());
-            return bufferedinputStream;
-            
+            // the body is read twice, once to decode it and once more to populate the
+            // rawResponse field, so read it into memory once and hand out a resettable copy
+            return new ByteArrayInputStream(responseBody.bytes());
         } else {
-            return inputStream;
+            // decode straight from the connection's buffered source
+            return responseBody.byteStream();
         }
     }
     
@@ -207,7 +297,15 @@ public class HttpService extends Service {
         return url;
     }
     
+    public String getChainInfoUrl() {
+        return chainInfoUrl;
+    }
+    
     @Override
     public void close() throws IOException {
     }
+    
+    private interface ResponseReader<T> {
+        T read(InputStream inputStream) throws IOException;
+    }
 }
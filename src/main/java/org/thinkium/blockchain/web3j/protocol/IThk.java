@@ -17,25 +17,25 @@ public interface IThk {
     Request<?, ThkGetTransactionByHash> getTransactionByHash(String chainId, String hash);
     
     /* Get chain details*/
-    Request<?, ThkGetAccount> getChainStats(String chainId);
+    Request<?, ThkGetChainStats> getChainStats(String chainId);
     
     /* Obtain the transaction information within the specified height according to the address*/
-    Request<?, ThkGetAccount> getTransactions(String chainId, String address, String startHeight, String endHeight);
+    Request<?, ThkGetTransactions> getTransactions(String chainId, String address, String startHeight, String endHeight);
     
     /* Get block details*/
-    Request<?, ThkGetAccount> getBlockHeader(String chainId, String height);
+    Request<?, ThkGetBlockHeader> getBlockHeader(String chainId, String height);
     
     /* Obtain the transaction within the corresponding height */
-    Request<?, ThkGetAccount> getBlockTxs(String chainId, String height, String page, String size);
+    Request<?, ThkGetBlockTxs> getBlockTxs(String chainId, String height, String page, String size);
     
     //Send transaction
     Request<?, ThkSendTransaction> sendTx(Transaction tx);
     
     //Get chain structure
-    Request<?, ThkGetAccount> getChainInfo();
+    Request<?, ThkGetChainInfo> getChainInfo();
     
     //Get Committee details
-    Request<?, ThkGetAccount> getCommittee(String chainId, String epoch);
+    Request<?, ThkGetCommittee> getCommittee(String chainId, String epoch);
     
     //Get the data in the contract
     Request<?, ThkCall> callTransaction(Transaction tx);
@@ -46,8 +46,8 @@ public interface IThk {
      * @param cashCheque   Obtain the necessary parameters for proof. Note that tochain is passed to the ID of the initiating chain when revoking, which is the opposite of generating a check
      * @param cashOrCancel True cash, false undo
      */
-    Request<?, ThkGetAccount> makeVccProof(CashCheque cashCheque, boolean cashOrCancel);
+    Request<?, ThkMakeVccProof> makeVccProof(CashCheque cashCheque, boolean cashOrCancel);
     
     //Get node operation information
-    Request<?, ThkGetAccount> ping(String address);
+    Request<?, ThkPing> ping(String address);
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Histogram of request latencies, for percentiles such as the p95 a hedged request waits for.</p>
+ *
+ * <p>Latencies are counted in buckets a quarter of a power of two wide, from one microsecond to over
+ * an hour, so a percentile is within 25% of the exact one while recording is a single atomic
+ * increment. Every {@link #DECAY_INTERVAL} samples all counts are halved, so the percentiles follow
+ * the recent latencies of the node rather than all-time ones.</p>
+ */
+public class LatencyHistogram {
+    
+    static final int DECAY_INTERVAL = 4096;
+    
+    private static final int SUB_BUCKETS = 4;
+    private static final int BUCKETS = 32 * SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+    
+    /**
+     * @param nanos latency of a request, in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucket(Math.max(1, nanos / 1000)));
+        if (samples.incrementAndGet() % DECAY_INTERVAL == 0) {
+            // concurrent increments may be lost by halving, which only shifts the percentiles slightly
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, counts.get(i) / 2);
+            }
+        }
+    }
+    
+    /**
+     * @return number of latencies counted, after decay
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+    
+    /**
+     * @param percentile a percentile, such as 0.95
+     *
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, or 0 without
+     * samples
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return upperBound(i) * 1000;
+            }
+        }
+        return upperBound(BUCKETS - 1) * 1000;
+    }
+    
+    /** Buckets {@code [(4 + sub) << (log - 2), (5 + sub) << (log - 2))} for {@code log >= 2}. */
+    private static int bucket(long micros) {
+        int log = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = log < 2 ? 0 : (int) (micros >>> (log - 2)) & (SUB_BUCKETS - 1);
+        return Math.min(log * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+    
+    private static long upperBound(int bucket) {
+        int log = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        return log < 2 ? 2L << log : (SUB_BUCKETS + sub + 1L) << (log - 2);
+    }
+}
@@ -0,0 +1,456 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkPing;
+import org.thinkium.blockchain.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Spreads requests over several nodes serving the same chains, each behind its own
+ * {@link Web3jService}, usually an {@link HttpService}.</p>
+ *
+ * <p>Every request goes to the node that is up and chosen by the {@link Strategy}. A node that
+ * fails with a {@link ClientConnectionException} or an I/O error is marked down and no longer
+ * chosen; down nodes are probed with {@code Ping} and marked up again once they answer.</p>
+ *
+ * <p>Requests of the {@link #READ_METHODS} do not change the state of the chain, so they are sent
+ * again to another node when their node fails. When a hedge delay is set they are also hedged: if
+ * no reply arrived after the delay, the request is sent to a second node as well and the first
+ * reply wins, so one slow node does not hold up the request. Other requests, {@code SendTx} in
+ * particular, go to a single node only and their errors are passed on to the caller.</p>
+ */
+public class LoadBalancedService implements Web3jService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LoadBalancedService.class);
+    
+    /** How a node is chosen among those that are up. */
+    public enum Strategy {
+        /** The node with the fewest requests in flight. */
+        LEAST_OUTSTANDING,
+        /**
+         * The node with the lowest moving average of its latency, weighted by its requests in
+         * flight, so a slow node gets fewer requests than a fast one.
+         */
+        EWMA
+    }
+    
+    /** Methods that only read the state of the chain, and may be sent to several nodes. */
+    public static final Set<String> READ_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "GetAccount",
+            "GetTransactionByHash",
+            "GetStats",
+            "GetTransactions",
+            "GetBlockHeader",
+            "GetBlockTxs",
+            "GetChainInfo",
+            "GetCommittee",
+            "CallTransaction",
+            "Ping")));
+    
+    public static final long DEFAULT_PROBE_INTERVAL = 5000;
+    
+    /** Weight of the latest latency in the moving average of {@link Strategy#EWMA}. */
+    static final double EWMA_WEIGHT = 0.3;
+    
+    private final Node[] nodes;
+    private final Strategy strategy;
+    private final long hedgeDelay;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsScheduledExecutorService;
+    private final AtomicInteger nextNode = new AtomicInteger();
+    
+    /**
+     * Least outstanding requests, without hedging, with a probe thread of its own.
+     *
+     * @param urls urls of the nodes
+     */
+    public LoadBalancedService(String... urls) {
+        this(httpServices(urls), Strategy.LEAST_OUTSTANDING, -1);
+    }
+    
+    /**
+     * @param services   services of the nodes
+     * @param strategy   how to choose a node
+     * @param hedgeDelay milliseconds after which a read request is sent to a second node, negative
+     *                   not to hedge
+     */
+    public LoadBalancedService(List<? extends Web3jService> services, Strategy strategy, long hedgeDelay) {
+        this(services, strategy, hedgeDelay, newScheduledExecutorService(), DEFAULT_PROBE_INTERVAL, true);
+    }
+    
+    /**
+     * @param services                 services of the nodes
+     * @param strategy                 how to choose a node
+     * @param hedgeDelay               milliseconds after which a read request is sent to a second
+     *                                 node, negative not to hedge
+     * @param scheduledExecutorService runs the probes and hedges, it is not shut down on
+     *                                 {@link #close()}
+     * @param probeInterval            milliseconds between probes of down nodes
+     */
+    public LoadBalancedService(
+            List<? extends Web3jService> services,
+            Strategy strategy,
+            long hedgeDelay,
+            ScheduledExecutorService scheduledExecutorService,
+            long probeInterval) {
+        this(services, strategy, hedgeDelay, scheduledExecutorService, probeInterval, false);
+    }
+    
+    private LoadBalancedService(
+            List<? extends Web3jService> services,
+            Strategy strategy,
+            long hedgeDelay,
+            ScheduledExecutorService scheduledExecutorService,
+            long probeInterval,
+            boolean ownsScheduledExecutorService) {
+        if (services.isEmpty()) {
+            throw new IllegalArgumentException("No services to balance over");
+        }
+        this.nodes = new Node[services.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = new Node(services.get(i));
+        }
+        this.strategy = strategy;
+        this.hedgeDelay = hedgeDelay;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsScheduledExecutorService = ownsScheduledExecutorService;
+        scheduledExecutorService.scheduleWithFixedDelay(
+                this::probe, probeInterval, probeInterval, TimeUnit.MILLISECONDS);
+    }
+    
+    private static List<HttpService> httpServices(String... urls) {
+        List<HttpService> services = new ArrayList<>(urls.length);
+        for (String url : urls) {
+            services.add(new HttpService(url));
+        }
+        return services;
+    }
+    
+    private static ScheduledExecutorService newScheduledExecutorService() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-balanced-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        boolean read = READ_METHODS.contains(request.getMethod());
+        if (read && hedgeDelay >= 0) {
+            return Async.join(sendAsync(request, responseType));
+        }
+        return execute(read, service -> service.send(request, responseType));
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        return new Attempts<T>(
+                READ_METHODS.contains(request.getMethod()),
+                service -> service.sendAsync(request, responseType)).start();
+    }
+    
+    /** Streaming responses are read from a single node, and are not sent again once open. */
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        return execute(
+                READ_METHODS.contains(request.getMethod()),
+                service -> service.sendStreaming(request, elementType, resultPath));
+    }
+    
+    /** A batch is sent to a single node, and is sent again or hedged only if all its requests are reads. */
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        boolean read = isRead(batchRequest);
+        if (read && hedgeDelay >= 0) {
+            return Async.join(sendBatchAsync(batchRequest));
+        }
+        return execute(read, service -> service.sendBatch(batchRequest));
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return new Attempts<>(isRead(batchRequest), service -> service.sendBatchAsync(batchRequest)).start();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (ownsScheduledExecutorService) {
+            scheduledExecutorService.shutdownNow();
+        }
+        IOException failure = null;
+        for (Node node : nodes) {
+            try {
+                node.service.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * @param index index of a node, in the order of the services given on construction
+     *
+     * @return whether the node is up
+     */
+    public boolean isUp(int index) {
+        return nodes[index].up;
+    }
+    
+    private static boolean isRead(BatchRequest batchRequest) {
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            if (!READ_METHODS.contains(request.getMethod())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private <T> T execute(boolean read, Call<T> call) throws IOException {
+        Set<Node> tried = new HashSet<>();
+        while (true) {
+            Node node = choose(tried);
+            tried.add(node);
+            long start = node.begin();
+            try {
+                T result = call.call(node.service);
+                node.end(start);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                node.end(start);
+                if (!isConnectionFailure(e)) {
+                    throw e;
+                }
+                node.markDown(e);
+                if (!read || tried.size() == nodes.length) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Choose the best node that is up and was not tried yet. Ties go to the first node after a
+     * rotating index, so that idle nodes share the load. If all untried nodes are down, one of
+     * them is still chosen: it may have come back since it was marked down.
+     */
+    private Node choose(Set<Node> tried) {
+        int offset = nextNode.getAndIncrement() & Integer.MAX_VALUE;
+        Node best = null;
+        Node fallback = null;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[(offset + i) % nodes.length];
+            if (tried.contains(node)) {
+                continue;
+            }
+            if (!node.up) {
+                if (fallback == null) {
+                    fallback = node;
+                }
+                continue;
+            }
+            double cost = strategy == Strategy.EWMA
+                    ? node.latency * (node.outstanding.get() + 1)
+                    : node.outstanding.get();
+            if (cost < bestCost) {
+                best = node;
+                bestCost = cost;
+            }
+        }
+        return best != null ? best : fallback;
+    }
+    
+    private void probe() {
+        for (Node node : nodes) {
+            if (!node.up) {
+                // a probe that throws must not cancel the probes to come
+                try {
+                    Request<?, ThkPing> ping = new Request<>("Ping", new ThkPing.Params(""), node.service, ThkPing.class);
+                    node.service.sendAsync(ping, ThkPing.class).whenComplete((response, throwable) -> {
+                        // any reply, even an error, shows the node is reachable again
+                        if (throwable == null && response != null) {
+                            node.markUp(lowestLatency(node.latency));
+                        }
+                    });
+                } catch (Exception e) {
+                    log.warn("Failed to probe {}", node.name(), e);
+                }
+            }
+        }
+    }
+    
+    /** The lowest latency of the nodes that are up, or {@code otherwise} if none is. */
+    private double lowestLatency(double otherwise) {
+        double lowest = Double.MAX_VALUE;
+        for (Node node : nodes) {
+            if (node.up) {
+                lowest = Math.min(lowest, node.latency);
+            }
+        }
+        return lowest == Double.MAX_VALUE ? otherwise : lowest;
+    }
+    
+    /**
+     * Whether a request failed because its node did not answer or is unavailable, rather than with
+     * an answer that could not be read. A 4xx status is the node rejecting the request, it is up.
+     */
+    static boolean isConnectionFailure(Throwable e) {
+        if (e instanceof CompletionException || e instanceof ExecutionException) {
+            e = e.getCause();
+        }
+        if (e instanceof ClientConnectionException) {
+            int statusCode = ((ClientConnectionException) e).getStatusCode();
+            return statusCode < 0 || statusCode >= 500;
+        }
+        return e instanceof IOException && !(e instanceof JsonProcessingException);
+    }
+    
+    private interface Call<T> {
+        T call(Web3jService service) throws IOException;
+    }
+    
+    private interface AsyncCall<T> {
+        CompletableFuture<T> call(Web3jService service);
+    }
+    
+    /** A node, with its requests in flight and its latency. */
+    private static final class Node {
+        private final Web3jService service;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile double latency;
+        private volatile boolean up = true;
+        
+        Node(Web3jService service) {
+            this.service = service;
+        }
+        
+        long begin() {
+            outstanding.incrementAndGet();
+            return System.nanoTime();
+        }
+        
+        void end(long start) {
+            outstanding.decrementAndGet();
+            // racing updates may drop a sample, which a moving average tolerates
+            latency += EWMA_WEIGHT * ((System.nanoTime() - start) - latency);
+        }
+        
+        void markDown(Throwable cause) {
+            if (up) {
+                up = false;
+                log.warn("Marking {} down: {}", name(), cause.toString());
+            }
+        }
+        
+        /**
+         * @param latency latency to start over from: the best of the other nodes, so that the
+         *                recovered node is chosen again, but only up to as many requests in flight
+         *                as they have
+         */
+        void markUp(double latency) {
+            if (!up) {
+                this.latency = latency;
+                up = true;
+                log.info("Marking {} up", name());
+            }
+        }
+        
+        private String name() {
+            return service instanceof HttpService ? ((HttpService) service).getUrl() : service.toString();
+        }
+    }
+    
+    /**
+     * The attempts to answer one asynchronous request: the first to one node, then one more to
+     * another node whenever a read request fails on its node or is not answered within the hedge
+     * delay. The first reply completes the result; it fails once all attempts failed.
+     */
+    private final class Attempts<T> {
+        private final boolean read;
+        private final AsyncCall<T> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Set<Node> tried = new HashSet<>();
+        private int pending;
+        
+        Attempts(boolean read, AsyncCall<T> call) {
+            this.read = read;
+            this.call = call;
+        }
+        
+        CompletableFuture<T> start() {
+            synchronized (this) {
+                attempt(choose(tried));
+            }
+            if (read && hedgeDelay >= 0 && nodes.length > 1) {
+                scheduledExecutorService.schedule(this::hedge, hedgeDelay, TimeUnit.MILLISECONDS);
+            }
+            return result;
+        }
+        
+        private synchronized void hedge() {
+            if (!result.isDone() && tried.size() < nodes.length) {
+                attempt(choose(tried));
+            }
+        }
+        
+        /** Called holding the lock. */
+        private void attempt(Node node) {
+            tried.add(node);
+            pending++;
+            long start = node.begin();
+            CompletableFuture<T> future;
+            try {
+                future = call.call(node.service);
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, throwable) -> {
+                node.end(start);
+                if (throwable == null) {
+                    result.complete(value);
+                } else {
+                    failed(node, throwable);
+                }
+            });
+        }
+        
+        private synchronized void failed(Node node, Throwable throwable) {
+            pending--;
+            boolean connectionFailure = isConnectionFailure(throwable);
+            if (connectionFailure) {
+                node.markDown(throwable);
+            }
+            if (result.isDone()) {
+                return;
+            }
+            if (read && connectionFailure && tried.size() < nodes.length) {
+                attempt(choose(tried));
+            } else if (pending == 0) {
+                result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        }
+    }
+}
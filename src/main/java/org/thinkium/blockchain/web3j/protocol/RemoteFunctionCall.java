@@ -1,8 +1,7 @@
 package org.thinkium.blockchain.web3j.protocol;
 
 
-import org.thinkium.blockchain.web3j.abi.FunctionEncoder;
-import org.thinkium.blockchain.web3j.abi.FunctionReturnDecoder;
+import org.thinkium.blockchain.web3j.abi.FunctionCodec;
 import org.thinkium.blockchain.web3j.abi.datatypes.Function;
 import org.thinkium.blockchain.web3j.abi.datatypes.Type;
 
@@ -29,7 +28,7 @@ public class RemoteFunctionCall<T> extends RemoteCall<T> {
      * @return the function call, encoded.
      */
     public String encodeFunctionCall() {
-        return FunctionEncoder.encode(function);
+        return FunctionCodec.of(function).encode(function);
     }
     
     /**
@@ -40,6 +39,6 @@ public class RemoteFunctionCall<T> extends RemoteCall<T> {
      * @return list of abi types
      */
     public List<Type> decodeFunctionResponse(String response) {
-        return FunctionReturnDecoder.decode(response, function.getOutputParameters());
+        return FunctionCodec.of(function).decode(response);
     }
 }
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class Request<S, T extends Response> {
+    private static AtomicLong nextId = new AtomicLong(0);
+    
     private String method;
     private S params;
     
@@ -14,10 +17,13 @@ public class Request<S, T extends Response> {
     
     private Class<T> responseType;
     
+    private long id;
+    
     public Request() {
     }
     
     public Request(String method, S params, Web3jService web3jService, Class<T> type) {
+        this.id = nextId.getAndIncrement();
         this.method = method;
         this.params = params;
         this.web3jService = web3jService;
@@ -40,6 +46,14 @@ public class Request<S, T extends Response> {
         this.params = params;
     }
     
+    public long getId() {
+        return id;
+    }
+    
+    public void setId(long id) {
+        this.id = id;
+    }
+    
     @JsonIgnore
     public Class<T> getResponseType() {
         return responseType;
@@ -53,4 +67,8 @@ public class Request<S, T extends Response> {
         return web3jService.sendAsync(this, responseType);
     }
     
+    public <E> StreamingResponse<E> sendStreaming(Class<E> elementType, String... resultPath) throws IOException {
+        return web3jService.sendStreaming(this, elementType, resultPath);
+    }
+    
 }
@@ -0,0 +1,406 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.utils.Async;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Guards a {@link Web3jService}, usually an {@link HttpService} or a {@link LoadBalancedService},
+ * against slow and failing nodes.</p>
+ *
+ * <ul>
+ *   <li>The latency of every method is kept in a {@link LatencyHistogram}.</li>
+ *   <li>Requests of the {@link #HEDGED_METHODS} that got no reply within the p95 latency of their
+ *       method are hedged: sent once more, and the first reply wins. When they fail because the
+ *       node did not answer they are retried, up to {@link #MAX_ATTEMPTS} attempts in all.</li>
+ *   <li>Hedges and retries are paid from a retry budget, which every request adds a fraction of an
+ *       attempt to, so they stay a small share of the load and cannot snowball when the node is
+ *       overloaded.</li>
+ *   <li>After a number of failures in a row the circuit breaker opens, and requests fail at once
+ *       with a {@link ClientConnectionException} instead of waiting for the node. Once the open
+ *       duration has passed one request is let through, and closes the circuit if it succeeds.</li>
+ * </ul>
+ *
+ * <p>{@code SendTx} and all methods but the hedged ones are sent exactly once.</p>
+ */
+public class ResilientService implements Web3jService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ResilientService.class);
+    
+    /** Idempotent reads, which may be sent more than once. */
+    public static final Set<String> HEDGED_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "GetAccount",
+            "GetTransactionByHash",
+            "CallTransaction",
+            "GetBlockHeader")));
+    
+    /** Attempts of a hedged method, hedges and retries included. */
+    public static final int MAX_ATTEMPTS = 3;
+    
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final long DEFAULT_OPEN_DURATION = 5000;
+    public static final double DEFAULT_RETRY_RATIO = 0.1;
+    
+    /** Samples of a method before its requests are hedged. */
+    static final int MIN_HEDGE_SAMPLES = 32;
+    
+    /** Histogram key of batch requests. */
+    static final String BATCH = "batch";
+    
+    private final Web3jService web3jService;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsScheduledExecutorService;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker circuitBreaker;
+    
+    /**
+     * Default thresholds, with a hedging thread of its own.
+     *
+     * @param web3jService service to guard
+     */
+    public ResilientService(Web3jService web3jService) {
+        this(web3jService, newScheduledExecutorService(), DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION,
+                DEFAULT_RETRY_RATIO, true);
+    }
+    
+    /**
+     * @param web3jService             service to guard
+     * @param scheduledExecutorService sends the hedges, it is not shut down on {@link #close()}
+     * @param failureThreshold         failures in a row that open the circuit
+     * @param openDuration             milliseconds the circuit stays open
+     * @param retryRatio               hedges and retries allowed per request, such as 0.1
+     */
+    public ResilientService(
+            Web3jService web3jService,
+            ScheduledExecutorService scheduledExecutorService,
+            int failureThreshold,
+            long openDuration,
+            double retryRatio) {
+        this(web3jService, scheduledExecutorService, failureThreshold, openDuration, retryRatio, false);
+    }
+    
+    private ResilientService(
+            Web3jService web3jService,
+            ScheduledExecutorService scheduledExecutorService,
+            int failureThreshold,
+            long openDuration,
+            double retryRatio,
+            boolean ownsScheduledExecutorService) {
+        this.web3jService = web3jService;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsScheduledExecutorService = ownsScheduledExecutorService;
+        this.retryBudget = new RetryBudget(retryRatio);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, TimeUnit.MILLISECONDS.toNanos(openDuration));
+    }
+    
+    private static ScheduledExecutorService newScheduledExecutorService() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resilient-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        if (HEDGED_METHODS.contains(request.getMethod())) {
+            return Async.join(sendAsync(request, responseType));
+        }
+        return execute(request.getMethod(), () -> web3jService.send(request, responseType));
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String method = request.getMethod();
+        if (HEDGED_METHODS.contains(method)) {
+            return new Attempts<T>(method, () -> web3jService.sendAsync(request, responseType)).start();
+        }
+        return executeAsync(method, () -> web3jService.sendAsync(request, responseType));
+    }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        // only the time to the start of the response is measured, the elements are read later
+        return execute(request.getMethod(), () -> web3jService.sendStreaming(request, elementType, resultPath));
+    }
+    
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return execute(BATCH, () -> web3jService.sendBatch(batchRequest));
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return executeAsync(BATCH, () -> web3jService.sendBatchAsync(batchRequest));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (ownsScheduledExecutorService) {
+            scheduledExecutorService.shutdownNow();
+        }
+        web3jService.close();
+    }
+    
+    /**
+     * @param method a JSON-RPC method, such as {@code GetAccount}
+     *
+     * @return latencies of its successful requests, empty if none was sent yet
+     */
+    public LatencyHistogram getLatencyHistogram(String method) {
+        return histogram(method);
+    }
+    
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+    
+    private LatencyHistogram histogram(String method) {
+        return histograms.computeIfAbsent(method, key -> new LatencyHistogram());
+    }
+    
+    private <T> T execute(String method, Call<T> call) throws IOException {
+        retryBudget.deposit();
+        circuitBreaker.acquire();
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            histogram(method).record(System.nanoTime() - start);
+            circuitBreaker.succeeded();
+            return result;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.completed(e);
+            throw e;
+        }
+    }
+    
+    private <T> CompletableFuture<T> executeAsync(String method, AsyncCall<T> call) {
+        retryBudget.deposit();
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            circuitBreaker.acquire();
+            future = call.call();
+        } catch (RuntimeException e) {
+            circuitBreaker.completed(e);
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                histogram(method).record(System.nanoTime() - start);
+                circuitBreaker.succeeded();
+            } else {
+                circuitBreaker.completed(throwable);
+            }
+        });
+    }
+    
+    private interface Call<T> {
+        T call() throws IOException;
+    }
+    
+    private interface AsyncCall<T> {
+        CompletableFuture<T> call();
+    }
+    
+    /**
+     * The attempts to answer one request of a hedged method. The first reply completes the result;
+     * it fails once all attempts failed.
+     */
+    private final class Attempts<T> {
+        private final String method;
+        private final AsyncCall<T> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int attempts;
+        private int pending;
+        
+        Attempts(String method, AsyncCall<T> call) {
+            this.method = method;
+            this.call = call;
+        }
+        
+        CompletableFuture<T> start() {
+            retryBudget.deposit();
+            synchronized (this) {
+                attempt();
+            }
+            LatencyHistogram histogram = histogram(method);
+            if (!result.isDone() && histogram.getCount() >= MIN_HEDGE_SAMPLES) {
+                scheduledExecutorService.schedule(this::hedge, histogram.getPercentile(0.95), TimeUnit.NANOSECONDS);
+            }
+            return result;
+        }
+        
+        private synchronized void hedge() {
+            if (!result.isDone() && attempts < MAX_ATTEMPTS && retryBudget.withdraw()) {
+                attempt();
+            }
+        }
+        
+        /** Called holding the lock. */
+        private void attempt() {
+            attempts++;
+            pending++;
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                circuitBreaker.acquire();
+                future = call.call();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    histogram(method).record(System.nanoTime() - start);
+                    circuitBreaker.succeeded();
+                    result.complete(value);
+                } else {
+                    circuitBreaker.completed(throwable);
+                    failed(throwable);
+                }
+            });
+        }
+        
+        private synchronized void failed(Throwable throwable) {
+            pending--;
+            if (result.isDone()) {
+                return;
+            }
+            if (LoadBalancedService.isConnectionFailure(throwable) && !circuitBreaker.isOpen()
+                    && attempts < MAX_ATTEMPTS && retryBudget.withdraw()) {
+                attempt();
+            } else if (pending == 0) {
+                result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        }
+    }
+    
+    /**
+     * Attempts that may be spent on hedges and retries: every request adds {@code ratio} of an
+     * attempt, up to a maximum, and a hedge or retry takes a whole one. It starts with a few
+     * attempts so that the first failures can be retried.
+     */
+    private static final class RetryBudget {
+        /** Attempts are counted in thousandths. */
+        private static final long UNIT = 1000;
+        private static final long INITIAL = 10 * UNIT;
+        private static final long MAXIMUM = 100 * UNIT;
+        
+        private final long deposit;
+        private final AtomicLong balance = new AtomicLong(INITIAL);
+        
+        RetryBudget(double ratio) {
+            this.deposit = (long) (ratio * UNIT);
+        }
+        
+        void deposit() {
+            if (balance.get() < MAXIMUM) {
+                balance.addAndGet(deposit);
+            }
+        }
+        
+        boolean withdraw() {
+            while (true) {
+                long current = balance.get();
+                if (current < UNIT) {
+                    return false;
+                }
+                if (balance.compareAndSet(current, current - UNIT)) {
+                    return true;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Opens after consecutive connection failures. While open, one request is let through per
+     * open duration; it closes the circuit if the node answers it.
+     */
+    private static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openDuration;
+        private int failures;
+        private boolean open;
+        /** {@link System#nanoTime()} at which the next request may go through, when open. */
+        private long nextTrial;
+        
+        CircuitBreaker(int failureThreshold, long openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openDuration = openDuration;
+        }
+        
+        synchronized boolean isOpen() {
+            return open;
+        }
+        
+        /** @throws CircuitOpenException if the circuit is open */
+        synchronized void acquire() {
+            if (open) {
+                long now = System.nanoTime();
+                if (now - nextTrial < 0) {
+                    throw new CircuitOpenException(failures);
+                }
+                nextTrial = now + openDuration;
+            }
+        }
+        
+        void completed(Throwable throwable) {
+            Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (cause instanceof CircuitOpenException) {
+                return;
+            }
+            if (LoadBalancedService.isConnectionFailure(cause)) {
+                failed();
+            } else {
+                // the node answered, even if its answer could not be read
+                succeeded();
+            }
+        }
+        
+        synchronized void succeeded() {
+            failures = 0;
+            if (open) {
+                open = false;
+                log.info("Closing the circuit breaker");
+            }
+        }
+        
+        private synchronized void failed() {
+            failures++;
+            if (!open && failures >= failureThreshold) {
+                open = true;
+                log.warn("Opening the circuit breaker after {} failures", failures);
+            }
+            if (open) {
+                nextTrial = System.nanoTime() + openDuration;
+            }
+        }
+    }
+    
+    /** Failure of a request that was not sent, because the circuit is open. */
+    private static final class CircuitOpenException extends ClientConnectionException {
+        CircuitOpenException(int failures) {
+            super("Circuit breaker is open after " + failures + " failures in a row");
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public abstract class Response<T> {
+    private long id;
     private T result;
     private String rawResponse;
     
@@ -17,6 +18,14 @@ public abstract class Response<T> {
     public Response() {
     }
     
+    public long getId() {
+        return id;
+    }
+    
+    public void setId(long id) {
+        this.id = id;
+    }
+    
     public T getResult() {
         return result;
     }
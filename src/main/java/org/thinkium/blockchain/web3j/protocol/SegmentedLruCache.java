@@ -0,0 +1,172 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>A cache bounded by the total weight of its values, and optionally by their number, evicting
+ * with segmented LRU.</p>
+ *
+ * <p>New entries go to a probation segment, and move to a protected segment of up to
+ * {@link #PROTECTED_SHARE} of the weight and of the number of entries when read again. Eviction takes the least recently used
+ * entry of probation first, so a scan over many entries read once evicts only other entries read
+ * once, not the hot entries in the protected segment.</p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+class SegmentedLruCache<K, V> {
+    
+    static final double PROTECTED_SHARE = 0.8;
+    
+    private final long maximumWeight;
+    private final long protectedMaximumWeight;
+    private final int maximumSize;
+    private final int protectedMaximumSize;
+    private final ToLongFunction<V> weigher;
+    private final BiConsumer<K, V> evictionListener;
+    
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long protectedWeight;
+    
+    /**
+     * @param maximumWeight    total weight of the values above which entries are evicted
+     * @param weigher          weight of a value, such as 1 to bound the number of entries
+     * @param evictionListener called with every evicted entry, outside of the cache lock, or null.
+     *                         Entries heavier than the maximum weight are not cached, nor evicted
+     */
+    SegmentedLruCache(long maximumWeight, ToLongFunction<V> weigher, BiConsumer<K, V> evictionListener) {
+        this(maximumWeight, Integer.MAX_VALUE, weigher, evictionListener);
+    }
+    
+    /**
+     * @param maximumWeight    total weight of the values above which entries are evicted
+     * @param maximumSize      number of entries above which entries are evicted
+     * @param weigher          weight of a value
+     * @param evictionListener called with every evicted entry, outside of the cache lock, or null.
+     *                         Entries heavier than the maximum weight are not cached, nor evicted
+     */
+    SegmentedLruCache(
+            long maximumWeight, int maximumSize, ToLongFunction<V> weigher, BiConsumer<K, V> evictionListener) {
+        this.maximumWeight = maximumWeight;
+        this.protectedMaximumWeight = (long) (maximumWeight * PROTECTED_SHARE);
+        this.maximumSize = maximumSize;
+        this.protectedMaximumSize = (int) (maximumSize * PROTECTED_SHARE);
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+    
+    synchronized V get(K key) {
+        Entry<V> entry = protectedSegment.get(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        entry = probation.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        protectedSegment.put(key, entry);
+        protectedWeight += entry.weight;
+        demote();
+        return entry.value;
+    }
+    
+    synchronized V remove(K key) {
+        Entry<V> entry = probation.remove(key);
+        if (entry == null) {
+            entry = protectedSegment.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            protectedWeight -= entry.weight;
+        }
+        weight -= entry.weight;
+        return entry.value;
+    }
+    
+    void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value));
+        if (entry.weight > maximumWeight) {
+            // it would evict everything else and then itself
+            return;
+        }
+        List<Map.Entry<K, Entry<V>>> evicted = null;
+        synchronized (this) {
+            Entry<V> replaced = protectedSegment.get(key);
+            if (replaced != null) {
+                protectedSegment.put(key, entry);
+                protectedWeight += entry.weight - replaced.weight;
+            } else {
+                replaced = probation.put(key, entry);
+            }
+            weight += entry.weight - (replaced == null ? 0 : replaced.weight);
+            demote();
+            while (weight > maximumWeight || probation.size() + protectedSegment.size() > maximumSize) {
+                LinkedHashMap<K, Entry<V>> segment = probation.isEmpty() ? protectedSegment : probation;
+                Iterator<Map.Entry<K, Entry<V>>> eldest = segment.entrySet().iterator();
+                Map.Entry<K, Entry<V>> victim = eldest.next();
+                eldest.remove();
+                weight -= victim.getValue().weight;
+                if (segment == protectedSegment) {
+                    protectedWeight -= victim.getValue().weight;
+                }
+                evicted = add(evicted, victim);
+            }
+        }
+        notify(evicted);
+    }
+    
+    synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+    
+    synchronized long weight() {
+        return weight;
+    }
+    
+    /** Move the least recently used protected entries back to probation, down to the protected share. */
+    private void demote() {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = protectedSegment.entrySet().iterator();
+        while ((protectedWeight > protectedMaximumWeight || protectedSegment.size() > protectedMaximumSize)
+                && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> demoted = eldest.next();
+            eldest.remove();
+            protectedWeight -= demoted.getValue().weight;
+            probation.put(demoted.getKey(), demoted.getValue());
+        }
+    }
+    
+    private void notify(List<Map.Entry<K, Entry<V>>> evicted) {
+        if (evicted != null && evictionListener != null) {
+            for (Map.Entry<K, Entry<V>> entry : evicted) {
+                evictionListener.accept(entry.getKey(), entry.getValue().value);
+            }
+        }
+    }
+    
+    private static <K, V> List<Map.Entry<K, Entry<V>>> add(
+            List<Map.Entry<K, Entry<V>>> list, Map.Entry<K, Entry<V>> entry) {
+        if (list == null) {
+            list = new ArrayList<>();
+        }
+        list.add(entry);
+        return list;
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
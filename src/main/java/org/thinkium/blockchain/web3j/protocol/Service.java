@@ -1,10 +1,17 @@
 package org.thinkium.blockchain.web3j.protocol;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.thinkium.blockchain.web3j.exceptions.MessageDecodingException;
 import org.thinkium.blockchain.web3j.utils.Async;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /** Base service implementation. */
@@ -18,11 +25,19 @@ public abstract class Service implements Web3jService {
     
     protected abstract InputStream performIO(String payload) throws IOException;
     
+    /**
+     * Perform the IO for a payload carrying the given method, or {@code null} for a batch mixing
+     * several methods. Services whose node serves some methods on another endpoint override this.
+     */
+    protected InputStream performIO(String method, String payload) throws IOException {
+        return performIO(payload);
+    }
+    
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
         String payload = objectMapper.writeValueAsString(request);
         
-        try (InputStream result = performIO(payload)) {
+        try (InputStream result = performIO(request.getMethod(), payload)) {
             if (result != null) {
                 return objectMapper.readValue(result, responseType);
             } else {
@@ -36,4 +51,78 @@ public abstract class Service implements Web3jService {
             Request jsonRpc20Request, Class<T> responseType) {
         return Async.run(() -> send(jsonRpc20Request, responseType));
     }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException {
+        String payload = objectMapper.writeValueAsString(request);
+        
+        InputStream result = performIO(request.getMethod(), payload);
+        if (result != null) {
+            // the stream is handed over to the response, which closes it once fully read
+            return StreamingResponse.open(objectMapper, result, elementType, resultPath);
+        } else {
+            return null;
+        }
+    }
+    
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            return new BatchResponse(requests, Collections.emptyList());
+        }
+        String payload = objectMapper.writeValueAsString(requests);
+        
+        try (InputStream result = performIO(commonMethod(requests), payload)) {
+            if (result != null) {
+                return readBatchResponse(requests, objectMapper.readTree(result));
+            } else {
+                return null;
+            }
+        }
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return Async.run(() -> sendBatch(batchRequest));
+    }
+    
+    /** The method shared by every request of a batch, or {@code null} if they differ. */
+    protected static String commonMethod(List<Request<?, ? extends Response<?>>> requests) {
+        String method = requests.get(0).getMethod();
+        for (Request<?, ? extends Response<?>> request : requests) {
+            if (!method.equals(request.getMethod())) {
+                return null;
+            }
+        }
+        return method;
+    }
+    
+    /**
+     * Match each element of a batch reply to its request by id. Elements without an id are
+     * matched by position, as the node answers in request order.
+     */
+    protected BatchResponse readBatchResponse(
+            List<Request<?, ? extends Response<?>>> requests, JsonNode nodes) throws IOException {
+        if (!nodes.isArray()) {
+            throw new MessageDecodingException("Batch response is not a JSON array: " + nodes);
+        }
+        Map<Long, Integer> indexById = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            indexById.put(requests.get(i).getId(), i);
+        }
+        
+        Response<?>[] responses = new Response<?>[requests.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            JsonNode node = nodes.get(i);
+            JsonNode idNode = node.get("id");
+            Integer index = idNode == null || idNode.isNull() ? Integer.valueOf(i) : indexById.get(idNode.asLong());
+            if (index == null || index >= requests.size()) {
+                throw new MessageDecodingException("Unexpected batch response element: " + node);
+            }
+            responses[index] = objectMapper.treeToValue(node, requests.get(index).getResponseType());
+        }
+        return new BatchResponse(requests, Arrays.asList(responses));
+    }
 }
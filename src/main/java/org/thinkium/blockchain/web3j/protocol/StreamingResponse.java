@@ -0,0 +1,181 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A JSON-RPC response whose result is a JSON array, decoded one element at a time straight from
+ * the response body. Only the element being decoded is held in memory.
+ *
+ * <p>The underlying connection stays open until the iterator is exhausted or the response is
+ * closed, so use it in a try-with-resources block.
+ *
+ * @param <E> the type of the array elements
+ */
+public class StreamingResponse<E> implements Iterator<E>, Closeable {
+    
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private final Class<E> elementType;
+    private final Response.Error error;
+    
+    private boolean positioned;
+    private boolean finished;
+    
+    private StreamingResponse(
+            JsonParser parser, ObjectMapper objectMapper, Class<E> elementType, Response.Error error) {
+        this.parser = parser;
+        this.objectMapper = objectMapper;
+        this.elementType = elementType;
+        this.error = error;
+        this.finished = error != null || parser.getCurrentToken() != JsonToken.START_ARRAY;
+        if (finished) {
+            closeQuietly();
+        }
+    }
+    
+    /**
+     * Position a parser on the array to stream.
+     *
+     * @param objectMapper mapper used to decode each element
+     * @param inputStream  the JSON-RPC response body
+     * @param elementType  class of the array elements
+     * @param resultPath   field names leading from {@code result} to the array, empty when the
+     *                     result is the array itself
+     * @param <E>          the type of the array elements
+     *
+     * @return a response iterating the array, or an empty one if the node replied with an error
+     * or without the array
+     *
+     * @throws IOException if the body cannot be read
+     */
+    public static <E> StreamingResponse<E> open(
+            ObjectMapper objectMapper, InputStream inputStream, Class<E> elementType, String... resultPath)
+            throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(inputStream);
+        try {
+            Response.Error error = null;
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("result".equals(field)) {
+                        if (seek(parser, resultPath)) {
+                            break;
+                        }
+                    } else if ("error".equals(field) && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                        error = objectMapper.readValue(parser, Response.Error.class);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return new StreamingResponse<>(parser, objectMapper, elementType, error);
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+    }
+    
+    /** Walk down the result value along {@code path}, leaving the parser on the array. */
+    private static boolean seek(JsonParser parser, String[] path) throws IOException {
+        for (String name : path) {
+            if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean match = name.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (match) {
+                    found = true;
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return parser.getCurrentToken() == JsonToken.START_ARRAY;
+    }
+    
+    public Response.Error getError() {
+        return error;
+    }
+    
+    public boolean hasError() {
+        return error != null && error.getCode() != 0;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (!finished && !positioned) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    finished = true;
+                    close();
+                } else {
+                    positioned = true;
+                }
+            } catch (IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException(e);
+            }
+        }
+        return !finished;
+    }
+    
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        positioned = false;
+        try {
+            return objectMapper.readValue(parser, elementType);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Expose the remaining elements as a sequential stream; closing the stream closes this
+     * response.
+     *
+     * @return stream of the remaining elements
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::closeQuietly);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        parser.close();
+    }
+    
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            // nothing more can be read either way
+        }
+    }
+}
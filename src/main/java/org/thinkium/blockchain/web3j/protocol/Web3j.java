@@ -2,6 +2,8 @@ package org.thinkium.blockchain.web3j.protocol;
 
 import org.thinkium.blockchain.web3j.protocol.core.JsonRpcWeb3;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * @author HarryPotter
  * @date 15:00 2020/11/16
@@ -20,6 +22,20 @@ public interface Web3j extends IThk {
         return new JsonRpcWeb3(web3jService);
     }
     
+    /**
+     * Create a new batch, requests added to it are sent to the node in a single round trip.
+     *
+     * @return an empty batch request bound to this instance's service
+     */
+    BatchRequest newBatch();
+    
+    /**
+     * The scheduler owned by this instance, shut down together with it.
+     *
+     * @return scheduled executor service for periodic work such as receipt polling
+     */
+    ScheduledExecutorService getScheduledExecutorService();
+    
     /** Shutdowns a Web3j instance and closes opened resources. */
     void shutdown();
 }
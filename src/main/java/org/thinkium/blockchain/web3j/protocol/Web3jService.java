@@ -31,6 +31,44 @@ public interface Web3jService {
      */
     <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType);
     
+    /**
+     * Perform a synchronous JSON-RPC request whose result is (or contains) a JSON array, and
+     * decode the array lazily while it is read from the node.
+     *
+     * @param request     request to perform
+     * @param elementType class of the array elements
+     * @param resultPath  field names leading from the result to the array, empty when the result
+     *                    is the array itself
+     * @param <E>         type of the array elements
+     *
+     * @return streaming response, to be closed by the caller
+     *
+     * @throws IOException thrown if failed to perform a request
+     */
+    <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath)
+            throws IOException;
+    
+    /**
+     * Perform a synchronous JSON-RPC batch request, all requests are sent in a single payload.
+     *
+     * @param batchRequest batch request to perform
+     *
+     * @return batch response, with one entry per request in the order the requests were added
+     *
+     * @throws IOException thrown if failed to perform a batch request
+     */
+    BatchResponse sendBatch(BatchRequest batchRequest) throws IOException;
+    
+    /**
+     * Performs an asynchronous JSON-RPC batch request.
+     *
+     * @param batchRequest batch request to perform
+     *
+     * @return CompletableFuture that will be completed when a result is returned or if a request
+     * has failed
+     */
+    CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest);
+    
     /**
      * Closes resources used by the service.
      *
@@ -1,5 +1,6 @@
 package org.thinkium.blockchain.web3j.protocol.core;
 
+import org.thinkium.blockchain.web3j.protocol.BatchRequest;
 import org.thinkium.blockchain.web3j.protocol.Request;
 import org.thinkium.blockchain.web3j.protocol.Web3j;
 import org.thinkium.blockchain.web3j.protocol.Web3jService;
@@ -9,6 +10,7 @@ import org.thinkium.blockchain.web3j.utils.Async;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
@@ -56,23 +58,39 @@ public class JsonRpcWeb3 implements Web3j {
     }
     
     @Override
-    public Request<?, ThkGetAccount> getChainStats(String chainId) {
-        return null;
+    public Request<?, ThkGetChainStats> getChainStats(String chainId) {
+        return new Request<>(
+                "GetStats",
+                new ThkGetChainStats.Params(chainId),
+                web3jService,
+                ThkGetChainStats.class);
     }
     
     @Override
-    public Request<?, ThkGetAccount> getTransactions(String chainId, String address, String startHeight, String endHeight) {
-        return null;
+    public Request<?, ThkGetTransactions> getTransactions(String chainId, String address, String startHeight, String endHeight) {
+        return new Request<>(
+                "GetTransactions",
+                new ThkGetTransactions.Params(chainId, address, startHeight, endHeight),
+                web3jService,
+                ThkGetTransactions.class);
     }
     
     @Override
-    public Request<?, ThkGetAccount> getBlockHeader(String chainId, String height) {
-        return null;
+    public Request<?, ThkGetBlockHeader> getBlockHeader(String chainId, String height) {
+        return new Request<>(
+                "GetBlockHeader",
+                new ThkGetBlockHeader.Params(chainId, height),
+                web3jService,
+                ThkGetBlockHeader.class);
     }
     
     @Override
-    public Request<?, ThkGetAccount> getBlockTxs(String chainId, String height, String page, String size) {
-        return null;
+    public Request<?, ThkGetBlockTxs> getBlockTxs(String chainId, String height, String page, String size) {
+        return new Request<>(
+                "GetBlockTxs",
+                new ThkGetBlockTxs.Params(chainId, height, page, size),
+                web3jService,
+                ThkGetBlockTxs.class);
     }
     
     @Override
@@ -85,13 +103,21 @@ public class JsonRpcWeb3 implements Web3j {
     }
     
     @Override
-    public Request<?, ThkGetAccount> getChainInfo() {
-        return null;
+    public Request<?, ThkGetChainInfo> getChainInfo() {
+        return new Request<>(
+                "GetChainInfo",
+                new ThkGetChainInfo.Params(Collections.emptyList()),
+                web3jService,
+                ThkGetChainInfo.class);
     }
     
     @Override
-    public Request<?, ThkGetAccount> getCommittee(String chainId, String epoch) {
-        return null;
+    public Request<?, ThkGetCommittee> getCommittee(String chainId, String epoch) {
+        return new Request<>(
+                "GetCommittee",
+                new ThkGetCommittee.Params(chainId, epoch),
+                web3jService,
+                ThkGetCommittee.class);
     }
     
     @Override
@@ -104,13 +130,39 @@ public class JsonRpcWeb3 implements Web3j {
     }
     
     @Override
-    public Request<?, ThkGetAccount> makeVccProof(CashCheque cashCheque, boolean cashOrCancel) {
-        return null;
+    public Request<?, ThkMakeVccProof> makeVccProof(CashCheque cashCheque, boolean cashOrCancel) {
+        return new Request<>(
+                cashOrCancel ? "RpcMakeVccProof" : "MakeCCCExistenceProof",
+                new ThkMakeVccProof.Params(
+                        String.valueOf(cashCheque.getChainId()),
+                        cashCheque.getFromAddress(),
+                        cashCheque.getToAddress(),
+                        String.valueOf(cashCheque.getFromChainId()),
+                        String.valueOf(cashCheque.getToChainId()),
+                        cashCheque.getAmount().toString(),
+                        String.valueOf(cashCheque.getNonce()),
+                        String.valueOf(cashCheque.getExpireHeight())),
+                web3jService,
+                ThkMakeVccProof.class);
+    }
+    
+    @Override
+    public Request<?, ThkPing> ping(String address) {
+        return new Request<>(
+                "Ping",
+                new ThkPing.Params(address),
+                web3jService,
+                ThkPing.class);
+    }
+    
+    @Override
+    public BatchRequest newBatch() {
+        return new BatchRequest(web3jService);
     }
     
     @Override
-    public Request<?, ThkGetAccount> ping(String address) {
-        return null;
+    public ScheduledExecutorService getScheduledExecutorService() {
+        return scheduledExecutorService;
     }
     
     @Override
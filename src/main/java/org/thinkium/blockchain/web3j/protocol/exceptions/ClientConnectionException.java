@@ -2,7 +2,31 @@ package org.thinkium.blockchain.web3j.protocol.exceptions;
 
 /** Client connection exception. */
 public class ClientConnectionException extends RuntimeException {
+    
+    private final int statusCode;
+    
     public ClientConnectionException(String message) {
+        this(message, -1);
+    }
+    
+    public ClientConnectionException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+    
+    /**
+     * @param message    the detail message
+     * @param statusCode HTTP status of the response, or -1 if there was none
+     */
+    public ClientConnectionException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
+    }
+    
+    /**
+     * @return HTTP status of the response that was not accepted, or -1 if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
     }
 }
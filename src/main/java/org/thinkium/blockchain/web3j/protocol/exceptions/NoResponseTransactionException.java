@@ -13,6 +13,12 @@ public class NoResponseTransactionException extends RuntimeException {
         this.localHash = rawTransaction.getHash();
     }
     
+    public NoResponseTransactionException(String message, Transaction rawTransaction, Throwable cause) {
+        super(message + ", localHash:" + rawTransaction.getHash(), cause);
+        this.rawTransaction = rawTransaction;
+        this.localHash = rawTransaction.getHash();
+    }
+    
     public String getLocalHash() {
         return localHash;
     }
@@ -0,0 +1,10 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+/** Parameters of a request that is answered by the nodes of one chain. */
+public interface ChainParams {
+    
+    /**
+     * @return id of the chain, in decimal
+     */
+    String getChainId();
+}
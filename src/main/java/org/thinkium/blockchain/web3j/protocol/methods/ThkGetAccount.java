@@ -10,7 +10,7 @@ import java.math.BigInteger;
  * @email harry@potter.com
  */
 public class ThkGetAccount extends Response<ThkGetAccount.Account> {
-    public static class Params {
+    public static class Params implements ChainParams {
         String chainId;
         String address;
         
@@ -0,0 +1,134 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.math.BigInteger;
+
+/** Response of {@code GetBlockHeader}. */
+public class ThkGetBlockHeader extends Response<ThkGetBlockHeader.BlockHeader> {
+    public static class Params implements ChainParams {
+        String chainId;
+        String height;
+        
+        public Params(String chainId, String height) {
+            this.chainId = chainId;
+            this.height = height;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getHeight() {
+            return height;
+        }
+        
+        public void setHeight(String height) {
+            this.height = height;
+        }
+    }
+    
+    @Override
+    public void setResult(BlockHeader result) {
+        super.setResult(result);
+    }
+    
+    public BlockHeader getBlockHeader() {
+        return getResult();
+    }
+    
+    public static class BlockHeader {
+        private String hash;
+        @JsonProperty("previoushash")
+        private String previousHash;
+        @JsonProperty("chainid")
+        private String chainId;
+        private BigInteger height;
+        @JsonProperty("mergeroot")
+        private String mergeRoot;
+        @JsonProperty("deltaroot")
+        private String deltaRoot;
+        @JsonProperty("stateroot")
+        private String stateRoot;
+        @JsonProperty("txcount")
+        private long txCount;
+        private long timestamp;
+        
+        public String getHash() {
+            return hash;
+        }
+        
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+        
+        public String getPreviousHash() {
+            return previousHash;
+        }
+        
+        public void setPreviousHash(String previousHash) {
+            this.previousHash = previousHash;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public BigInteger getHeight() {
+            return height;
+        }
+        
+        public void setHeight(BigInteger height) {
+            this.height = height;
+        }
+        
+        public String getMergeRoot() {
+            return mergeRoot;
+        }
+        
+        public void setMergeRoot(String mergeRoot) {
+            this.mergeRoot = mergeRoot;
+        }
+        
+        public String getDeltaRoot() {
+            return deltaRoot;
+        }
+        
+        public void setDeltaRoot(String deltaRoot) {
+            this.deltaRoot = deltaRoot;
+        }
+        
+        public String getStateRoot() {
+            return stateRoot;
+        }
+        
+        public void setStateRoot(String stateRoot) {
+            this.stateRoot = stateRoot;
+        }
+        
+        public long getTxCount() {
+            return txCount;
+        }
+        
+        public void setTxCount(long txCount) {
+            this.txCount = txCount;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
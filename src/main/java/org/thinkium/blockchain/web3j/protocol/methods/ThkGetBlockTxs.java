@@ -0,0 +1,155 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/** Response of {@code GetBlockTxs}, one page of the transactions of a block. */
+public class ThkGetBlockTxs extends Response<ThkGetBlockTxs.BlockTxs> {
+    public static class Params implements ChainParams {
+        String chainId;
+        String height;
+        String page;
+        String size;
+        
+        public Params(String chainId, String height, String page, String size) {
+            this.chainId = chainId;
+            this.height = height;
+            this.page = page;
+            this.size = size;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getHeight() {
+            return height;
+        }
+        
+        public void setHeight(String height) {
+            this.height = height;
+        }
+        
+        public String getPage() {
+            return page;
+        }
+        
+        public void setPage(String page) {
+            this.page = page;
+        }
+        
+        public String getSize() {
+            return size;
+        }
+        
+        public void setSize(String size) {
+            this.size = size;
+        }
+    }
+    
+    @Override
+    public void setResult(BlockTxs result) {
+        super.setResult(result);
+    }
+    
+    public BlockTxs getBlockTxs() {
+        return getResult();
+    }
+    
+    public static class BlockTxs {
+        private JsonNode elections;
+        @JsonProperty("accountchanges")
+        private List<AccountChange> accountChanges;
+        
+        public JsonNode getElections() {
+            return elections;
+        }
+        
+        public void setElections(JsonNode elections) {
+            this.elections = elections;
+        }
+        
+        public List<AccountChange> getAccountChanges() {
+            return accountChanges;
+        }
+        
+        public void setAccountChanges(List<AccountChange> accountChanges) {
+            this.accountChanges = accountChanges;
+        }
+    }
+    
+    public static class AccountChange {
+        @JsonProperty("chainid")
+        private String chainId;
+        private BigInteger height;
+        private String from;
+        private String to;
+        private BigInteger nonce;
+        private BigInteger value;
+        private long timestamp;
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public BigInteger getHeight() {
+            return height;
+        }
+        
+        public void setHeight(BigInteger height) {
+            this.height = height;
+        }
+        
+        public String getFrom() {
+            return from;
+        }
+        
+        public void setFrom(String from) {
+            this.from = from;
+        }
+        
+        public String getTo() {
+            return to;
+        }
+        
+        public void setTo(String to) {
+            this.to = to;
+        }
+        
+        public BigInteger getNonce() {
+            return nonce;
+        }
+        
+        public void setNonce(BigInteger nonce) {
+            this.nonce = nonce;
+        }
+        
+        public BigInteger getValue() {
+            return value;
+        }
+        
+        public void setValue(BigInteger value) {
+            this.value = value;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.util.List;
+
+/** Response of {@code GetChainInfo}, the chain structure. */
+public class ThkGetChainInfo extends Response<List<ThkGetChainInfo.ChainInfo>> {
+    public static class Params {
+        List<Integer> chainIds;
+        
+        public Params(List<Integer> chainIds) {
+            this.chainIds = chainIds;
+        }
+        
+        public List<Integer> getChainIds() {
+            return chainIds;
+        }
+        
+        public void setChainIds(List<Integer> chainIds) {
+            this.chainIds = chainIds;
+        }
+    }
+    
+    @Override
+    public void setResult(List<ChainInfo> result) {
+        super.setResult(result);
+    }
+    
+    public List<ChainInfo> getChainInfos() {
+        return getResult();
+    }
+    
+    public static class ChainInfo {
+        private int chainId;
+        @JsonProperty("datanodes")
+        private List<DataNode> dataNodes;
+        private int mode;
+        private int parent;
+        
+        public int getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(int chainId) {
+            this.chainId = chainId;
+        }
+        
+        public List<DataNode> getDataNodes() {
+            return dataNodes;
+        }
+        
+        public void setDataNodes(List<DataNode> dataNodes) {
+            this.dataNodes = dataNodes;
+        }
+        
+        public int getMode() {
+            return mode;
+        }
+        
+        public void setMode(int mode) {
+            this.mode = mode;
+        }
+        
+        public int getParent() {
+            return parent;
+        }
+        
+        public void setParent(int parent) {
+            this.parent = parent;
+        }
+    }
+    
+    public static class DataNode {
+        private String dataNodeId;
+        private String dataNodeIp;
+        private int dataNodePort;
+        
+        public String getDataNodeId() {
+            return dataNodeId;
+        }
+        
+        public void setDataNodeId(String dataNodeId) {
+            this.dataNodeId = dataNodeId;
+        }
+        
+        public String getDataNodeIp() {
+            return dataNodeIp;
+        }
+        
+        public void setDataNodeIp(String dataNodeIp) {
+            this.dataNodeIp = dataNodeIp;
+        }
+        
+        public int getDataNodePort() {
+            return dataNodePort;
+        }
+        
+        public void setDataNodePort(int dataNodePort) {
+            this.dataNodePort = dataNodePort;
+        }
+    }
+}
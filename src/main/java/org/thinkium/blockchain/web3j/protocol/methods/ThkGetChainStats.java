@@ -0,0 +1,135 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/** Response of {@code GetStats}, the statistics of one chain. */
+public class ThkGetChainStats extends Response<ThkGetChainStats.ChainStats> {
+    public static class Params implements ChainParams {
+        String chainId;
+        
+        public Params(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+    }
+    
+    @Override
+    public void setResult(ChainStats result) {
+        super.setResult(result);
+    }
+    
+    public ChainStats getChainStats() {
+        return getResult();
+    }
+    
+    public static class ChainStats {
+        @JsonProperty("currentheight")
+        private BigInteger currentHeight;
+        @JsonProperty("txcount")
+        private long txCount;
+        private long tps;
+        private long tpsLastEpoch;
+        private long lives;
+        @JsonProperty("accountcount")
+        private long accountCount;
+        @JsonProperty("epochlength")
+        private long epochLength;
+        @JsonProperty("epochduration")
+        private long epochDuration;
+        @JsonProperty("lastepochduration")
+        private long lastEpochDuration;
+        @JsonProperty("currentcomm")
+        private List<String> currentComm;
+        
+        public BigInteger getCurrentHeight() {
+            return currentHeight;
+        }
+        
+        public void setCurrentHeight(BigInteger currentHeight) {
+            this.currentHeight = currentHeight;
+        }
+        
+        public long getTxCount() {
+            return txCount;
+        }
+        
+        public void setTxCount(long txCount) {
+            this.txCount = txCount;
+        }
+        
+        public long getTps() {
+            return tps;
+        }
+        
+        public void setTps(long tps) {
+            this.tps = tps;
+        }
+        
+        public long getTpsLastEpoch() {
+            return tpsLastEpoch;
+        }
+        
+        public void setTpsLastEpoch(long tpsLastEpoch) {
+            this.tpsLastEpoch = tpsLastEpoch;
+        }
+        
+        public long getLives() {
+            return lives;
+        }
+        
+        public void setLives(long lives) {
+            this.lives = lives;
+        }
+        
+        public long getAccountCount() {
+            return accountCount;
+        }
+        
+        public void setAccountCount(long accountCount) {
+            this.accountCount = accountCount;
+        }
+        
+        public long getEpochLength() {
+            return epochLength;
+        }
+        
+        public void setEpochLength(long epochLength) {
+            this.epochLength = epochLength;
+        }
+        
+        public long getEpochDuration() {
+            return epochDuration;
+        }
+        
+        public void setEpochDuration(long epochDuration) {
+            this.epochDuration = epochDuration;
+        }
+        
+        public long getLastEpochDuration() {
+            return lastEpochDuration;
+        }
+        
+        public void setLastEpochDuration(long lastEpochDuration) {
+            this.lastEpochDuration = lastEpochDuration;
+        }
+        
+        public List<String> getCurrentComm() {
+            return currentComm;
+        }
+        
+        public void setCurrentComm(List<String> currentComm) {
+            this.currentComm = currentComm;
+        }
+    }
+}
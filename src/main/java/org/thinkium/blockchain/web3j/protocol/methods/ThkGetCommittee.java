@@ -0,0 +1,43 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.util.List;
+
+/** Response of {@code GetCommittee}, the committee members of an epoch. */
+public class ThkGetCommittee extends Response<List<String>> {
+    public static class Params implements ChainParams {
+        String chainId;
+        String epoch;
+        
+        public Params(String chainId, String epoch) {
+            this.chainId = chainId;
+            this.epoch = epoch;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getEpoch() {
+            return epoch;
+        }
+        
+        public void setEpoch(String epoch) {
+            this.epoch = epoch;
+        }
+    }
+    
+    @Override
+    public void setResult(List<String> result) {
+        super.setResult(result);
+    }
+    
+    public List<String> getMembers() {
+        return getResult();
+    }
+}
@@ -8,7 +8,7 @@ import org.thinkium.blockchain.web3j.protocol.Response;
  * @email harry@potter.com
  */
 public class ThkGetTransactionByHash extends Response<TransactionReceipt> {
-    public static class Params {
+    public static class Params implements ChainParams {
         String chainId;
         String hash;
         
@@ -0,0 +1,139 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/** Response of {@code GetTransactions}, the transactions of an account within a range of heights. */
+public class ThkGetTransactions extends Response<List<ThkGetTransactions.TransactionInfo>> {
+    public static class Params implements ChainParams {
+        String chainId;
+        String address;
+        String startHeight;
+        String endHeight;
+        
+        public Params(String chainId, String address, String startHeight, String endHeight) {
+            this.chainId = chainId;
+            this.address = address;
+            this.startHeight = startHeight;
+            this.endHeight = endHeight;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getAddress() {
+            return address;
+        }
+        
+        public void setAddress(String address) {
+            this.address = address;
+        }
+        
+        public String getStartHeight() {
+            return startHeight;
+        }
+        
+        public void setStartHeight(String startHeight) {
+            this.startHeight = startHeight;
+        }
+        
+        public String getEndHeight() {
+            return endHeight;
+        }
+        
+        public void setEndHeight(String endHeight) {
+            this.endHeight = endHeight;
+        }
+    }
+    
+    @Override
+    public void setResult(List<TransactionInfo> result) {
+        super.setResult(result);
+    }
+    
+    public List<TransactionInfo> getTransactions() {
+        return getResult();
+    }
+    
+    public static class TransactionInfo {
+        private String chainId;
+        private String from;
+        private String to;
+        private BigInteger nonce;
+        private BigInteger value;
+        private String input;
+        private String hash;
+        private long timestamp;
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getFrom() {
+            return from;
+        }
+        
+        public void setFrom(String from) {
+            this.from = from;
+        }
+        
+        public String getTo() {
+            return to;
+        }
+        
+        public void setTo(String to) {
+            this.to = to;
+        }
+        
+        public BigInteger getNonce() {
+            return nonce;
+        }
+        
+        public void setNonce(BigInteger nonce) {
+            this.nonce = nonce;
+        }
+        
+        public BigInteger getValue() {
+            return value;
+        }
+        
+        public void setValue(BigInteger value) {
+            this.value = value;
+        }
+        
+        public String getInput() {
+            return input;
+        }
+        
+        public void setInput(String input) {
+            this.input = input;
+        }
+        
+        public String getHash() {
+            return hash;
+        }
+        
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+        
+        public long getTimestamp() {
+            return timestamp;
+        }
+        
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+    }
+}
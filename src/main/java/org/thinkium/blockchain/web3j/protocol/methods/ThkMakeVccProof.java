@@ -0,0 +1,124 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+/** Response of {@code RpcMakeVccProof} and {@code MakeCCCExistenceProof}. */
+public class ThkMakeVccProof extends Response<ThkMakeVccProof.Proof> {
+    public static class Params implements ChainParams {
+        String chainId;
+        String from;
+        String to;
+        String fromChainId;
+        String toChainId;
+        String value;
+        String nonce;
+        @JsonProperty("expireheight")
+        String expireHeight;
+        
+        public Params(String chainId, String from, String to, String fromChainId, String toChainId, String value, String nonce, String expireHeight) {
+            this.chainId = chainId;
+            this.from = from;
+            this.to = to;
+            this.fromChainId = fromChainId;
+            this.toChainId = toChainId;
+            this.value = value;
+            this.nonce = nonce;
+            this.expireHeight = expireHeight;
+        }
+        
+        public String getChainId() {
+            return chainId;
+        }
+        
+        public void setChainId(String chainId) {
+            this.chainId = chainId;
+        }
+        
+        public String getFrom() {
+            return from;
+        }
+        
+        public void setFrom(String from) {
+            this.from = from;
+        }
+        
+        public String getTo() {
+            return to;
+        }
+        
+        public void setTo(String to) {
+            this.to = to;
+        }
+        
+        public String getFromChainId() {
+            return fromChainId;
+        }
+        
+        public void setFromChainId(String fromChainId) {
+            this.fromChainId = fromChainId;
+        }
+        
+        public String getToChainId() {
+            return toChainId;
+        }
+        
+        public void setToChainId(String toChainId) {
+            this.toChainId = toChainId;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public void setValue(String value) {
+            this.value = value;
+        }
+        
+        public String getNonce() {
+            return nonce;
+        }
+        
+        public void setNonce(String nonce) {
+            this.nonce = nonce;
+        }
+        
+        public String getExpireHeight() {
+            return expireHeight;
+        }
+        
+        public void setExpireHeight(String expireHeight) {
+            this.expireHeight = expireHeight;
+        }
+    }
+    
+    @Override
+    public void setResult(Proof result) {
+        super.setResult(result);
+    }
+    
+    public Proof getProof() {
+        return getResult();
+    }
+    
+    public static class Proof {
+        private String input;
+        private boolean existence;
+        
+        public String getInput() {
+            return input;
+        }
+        
+        public void setInput(String input) {
+            this.input = input;
+        }
+        
+        public boolean isExistence() {
+            return existence;
+        }
+        
+        public void setExistence(boolean existence) {
+            this.existence = existence;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.thinkium.blockchain.web3j.protocol.Response;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+/** Response of {@code Ping}, the running state of a node. */
+public class ThkPing extends Response<ThkPing.NodeInfo> {
+    public static class Params {
+        String address;
+        
+        public Params(String address) {
+            this.address = address;
+        }
+        
+        public String getAddress() {
+            return address;
+        }
+        
+        public void setAddress(String address) {
+            this.address = address;
+        }
+    }
+    
+    @Override
+    public void setResult(NodeInfo result) {
+        super.setResult(result);
+    }
+    
+    public NodeInfo getNodeInfo() {
+        return getResult();
+    }
+    
+    public static class NodeInfo {
+        private String nodeId;
+        private String version;
+        @JsonProperty("isDataNode")
+        private boolean dataNode;
+        private int dataNodeOf;
+        private long lastMsgTime;
+        private long lastEventTime;
+        private long lastBlockTime;
+        private boolean overflow;
+        private Map<String, BigInteger> lastBlocks;
+        private Map<String, List<String>> opTypes;
+        
+        public String getNodeId() {
+            return nodeId;
+        }
+        
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+        
+        public String getVersion() {
+            return version;
+        }
+        
+        public void setVersion(String version) {
+            this.version = version;
+        }
+        
+        public boolean isDataNode() {
+            return dataNode;
+        }
+        
+        public void setDataNode(boolean dataNode) {
+            this.dataNode = dataNode;
+        }
+        
+        public int getDataNodeOf() {
+            return dataNodeOf;
+        }
+        
+        public void setDataNodeOf(int dataNodeOf) {
+            this.dataNodeOf = dataNodeOf;
+        }
+        
+        public long getLastMsgTime() {
+            return lastMsgTime;
+        }
+        
+        public void setLastMsgTime(long lastMsgTime) {
+            this.lastMsgTime = lastMsgTime;
+        }
+        
+        public long getLastEventTime() {
+            return lastEventTime;
+        }
+        
+        public void setLastEventTime(long lastEventTime) {
+            this.lastEventTime = lastEventTime;
+        }
+        
+        public long getLastBlockTime() {
+            return lastBlockTime;
+        }
+        
+        public void setLastBlockTime(long lastBlockTime) {
+            this.lastBlockTime = lastBlockTime;
+        }
+        
+        public boolean isOverflow() {
+            return overflow;
+        }
+        
+        public void setOverflow(boolean overflow) {
+            this.overflow = overflow;
+        }
+        
+        public Map<String, BigInteger> getLastBlocks() {
+            return lastBlocks;
+        }
+        
+        public void setLastBlocks(Map<String, BigInteger> lastBlocks) {
+            this.lastBlocks = lastBlocks;
+        }
+        
+        public Map<String, List<String>> getOpTypes() {
+            return opTypes;
+        }
+        
+        public void setOpTypes(Map<String, List<String>> opTypes) {
+            this.opTypes = opTypes;
+        }
+    }
+}
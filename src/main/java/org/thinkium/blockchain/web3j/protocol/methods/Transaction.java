@@ -7,12 +7,12 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.apache.commons.lang3.StringUtils;
 import org.thinkium.blockchain.web3j.utils.Numeric;
-import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+import org.thinkium.blockchain.web3j.utils.cipher.Sha3Stream;
 
 import java.io.IOException;
 import java.math.BigInteger;
 
-public class Transaction {
+public class Transaction implements ChainParams {
     @JsonIgnore
     private String hash;
     private String chainId;
@@ -182,38 +182,36 @@ public class Transaction {
         this.input = input;
     }
     
-    /** tx hash */
+    /**
+     * tx hash, Keccak-256 of "chainId-from-to-nonce-useLocal-value-input-extra" with the 0x
+     * prefixes dropped, fed to the digest field by field
+     */
     public byte[] hash() {
         String to = this.getTo();
         String input = this.getInput();
         String from = this.getFrom();
-        if (to.length() > 2) {
-            to = to.substring(2);
-        }
-        if (input.length() > 2) {
-            input = input.substring(2);
-        }
-        if (from.length() > 2) {
-            from = from.substring(2);
-        }
+        char split = '-';
         
-        String u = this.getUseLocal() ? "1" : "0";
-        String extra = "";
-        if (StringUtils.isNotBlank(this.getExtra())) {
-            extra = this.getExtra().replace("0x", "");
+        Sha3Stream sha3 = Sha3Stream.begin()
+                .append(String.valueOf(this.getChainId())).append(split)
+                .append(from, from.length() > 2 ? 2 : 0, from.length()).append(split)
+                .append(to, to.length() > 2 ? 2 : 0, to.length()).append(split)
+                .append(String.valueOf(this.getNonce())).append(split)
+                .append(this.getUseLocal() ? '1' : '0').append(split)
+                .append(String.valueOf(this.getValue())).append(split)
+                .append(input, input.length() > 2 ? 2 : 0, input.length()).append(split);
+        String extra = this.getExtra();
+        if (StringUtils.isNotBlank(extra)) {
+            // same as appending extra.replace("0x", "")
+            int start = 0;
+            for (int prefix = extra.indexOf("0x"); prefix >= 0; prefix = extra.indexOf("0x", start)) {
+                sha3.append(extra, start, prefix);
+                start = prefix + 2;
+            }
+            sha3.append(extra, start, extra.length());
         }
         
-        String split = "-";
-        String str = this.getChainId() + split
-                + from + split
-                + to + split
-                + this.getNonce() + split
-                + u + split
-                + this.getValue() + split
-                + input + split
-                + extra;
-        
-        final byte[] hashBytes = Hash.sha3(str.getBytes());
+        final byte[] hashBytes = sha3.finish();
         setHash(Numeric.toHexString(hashBytes));
         return hashBytes;
     }
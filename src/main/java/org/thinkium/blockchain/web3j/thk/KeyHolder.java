@@ -1,14 +1,11 @@
 package org.thinkium.blockchain.web3j.thk;
 
 
+import org.thinkium.blockchain.web3j.crypto.Signer;
 import org.thinkium.blockchain.web3j.thk.models.vo.Transaction;
 import org.thinkium.blockchain.web3j.utils.Numeric;
-import org.thinkium.blockchain.web3j.utils.cipher.ECDSASignature;
 import org.thinkium.blockchain.web3j.utils.cipher.ECKeyPair;
 import org.thinkium.blockchain.web3j.utils.cipher.Hash;
-import org.thinkium.blockchain.web3j.utils.cipher.Sign;
-
-import java.math.BigInteger;
 
 /**
  * @author HarryPotter
@@ -18,10 +15,12 @@ import java.math.BigInteger;
 public class KeyHolder {
     private String privateKey;
     private ECKeyPair keyPair;
+    private Signer signer;
     
     public KeyHolder(String privateKey) {
         this.privateKey = privateKey;
         keyPair = ECKeyPair.create(Numeric.hexStringToByteArray(privateKey));
+        signer = new Signer(keyPair);
     }
     
     public String getPrivateKey() {
@@ -47,32 +46,6 @@ public class KeyHolder {
     }
     
     public String signHash(byte[] messageHash) {
-        ECDSASignature sig = keyPair.sign(messageHash);
-        // Now we have to work backwards to figure out the recId needed to recover the signature.
-        int recId = -1;
-        for (int i = 0; i < 4; i++) {
-            BigInteger k = Sign.recoverFromSignature(i, sig, messageHash);
-            if (k != null && k.equals(keyPair.getPublicKey())) {
-                recId = i;
-                break;
-            }
-        }
-        if (recId == -1) {
-            throw new RuntimeException("Could not construct a recoverable key. Are your credentials valid?");
-        }
-        int headerByte = recId + 27;
-        byte v = (byte) headerByte;
-        byte[] r = Numeric.toBytesPadded(sig.r, 32);
-        byte[] s = Numeric.toBytesPadded(sig.s, 32);
-        Sign.SignatureData signatureData = new Sign.SignatureData(v, r, s);
-        String rHex = Numeric.toHexString(r);
-        String sHex = Numeric.toHexString(s);
-        String sigData = rHex + sHex.replace("0x", "");
-        if (v == 0) {
-            sigData = sigData + "1b";
-        } else {
-            sigData = sigData + "1c";
-        }
-        return sigData;
+        return signer.signHash(messageHash);
     }
 }
\ No newline at end of file
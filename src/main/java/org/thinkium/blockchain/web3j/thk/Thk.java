@@ -1,31 +1,108 @@
 package org.thinkium.blockchain.web3j.thk;
 
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.exceptions.MessageDecodingException;
+import org.thinkium.blockchain.web3j.protocol.HttpService;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
 import org.thinkium.blockchain.web3j.thk.models.Account;
 import org.thinkium.blockchain.web3j.thk.models.TransactionByHash;
 import org.thinkium.blockchain.web3j.thk.models.vo.CashCheque;
 import org.thinkium.blockchain.web3j.thk.models.vo.Transaction;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-/** Created by thk on 6/15/19. */
+/**
+ * Created by thk on 6/15/19.
+ *
+ * <p>All instances share one pooled, keep-alive {@link OkHttpClient} unless a client is supplied
+ * explicitly, so consecutive calls to the same node reuse an open connection.
+ */
 public class Thk {
     private static final Logger log = LoggerFactory.getLogger(Thk.class);
     
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 64;
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    public static final long DEFAULT_READ_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    
+    private static final OkHttpClient DEFAULT_HTTP_CLIENT =
+            createOkHttpClient(
+                    DEFAULT_MAX_REQUESTS_PER_HOST,
+                    DEFAULT_MAX_IDLE_CONNECTIONS,
+                    DEFAULT_KEEP_ALIVE_MILLIS,
+                    DEFAULT_CONNECT_TIMEOUT_MILLIS,
+                    DEFAULT_READ_TIMEOUT_MILLIS);
+    
+    private final OkHttpClient httpClient;
+    
     /** RPC */
     private String HOST_URL = "";
     
+    public Thk() {
+        this(DEFAULT_HTTP_CLIENT);
+    }
+    
+    public Thk(String hostUrl) {
+        this(hostUrl, DEFAULT_HTTP_CLIENT);
+    }
+    
+    public Thk(OkHttpClient httpClient) {
+        this("", httpClient);
+    }
+    
+    public Thk(String hostUrl, OkHttpClient httpClient) {
+        this.HOST_URL = hostUrl;
+        this.httpClient = httpClient;
+    }
+    
+    /**
+     * Build a client suitable for sharing between {@link Thk} (and {@link HttpService}) instances.
+     *
+     * @param maxRequestsPerHost maximum number of concurrent dispatched requests to a single node
+     * @param maxIdleConnections maximum number of idle keep-alive connections held in the pool
+     * @param keepAliveMillis    how long an idle connection is kept open for reuse
+     * @param connectTimeoutMillis connect timeout, 0 for none
+     * @param readTimeoutMillis  read and write timeout, 0 for none
+     *
+     * @return a new pooled client
+     */
+    public static OkHttpClient createOkHttpClient(
+            int maxRequestsPerHost,
+            int maxIdleConnections,
+            long keepAliveMillis,
+            long connectTimeoutMillis,
+            long readTimeoutMillis) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Math.max(DEFAULT_MAX_REQUESTS, maxRequestsPerHost));
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+                .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                .writeTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+    
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+    
     public String getHOST_URL() {
         return HOST_URL;
     }
@@ -41,8 +118,7 @@ public class Thk {
         String jsonObj = JSONObject.toJSONString(account);
         
         String postJson = "{\"method\": \"GetAccount\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map getTransactionByHash(String chainId, String hash) {
@@ -51,8 +127,7 @@ public class Thk {
         info.setHash(hash);
         String jsonObj = JSONObject.toJSONString(info);
         String postJson = "{\"method\": \"GetTransactionByHash\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map getChainStats(String chainId) {
@@ -60,8 +135,7 @@ public class Thk {
         map.put("chainId", chainId);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetStats\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public JSONArray GetTransactions(String chainId, String address, String startHeight, String endHeight) {
@@ -72,8 +146,7 @@ public class Thk {
         map.put("endHeight", endHeight);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetTransactions\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return JSON.parseArray(result);
+        return postForArray(HOST_URL, postJson);
     }
     
     public Map getBlockHeader(String chainId, String height) {
@@ -82,8 +155,7 @@ public class Thk {
         map.put("height", height);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetBlockHeader\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map getBlockTxs(String chainId, String height, String page, String size) {
@@ -94,8 +166,7 @@ public class Thk {
         map.put("size", size);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetBlockTxs\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     @Deprecated
@@ -116,8 +187,7 @@ public class Thk {
         
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"SendTx\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map sendTx(Transaction info) {
@@ -138,8 +208,7 @@ public class Thk {
         
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"SendTx\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public int getNonce(String chainId, String address) {
@@ -148,8 +217,7 @@ public class Thk {
         account.setAddress(address);
         String jsonObj = JSONObject.toJSONString(account);
         String postJson = "{\"method\": \"GetAccount\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        Map maps = (Map) JSON.parse(result);
+        Map maps = (Map) post(HOST_URL, postJson);
         if (maps.containsKey("nonce")) {
             return (int) maps.get("nonce");
         }
@@ -162,8 +230,7 @@ public class Thk {
         map.put("contract", Contract);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"SaveContract\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public JSONArray getChainInfo() {
@@ -171,8 +238,7 @@ public class Thk {
         map.put("chainIds", "[]");
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetChainInfo\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL + "/chaininfo", postJson);
-        return JSON.parseArray(result);
+        return postForArray(HOST_URL + "/chaininfo", postJson);
     }
     
     public JSONArray getCommittee(String chainId, String epoch) {
@@ -182,8 +248,7 @@ public class Thk {
         
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"GetCommittee\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL + "/chaininfo", postJson);
-        return JSON.parseArray(result);
+        return postForArray(HOST_URL + "/chaininfo", postJson);
     }
     
     @Deprecated
@@ -200,8 +265,7 @@ public class Thk {
         
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"CallTransaction\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map callTransaction(Transaction info) {
@@ -218,8 +282,7 @@ public class Thk {
         map.put("extra", info.getExtra());
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"CallTransaction\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     /**
@@ -242,8 +305,7 @@ public class Thk {
         String method = cashOrCancel ? "RpcMakeVccProof" : "MakeCCCExistenceProof";
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"" + method + "\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL, postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL, postJson);
     }
     
     public Map Ping(String address) {
@@ -251,40 +313,42 @@ public class Thk {
         map.put("address", address);
         String jsonObj = JSONObject.toJSONString(map);
         String postJson = "{\"method\": \"Ping\",\"params\": " + jsonObj + "}";
-        String result = post(HOST_URL + "/chaininfo", postJson);
-        return (Map) JSON.parse(result);
+        return (Map) post(HOST_URL + "/chaininfo", postJson);
+    }
+    
+    private JSONArray postForArray(String strURL, String params) {
+        Object result = post(strURL, params);
+        if (result instanceof JSONArray) {
+            return (JSONArray) result;
+        }
+        throw new MessageDecodingException("Expected a JSON array but received: " + result);
     }
     
-    private static String post(String strURL, String params) {
+    /** Post a request and parse the reply straight from the response body. */
+    private Object post(String strURL, String params) {
         log.debug("params:{} ", params);
-        BufferedReader reader = null;
-        try {
-            URL url = new URL(strURL);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setDoOutput(true);
-            connection.setDoInput(true);
-            connection.setUseCaches(false);
-            connection.setInstanceFollowRedirects(true);
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.connect();
-            OutputStreamWriter out = new OutputStreamWriter(connection.getOutputStream(), "UTF-8");
-            out.append(params);
-            out.flush();
-            out.close();
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), "UTF-8"));
-            
-            String line;
-            
-            StringBuilder res = new StringBuilder();
-            while ((line = reader.readLine()) != null) {
-                res.append(line);
+        okhttp3.Request httpRequest =
+                new okhttp3.Request.Builder()
+                        .url(strURL)
+                        .post(RequestBody.create(params, HttpService.JSON_MEDIA_TYPE))
+                        .build();
+        try (okhttp3.Response response = httpClient.newCall(httpRequest).execute()) {
+            ResponseBody responseBody = response.body();
+            if (!response.isSuccessful()) {
+                String text = responseBody == null ? "N/A" : responseBody.string();
+                throw new ClientConnectionException("Invalid response received: " + response.code() + "; " + text, response.code());
+            }
+            if (responseBody == null) {
+                throw new ClientConnectionException("Empty response received from " + strURL);
+            }
+            JSONReader reader = new JSONReader(responseBody.charStream());
+            try {
+                return reader.readObject();
+            } finally {
+                reader.close();
             }
-            reader.close();
-            return res.toString();
         } catch (IOException e) {
-            log.error("rpc call error", e);
+            throw new ClientConnectionException("rpc call error: " + e.getMessage(), e);
         }
-        return "error";
     }
 }
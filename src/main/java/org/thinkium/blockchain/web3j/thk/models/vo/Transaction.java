@@ -1,6 +1,6 @@
 package org.thinkium.blockchain.web3j.thk.models.vo;
 
-import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+import org.thinkium.blockchain.web3j.utils.cipher.Sha3Stream;
 
 /**
  * Created by thk on 6/17/19.
@@ -116,44 +116,25 @@ public class Transaction {
         this.input = input;
     }
     
-    /** tx hash */
+    /**
+     * tx hash, Keccak-256 of "chainId-from-to-nonce-useLocal-value-input-" with the 0x prefixes
+     * dropped, fed to the digest field by field
+     */
     public byte[] hash() {
         String to = this.getTo();
         String input = this.getInput();
         String from = this.getFrom();
-        if (to.length() > 2) {
-            to = to.substring(2);
-        }
-        if (input.length() > 2) {
-            input = input.substring(2);
-        }
-        if (from.length() > 2) {
-            from = from.substring(2);
-        }
+        char split = '-';
         
-        String u = "";
-        String extra = "";
-        
-        if (this.getUseLocal()) {
-            u = "1";
-        } else {
-            u = "0";
-        }
-        
-        if (!this.getExtra().isEmpty()) {
-            extra = extra.replace("0x", "");
-        }
-        
-        String split = "-";
-        String str = this.getChainId() + split
-                + from + split
-                + to + split
-                + this.getNonce() + split
-                + u + split
-                + this.getValue() + split
-                + input + split
-                + extra;
-        
-        return Hash.sha3(str.getBytes());
+        // the extra field has never been part of the hashed text here
+        return Sha3Stream.begin()
+                .append(String.valueOf(this.getChainId())).append(split)
+                .append(from, from.length() > 2 ? 2 : 0, from.length()).append(split)
+                .append(to, to.length() > 2 ? 2 : 0, to.length()).append(split)
+                .append(String.valueOf(this.getNonce())).append(split)
+                .append(this.getUseLocal() ? '1' : '0').append(split)
+                .append(String.valueOf(this.getValue())).append(split)
+                .append(input, input.length() > 2 ? 2 : 0, input.length()).append(split)
+                .finish();
     }
 }
@@ -2,16 +2,18 @@ package org.thinkium.blockchain.web3j.tx;
 
 import org.thinkium.blockchain.web3j.crypto.Credentials;
 import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.tx.nonce.NonceManager;
 import org.thinkium.blockchain.web3j.tx.response.TransactionReceiptProcessor;
 
-import java.io.IOException;
-import java.math.BigInteger;
-
+/**
+ * Transaction manager that reads the nonce from the chain once and then reserves following nonces
+ * locally, so that many transactions can be sent back to back, from any number of threads.
+ */
 public class BatchTransactionManager extends RawTransactionManager {
-    private BigInteger nonce = BigInteger.ONE.negate();
     
     public BatchTransactionManager(Web3j web3j, Credentials credentials, String chainId) {
         super(web3j, credentials, chainId);
+        setNonceManager(new NonceManager(web3j));
     }
     
     public BatchTransactionManager(
@@ -20,19 +22,11 @@ public class BatchTransactionManager extends RawTransactionManager {
             String chainId,
             TransactionReceiptProcessor transactionReceiptProcessor) {
         super(web3j, credentials, chainId, transactionReceiptProcessor);
+        setNonceManager(new NonceManager(web3j));
     }
     
     public BatchTransactionManager(Web3j web3j, Credentials credentials, String chainId, int attempts, long sleepDuration) {
         super(web3j, credentials, chainId, attempts, sleepDuration);
-    }
-    
-    @Override
-    protected BigInteger getNonce() throws IOException {
-        if (nonce.compareTo(BigInteger.ZERO) < 0) {
-            nonce = web3j.getNonce(getChainId(), credentials.getAddress());
-        } else {
-            nonce = nonce.add(BigInteger.ONE);
-        }
-        return nonce;
+        setNonceManager(new NonceManager(web3j));
     }
 }
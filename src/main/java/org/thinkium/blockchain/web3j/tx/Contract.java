@@ -147,11 +147,12 @@ public abstract class Contract extends ManagedTransaction {
      * @return {@link List} of values returned by function call
      */
     private List<Type> executeCall(Function function) throws IOException {
-        String encodedFunction = FunctionEncoder.encode(function);
+        FunctionCodec codec = FunctionCodec.of(function);
+        String encodedFunction = codec.encode(function);
         
         String value = call(contractAddress, encodedFunction);
         
-        return FunctionReturnDecoder.decode(value, function.getOutputParameters());
+        return codec.decode(value);
     }
     
     @SuppressWarnings("unchecked")
@@ -0,0 +1,47 @@
+package org.thinkium.blockchain.web3j.tx;
+
+import org.thinkium.blockchain.web3j.abi.EventValues;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.protocol.methods.Log;
+
+import java.util.List;
+
+/**
+ * A log decoded by an {@link EventDecoderRegistry}: the event it matched, its values and the log.
+ */
+public class DecodedEvent {
+    private final Event event;
+    private final EventValues eventValues;
+    private final Log log;
+    
+    DecodedEvent(Event event, EventValues eventValues, Log log) {
+        this.event = event;
+        this.eventValues = eventValues;
+        this.log = log;
+    }
+    
+    public Event getEvent() {
+        return event;
+    }
+    
+    public String getName() {
+        return event.getName();
+    }
+    
+    public EventValues getEventValues() {
+        return eventValues;
+    }
+    
+    public List<Type> getIndexedValues() {
+        return eventValues.getIndexedValues();
+    }
+    
+    public List<Type> getNonIndexedValues() {
+        return eventValues.getNonIndexedValues();
+    }
+    
+    public Log getLog() {
+        return log;
+    }
+}
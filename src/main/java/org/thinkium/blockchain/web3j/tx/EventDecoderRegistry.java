@@ -0,0 +1,145 @@
+package org.thinkium.blockchain.web3j.tx;
+
+import org.thinkium.blockchain.web3j.abi.EventEncoder;
+import org.thinkium.blockchain.web3j.abi.EventValues;
+import org.thinkium.blockchain.web3j.abi.FunctionReturnDecoder;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.protocol.methods.Log;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * <p>Decodes logs of any number of known events. The topic hash of every event is computed once, on
+ * {@link #register(Event)}, and a log is dispatched on its first topic through a hash map, instead
+ * of hashing and comparing the signature of every candidate event as
+ * {@link Contract#staticExtractEventParameters(Event, Log)} does per call.</p>
+ *
+ * <p>Events sharing a signature but not their indexed parameters, such as the ERC-20 and ERC-721
+ * {@code Transfer} events, are told apart by the number of topics of the log.</p>
+ *
+ * <p>Registration and decoding may happen from several threads.</p>
+ */
+public class EventDecoderRegistry {
+    
+    private final Map<String, EventDecoder[]> decoders = new ConcurrentHashMap<>();
+    
+    /**
+     * @param event an event to decode logs of
+     *
+     * @return its topic, 0x prefixed
+     */
+    public String register(Event event) {
+        EventDecoder decoder = new EventDecoder(event);
+        decoders.merge(decoder.topic, new EventDecoder[]{decoder}, (registered, added) -> {
+            for (EventDecoder existing : registered) {
+                if (existing.topicCount == decoder.topicCount) {
+                    throw new IllegalArgumentException(
+                            "An event with the topic " + decoder.topic + " and " + decoder.topicCount
+                                    + " topics is already registered: " + existing.event.getName());
+                }
+            }
+            EventDecoder[] merged = Arrays.copyOf(registered, registered.length + 1);
+            merged[registered.length] = decoder;
+            return merged;
+        });
+        return decoder.topic;
+    }
+    
+    public void registerAll(Iterable<Event> events) {
+        for (Event event : events) {
+            register(event);
+        }
+    }
+    
+    /**
+     * @param log a log
+     *
+     * @return the decoded log, or null if it is not of a registered event
+     */
+    public DecodedEvent decode(Log log) {
+        List<String> topics = log.getTopics();
+        if (topics == null || topics.isEmpty() || topics.get(0) == null) {
+            return null;
+        }
+        EventDecoder[] candidates = decoders.get(topics.get(0));
+        if (candidates == null) {
+            candidates = decoders.get(normalize(topics.get(0)));
+            if (candidates == null) {
+                return null;
+            }
+        }
+        for (EventDecoder candidate : candidates) {
+            if (candidate.topicCount == topics.size()) {
+                return candidate.decode(log);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @param receipt a transaction receipt
+     *
+     * @return its logs of registered events, decoded, in log order
+     */
+    public Stream<DecodedEvent> decode(TransactionReceipt receipt) {
+        List<Log> logs = receipt.getLogs();
+        if (logs == null) {
+            return Stream.empty();
+        }
+        return logs.stream().map(this::decode).filter(Objects::nonNull);
+    }
+    
+    /**
+     * @param receipts transaction receipts, such as those of a block
+     *
+     * @return their logs of registered events, decoded, in receipt and log order
+     */
+    public Stream<DecodedEvent> decode(List<TransactionReceipt> receipts) {
+        return receipts.stream().flatMap(this::decode);
+    }
+    
+    private static String normalize(String topic) {
+        String lowerCase = topic.toLowerCase(Locale.ROOT);
+        return lowerCase.startsWith("0x") ? lowerCase : "0x" + lowerCase;
+    }
+    
+    /** Decoder of one event, with its parameters split once. */
+    private static final class EventDecoder {
+        private final Event event;
+        private final String topic;
+        private final int topicCount;
+        private final List<TypeReference<Type>> indexedParameters;
+        private final List<TypeReference<Type>> nonIndexedParameters;
+        
+        EventDecoder(Event event) {
+            this.event = event;
+            this.topic = EventEncoder.encode(event);
+            this.indexedParameters = event.getIndexedParameters();
+            this.nonIndexedParameters = event.getNonIndexedParameters();
+            this.topicCount = indexedParameters.size() + 1;
+        }
+        
+        DecodedEvent decode(Log log) {
+            List<String> topics = log.getTopics();
+            List<Type> indexedValues = new ArrayList<>(indexedParameters.size());
+            for (int i = 0; i < indexedParameters.size(); i++) {
+                indexedValues.add(FunctionReturnDecoder.decodeIndexedValue(topics.get(i + 1), indexedParameters.get(i)));
+            }
+            List<Type> nonIndexedValues = nonIndexedParameters.isEmpty()
+                    ? Collections.emptyList()
+                    : FunctionReturnDecoder.decode(log.getData(), nonIndexedParameters);
+            return new DecodedEvent(event, new EventValues(indexedValues, nonIndexedValues), log);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.thinkium.blockchain.web3j.protocol.exceptions.NoResponseTransactionEx
 import org.thinkium.blockchain.web3j.protocol.methods.ThkCall;
 import org.thinkium.blockchain.web3j.protocol.methods.ThkSendTransaction;
 import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+import org.thinkium.blockchain.web3j.tx.nonce.NonceManager;
 import org.thinkium.blockchain.web3j.tx.response.TransactionReceiptProcessor;
 
 import java.io.IOException;
@@ -16,6 +17,9 @@ public class RawTransactionManager extends TransactionManager {
     final Web3j web3j;
     final Credentials credentials;
     
+    /** Source of nonces, when null the nonce is read from the chain before every transaction. */
+    private volatile NonceManager nonceManager;
+    
     public RawTransactionManager(Web3j web3j, Credentials credentials, String chainId) {
         super(web3j, chainId, credentials.getAddress());
         
@@ -41,10 +45,36 @@ public class RawTransactionManager extends TransactionManager {
         this.credentials = credentials;
     }
     
+    public NonceManager getNonceManager() {
+        return nonceManager;
+    }
+    
+    /**
+     * Reserve nonces locally instead of querying the chain for every transaction. The same
+     * manager can be shared by all transaction managers sending from one account.
+     *
+     * @param nonceManager nonce manager, or null to read the nonce from the chain every time
+     */
+    public void setNonceManager(NonceManager nonceManager) {
+        this.nonceManager = nonceManager;
+    }
+    
     protected BigInteger getNonce() throws IOException {
+        NonceManager nonceManager = this.nonceManager;
+        if (nonceManager != null) {
+            return nonceManager.acquire(getChainId(), credentials.getAddress());
+        }
         return web3j.getNonce(getChainId(), credentials.getAddress());
     }
     
+    /** Hand a nonce back to the nonce manager after the node did not accept its transaction. */
+    protected void rejectNonce(BigInteger nonce, String reason) throws IOException {
+        NonceManager nonceManager = this.nonceManager;
+        if (nonceManager != null) {
+            nonceManager.reject(getChainId(), credentials.getAddress(), nonce, reason);
+        }
+    }
+    
     @Override
     public ThkSendTransaction sendTransaction(
             BigInteger gasPrice,
@@ -56,7 +86,24 @@ public class RawTransactionManager extends TransactionManager {
             throws IOException {
         BigInteger nonce = getNonce();
         Transaction rawTransaction = Transaction.createTransaction(getChainId(), nonce, gasLimit, to, value, data);
-        return signAndSend(rawTransaction);
+        final ThkSendTransaction response;
+        try {
+            response = signAndSend(rawTransaction);
+        } catch (NoResponseTransactionException e) {
+            // after a timeout the node may have accepted the transaction: leave a gap rather than
+            // send another one with the same nonce, resync the nonce manager if it never lands
+            if (NonceManager.isNotSent(e)) {
+                rejectNonce(nonce, e.getMessage());
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            rejectNonce(nonce, e.getMessage());
+            throw e;
+        }
+        if (response.hasError()) {
+            rejectNonce(nonce, response.getError().getMessage());
+        }
+        return response;
     }
     
     @Override
@@ -83,7 +130,7 @@ public class RawTransactionManager extends TransactionManager {
         try {
             return web3j.sendTx(rawTransaction).send();
         } catch (Exception e) {
-            throw new NoResponseTransactionException(e.getMessage(), rawTransaction);
+            throw new NoResponseTransactionException(e.getMessage(), rawTransaction, e);
         }
     }
 }
@@ -0,0 +1,324 @@
+package org.thinkium.blockchain.web3j.tx;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.exceptions.TransactionException;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkSendTransaction;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+import org.thinkium.blockchain.web3j.tx.nonce.NonceManager;
+import org.thinkium.blockchain.web3j.tx.response.QueueingTransactionReceiptProcessor;
+import org.thinkium.blockchain.web3j.tx.response.TransactionReceiptProcessor;
+
+import java.io.Closeable;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Submits transactions of one account through three independent stages, each with its own
+ * worker threads and a bounded number of queued transactions:
+ *
+ * <ol>
+ *   <li>sign: assign a nonce from the {@link NonceManager} (unless the transaction already has
+ *       one), hash and sign;
+ *   <li>send: {@code SendTx} to the node;
+ *   <li>confirm: wait for the receipt with the {@link TransactionReceiptProcessor}. A {@link
+ *       QueueingTransactionReceiptProcessor} is waited on without holding a confirm worker.
+ * </ol>
+ *
+ * <p>When a stage is full the stage before it blocks, down to {@link #submit(Transaction)}, so a
+ * fast producer is throttled instead of queueing without bound. Every transaction gets its own
+ * future, completed with the receipt or with the error that stopped it.
+ *
+ * <p>With more than one sign or send worker transactions can reach the node out of nonce order;
+ * use a single worker for both stages if the node does not accept that.
+ */
+public class TransactionPipeline implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionPipeline.class);
+    
+    public static final int DEFAULT_SIGN_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_SEND_CONCURRENCY = 16;
+    public static final int DEFAULT_CONFIRM_CONCURRENCY = 64;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    
+    private final Web3j web3j;
+    private final Credentials credentials;
+    private final String chainId;
+    private final NonceManager nonceManager;
+    private final TransactionReceiptProcessor transactionReceiptProcessor;
+    
+    private final Stage signStage;
+    private final Stage sendStage;
+    private final Stage confirmStage;
+    
+    /**
+     * A pipeline with default concurrency, waiting for receipts with a {@link
+     * QueueingTransactionReceiptProcessor} on the scheduler of {@code web3j}.
+     */
+    public TransactionPipeline(Web3j web3j, Credentials credentials, String chainId) {
+        this(
+                web3j,
+                credentials,
+                chainId,
+                new NonceManager(web3j),
+                new QueueingTransactionReceiptProcessor(
+                        web3j,
+                        TransactionManager.DEFAULT_POLLING_FREQUENCY,
+                        TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH),
+                DEFAULT_SIGN_CONCURRENCY,
+                DEFAULT_SEND_CONCURRENCY,
+                DEFAULT_CONFIRM_CONCURRENCY,
+                DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * @param web3j                       web3j instance to send with
+     * @param credentials                 account signing all transactions
+     * @param chainId                     chain the transactions are sent to
+     * @param nonceManager                source of nonces, may be shared with other senders
+     * @param transactionReceiptProcessor waits for the receipts
+     * @param signConcurrency             number of signing threads
+     * @param sendConcurrency             number of concurrent SendTx calls
+     * @param confirmConcurrency          number of receipts awaited concurrently
+     * @param queueCapacity               transactions each stage may hold besides those it is
+     *                                    working on
+     */
+    public TransactionPipeline(
+            Web3j web3j,
+            Credentials credentials,
+            String chainId,
+            NonceManager nonceManager,
+            TransactionReceiptProcessor transactionReceiptProcessor,
+            int signConcurrency,
+            int sendConcurrency,
+            int confirmConcurrency,
+            int queueCapacity) {
+        this.web3j = web3j;
+        this.credentials = credentials;
+        this.chainId = chainId;
+        this.nonceManager = nonceManager;
+        this.transactionReceiptProcessor = transactionReceiptProcessor;
+        this.signStage = new Stage("sign", signConcurrency, queueCapacity);
+        this.sendStage = new Stage("send", sendConcurrency, queueCapacity);
+        this.confirmStage = new Stage("confirm", confirmConcurrency, queueCapacity);
+    }
+    
+    /**
+     * Queue a transaction, blocking while the sign stage is full.
+     *
+     * @param transaction transaction to sign and send, its nonce is assigned if null
+     *
+     * @return future completed with the receipt of the transaction
+     *
+     * @throws InterruptedException if interrupted while waiting for room in the pipeline
+     */
+    public CompletableFuture<TransactionReceipt> submit(Transaction transaction) throws InterruptedException {
+        CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+        signStage.execute(() -> sign(transaction, result), result);
+        return result;
+    }
+    
+    /**
+     * Queue every transaction of a stream, in order, blocking while the pipeline is full.
+     *
+     * @param transactions transactions to sign and send
+     *
+     * @return one future per transaction, in stream order
+     */
+    public List<CompletableFuture<TransactionReceipt>> submitAll(Stream<Transaction> transactions) {
+        return transactions.map(this::submitUninterruptibly).collect(Collectors.toList());
+    }
+    
+    private CompletableFuture<TransactionReceipt> submitUninterruptibly(Transaction transaction) {
+        try {
+            return submit(transaction);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CompletableFuture<TransactionReceipt> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+    
+    private void sign(Transaction transaction, CompletableFuture<TransactionReceipt> result) throws Exception {
+        BigInteger reserved = null;
+        if (transaction.getNonce() == null) {
+            reserved = nonceManager.acquire(chainId, credentials.getAddress());
+            transaction.setNonce(reserved);
+        }
+        try {
+            transaction.setFrom(credentials.getAddress());
+            transaction.setPub(credentials.getPublicKey());
+            transaction.setSig(credentials.sign(transaction));
+        } catch (RuntimeException e) {
+            release(reserved, e.getMessage());
+            throw e;
+        }
+        BigInteger nonce = reserved;
+        try {
+            if (!sendStage.execute(() -> send(transaction, nonce, result), result)) {
+                release(reserved, "Transaction pipeline is closed");
+            }
+        } catch (InterruptedException e) {
+            release(reserved, "Interrupted while waiting to send");
+            throw e;
+        }
+    }
+    
+    private void send(Transaction transaction, BigInteger reserved, CompletableFuture<TransactionReceipt> result) throws Exception {
+        String sentHash;
+        try {
+            ThkSendTransaction response = web3j.sendTx(transaction).send();
+            if (response.hasError()) {
+                String message = response.getError().getMessage();
+                release(reserved, message);
+                throw new TransactionException("Error processing transaction request: " + message, transaction.getHash());
+            }
+            sentHash = response.getHash();
+        } catch (TransactionException e) {
+            throw e;
+        } catch (Exception e) {
+            if (NonceManager.isNotSent(e)) {
+                release(reserved, e.getMessage());
+                throw e;
+            }
+            // the node may have accepted it before the failure: keep the nonce, and wait for the
+            // receipt of the local hash, which fails in turn if the transaction never lands
+            log.warn("No reply to transaction {}, waiting for its receipt", transaction.getHash(), e);
+            sentHash = transaction.getHash();
+        }
+        String transactionHash = sentHash;
+        if (transactionReceiptProcessor instanceof QueueingTransactionReceiptProcessor) {
+            QueueingTransactionReceiptProcessor queueing = (QueueingTransactionReceiptProcessor) transactionReceiptProcessor;
+            confirmStage.track(() -> queueing.submit(chainId, transactionHash), result);
+        } else {
+            confirmStage.execute(() -> result.complete(transactionReceiptProcessor.waitForTransactionReceipt(chainId, transactionHash)), result);
+        }
+    }
+    
+    private void release(BigInteger reserved, String reason) {
+        if (reserved == null) {
+            return;
+        }
+        try {
+            nonceManager.reject(chainId, credentials.getAddress(), reserved, reason);
+        } catch (Exception e) {
+            log.warn("Failed to hand back nonce {} of {}", reserved, credentials.getAddress(), e);
+        }
+    }
+    
+    /**
+     * Stop accepting transactions and wait for those already queued to finish.
+     */
+    @Override
+    public void close() {
+        signStage.shutdown();
+        sendStage.shutdown();
+        confirmStage.shutdown();
+    }
+    
+    private interface Task {
+        void run() throws Exception;
+    }
+    
+    /** A fixed pool of workers behind a semaphore that bounds queued plus running tasks. */
+    private static class Stage {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        
+        Stage(String name, int concurrency, int queueCapacity) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "tx-pipeline-" + name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.permits = new Semaphore(concurrency + queueCapacity);
+        }
+        
+        /**
+         * @return false if the executor rejected the task, and the result was completed with the
+         * rejection
+         */
+        boolean execute(Task task, CompletableFuture<TransactionReceipt> result) throws InterruptedException {
+            permits.acquire();
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                result.completeExceptionally(e);
+                return false;
+            }
+        }
+        
+        /** Hold a permit until the future of an asynchronous task completes, without a worker. */
+        void track(Supplier<CompletableFuture<TransactionReceipt>> task, CompletableFuture<TransactionReceipt> result) throws InterruptedException {
+            permits.acquire();
+            inFlight.incrementAndGet();
+            try {
+                task.get().whenComplete((receipt, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(receipt);
+                    }
+                    release();
+                });
+            } catch (RuntimeException e) {
+                release();
+                result.completeExceptionally(e);
+            }
+        }
+        
+        private void release() {
+            permits.release();
+            synchronized (inFlight) {
+                if (inFlight.decrementAndGet() == 0) {
+                    inFlight.notifyAll();
+                }
+            }
+        }
+        
+        void shutdown() {
+            synchronized (inFlight) {
+                while (inFlight.get() > 0) {
+                    try {
+                        inFlight.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.thinkium.blockchain.web3j.tx.nonce;
+
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out transaction nonces locally, per (chainId, address).
+ *
+ * <p>The chain is queried only the first time an account is used and whenever {@link
+ * #resync(String, String)} is called; after that nonces are reserved with a CAS on a counter, so
+ * any number of threads can send from the same account without an RPC per transaction and without
+ * colliding. A nonce whose transaction was not accepted is handed back with {@link
+ * #release(String, String, BigInteger)} and is reused before the counter moves on, so the sequence
+ * stays free of gaps.
+ */
+public class NonceManager {
+    
+    private static final long UNSYNCED = -1;
+    
+    private final Web3j web3j;
+    private final ConcurrentMap<Key, AccountNonce> accounts = new ConcurrentHashMap<>();
+    
+    public NonceManager(Web3j web3j) {
+        this.web3j = web3j;
+    }
+    
+    /**
+     * Reserve the next nonce of an account.
+     *
+     * @param chainId chain of the account
+     * @param address account address
+     *
+     * @return a nonce no other caller holds
+     *
+     * @throws IOException if the account has to be synced and the node cannot be reached
+     */
+    public BigInteger acquire(String chainId, String address) throws IOException {
+        AccountNonce account = account(chainId, address);
+        while (true) {
+            Long reused = account.released.pollFirst();
+            if (reused != null) {
+                return BigInteger.valueOf(reused);
+            }
+            long nonce = account.next.get();
+            if (nonce == UNSYNCED) {
+                sync(account, chainId, address, false);
+            } else if (account.next.compareAndSet(nonce, nonce + 1)) {
+                return BigInteger.valueOf(nonce);
+            }
+        }
+    }
+    
+    /**
+     * Give back a nonce whose transaction was not accepted by the node.
+     *
+     * @param chainId chain of the account
+     * @param address account address
+     * @param nonce   a nonce obtained from {@link #acquire(String, String)}
+     */
+    public void release(String chainId, String address, BigInteger nonce) {
+        AccountNonce account = account(chainId, address);
+        long value = nonce.longValueExact();
+        // rewind when it is the latest nonce handed out, otherwise keep it for the next caller;
+        // nonces at or above the counter (left over from before a resync) will be issued anyway
+        if (!account.next.compareAndSet(value + 1, value) && value < account.next.get()) {
+            account.released.add(value);
+        }
+    }
+    
+    /**
+     * Report a transaction the node rejected. A "nonce too low" rejection means the local sequence
+     * is behind the chain (e.g. the account is also used elsewhere), so the account is resynced;
+     * any other rejection releases the nonce.
+     *
+     * @param chainId chain of the account
+     * @param address account address
+     * @param nonce   nonce of the rejected transaction
+     * @param reason  error message returned by the node, may be null
+     *
+     * @throws IOException if the account has to be synced and the node cannot be reached
+     */
+    public void reject(String chainId, String address, BigInteger nonce, String reason) throws IOException {
+        if (isNonceTooLow(reason)) {
+            resync(chainId, address);
+        } else {
+            release(chainId, address, nonce);
+        }
+    }
+    
+    /**
+     * Reload the nonce of an account from the chain, dropping released nonces. Call this when a
+     * gap is suspected, e.g. a transaction never gets mined because an earlier nonce was lost.
+     *
+     * @param chainId chain of the account
+     * @param address account address
+     *
+     * @throws IOException if the node cannot be reached
+     */
+    public void resync(String chainId, String address) throws IOException {
+        sync(account(chainId, address), chainId, address, true);
+    }
+    
+    /**
+     * Forget an account, the next {@link #acquire(String, String)} will sync it again.
+     *
+     * @param chainId chain of the account
+     * @param address account address
+     */
+    public void reset(String chainId, String address) {
+        accounts.remove(new Key(chainId, address));
+    }
+    
+    private AccountNonce account(String chainId, String address) {
+        return accounts.computeIfAbsent(new Key(chainId, address), key -> new AccountNonce());
+    }
+    
+    private void sync(AccountNonce account, String chainId, String address, boolean force) throws IOException {
+        // only one thread per account talks to the node, the others retry once it is done
+        synchronized (account) {
+            if (!force && account.next.get() != UNSYNCED) {
+                return;
+            }
+            long nonce = web3j.getNonce(chainId, address).longValueExact();
+            account.released.clear();
+            account.next.set(nonce);
+        }
+    }
+    
+    /**
+     * Whether a {@code SendTx} that failed with an exception certainly did not reach the node, so
+     * that its nonce may be released: the connection could not be opened, or the node refused the
+     * request with a 4xx status. After any other failure, such as a read timeout, the node may have
+     * accepted the transaction, and its nonce must not be handed out again.
+     *
+     * @param e the exception the request failed with
+     */
+    public static boolean isNotSent(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+            if (cause instanceof ClientConnectionException) {
+                int statusCode = ((ClientConnectionException) cause).getStatusCode();
+                if (statusCode >= 400 && statusCode < 500) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    static boolean isNonceTooLow(String reason) {
+        if (reason == null) {
+            return false;
+        }
+        String message = reason.toLowerCase(Locale.ROOT);
+        return message.contains("nonce") && (message.contains("too low") || message.contains("expired"));
+    }
+    
+    private static class AccountNonce {
+        private final AtomicLong next = new AtomicLong(UNSYNCED);
+        private final ConcurrentSkipListSet<Long> released = new ConcurrentSkipListSet<>();
+    }
+    
+    private static class Key {
+        private final String chainId;
+        private final String address;
+        
+        Key(String chainId, String address) {
+            this.chainId = chainId;
+            this.address = address.toLowerCase(Locale.ROOT);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return chainId.equals(key.chainId) && address.equals(key.address);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(chainId, address);
+        }
+    }
+}
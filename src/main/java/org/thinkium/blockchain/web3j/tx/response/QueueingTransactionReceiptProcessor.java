@@ -0,0 +1,248 @@
+package org.thinkium.blockchain.web3j.tx.response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thinkium.blockchain.web3j.protocol.BatchRequest;
+import org.thinkium.blockchain.web3j.protocol.BatchResponse;
+import org.thinkium.blockchain.web3j.protocol.Request;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.exceptions.TransactionException;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetTransactionByHash;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Waits for receipts of many transactions with a single poller. Pending hashes are kept in one
+ * map, and one task on the scheduler of the {@link Web3j} instance polls the due ones with batched
+ * {@code GetTransactionByHash} requests.
+ *
+ * <p>Every hash starts at {@code pollingFrequency} and doubles its interval, up to {@code
+ * maxPollingInterval}, each time its receipt is not found yet. A hash still pending after its
+ * timeout fails with a {@link TransactionException}.
+ */
+public class QueueingTransactionReceiptProcessor extends TransactionReceiptProcessor {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueueingTransactionReceiptProcessor.class);
+    
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final long pollingFrequency;
+    private final long maxPollingInterval;
+    private final long timeout;
+    private final int batchSize;
+    
+    private final Map<String, PendingReceipt> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    public QueueingTransactionReceiptProcessor(Web3j web3j, long pollingFrequency, int attempts) {
+        this(web3j, web3j.getScheduledExecutorService(), pollingFrequency, pollingFrequency * 4, pollingFrequency * attempts, DEFAULT_BATCH_SIZE);
+    }
+    
+    /**
+     * @param web3j                    web3j instance to poll with
+     * @param scheduledExecutorService scheduler running the poller
+     * @param pollingFrequency         interval of the poller, and first interval of every hash
+     * @param maxPollingInterval       longest interval a hash backs off to
+     * @param timeout                  default time a hash may stay pending, in milliseconds
+     * @param batchSize                maximum number of hashes per batch request
+     */
+    public QueueingTransactionReceiptProcessor(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            long pollingFrequency,
+            long maxPollingInterval,
+            long timeout,
+            int batchSize) {
+        super(web3j);
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingFrequency = pollingFrequency;
+        this.maxPollingInterval = Math.max(pollingFrequency, maxPollingInterval);
+        this.timeout = timeout;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Block until the receipt is polled. Prefer {@link #submit(String, String)} to wait without
+     * holding a thread.
+     */
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String chainId, String transactionHash) throws IOException, TransactionException {
+        try {
+            return submit(chainId, transactionHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TransactionException) {
+                throw (TransactionException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new TransactionException(cause);
+        }
+    }
+    
+    public CompletableFuture<TransactionReceipt> submit(String chainId, String transactionHash) {
+        return submit(chainId, transactionHash, timeout);
+    }
+    
+    /**
+     * Register a transaction hash with the poller. Submitting a hash that is already pending
+     * returns the existing future.
+     *
+     * @param chainId         chain the transaction was sent to
+     * @param transactionHash hash of the transaction
+     * @param timeout         time the hash may stay pending, in milliseconds
+     *
+     * @return future completed with the receipt, or with a {@link TransactionException} on error
+     * or timeout; cancelling it stops polling the hash
+     */
+    public CompletableFuture<TransactionReceipt> submit(String chainId, String transactionHash, long timeout) {
+        String key = chainId + ":" + transactionHash;
+        PendingReceipt pendingReceipt = pending.computeIfAbsent(key, k -> {
+            PendingReceipt created = new PendingReceipt(chainId, transactionHash, System.currentTimeMillis() + timeout);
+            created.future.whenComplete((receipt, throwable) -> pending.remove(k, created));
+            return created;
+        });
+        schedule();
+        return pendingReceipt.future;
+    }
+    
+    /**
+     * Register a transaction hash with the poller, reporting the outcome to a callback.
+     *
+     * @param chainId         chain the transaction was sent to
+     * @param transactionHash hash of the transaction
+     * @param callback        called on the poller thread once the receipt is known or polling
+     *                        failed
+     */
+    public void submit(String chainId, String transactionHash, Callback callback) {
+        submit(chainId, transactionHash).whenComplete((receipt, throwable) -> {
+            if (throwable == null) {
+                callback.accept(receipt);
+            } else if (throwable instanceof Exception) {
+                callback.exception((Exception) throwable);
+            } else {
+                callback.exception(new TransactionException(throwable));
+            }
+        });
+    }
+    
+    /**
+     * @return number of hashes waiting for their receipt
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    private void schedule() {
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                scheduledExecutorService.schedule(this::poll, pollingFrequency, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                TransactionException exception = new TransactionException(e);
+                pending.values().forEach(p -> p.future.completeExceptionally(exception));
+            }
+        }
+    }
+    
+    private void poll() {
+        try {
+            long now = System.currentTimeMillis();
+            List<PendingReceipt> due = new ArrayList<>();
+            for (PendingReceipt pendingReceipt : pending.values()) {
+                if (pendingReceipt.nextPoll <= now) {
+                    due.add(pendingReceipt);
+                }
+            }
+            for (int from = 0; from < due.size(); from += batchSize) {
+                pollBatch(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+            now = System.currentTimeMillis();
+            for (PendingReceipt pendingReceipt : due) {
+                if (pendingReceipt.future.isDone()) {
+                    continue;
+                }
+                if (now >= pendingReceipt.deadline) {
+                    pendingReceipt.future.completeExceptionally(new TransactionException(
+                            "Transaction receipt was not generated after "
+                                    + ((now - pendingReceipt.created) / 1000
+                                    + " seconds for transaction: "
+                                    + pendingReceipt.transactionHash),
+                            pendingReceipt.transactionHash));
+                } else {
+                    pendingReceipt.interval = Math.min(pendingReceipt.interval * 2, maxPollingInterval);
+                    pendingReceipt.nextPoll = now + pendingReceipt.interval;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Receipt polling failed", e);
+        } finally {
+            scheduled.set(false);
+            schedule();
+        }
+    }
+    
+    private void pollBatch(List<PendingReceipt> receipts) {
+        BatchRequest batch = web3j.newBatch();
+        List<Request<?, ThkGetTransactionByHash>> requests = new ArrayList<>(receipts.size());
+        for (PendingReceipt pendingReceipt : receipts) {
+            Request<?, ThkGetTransactionByHash> request = web3j.getTransactionByHash(pendingReceipt.chainId, pendingReceipt.transactionHash);
+            requests.add(request);
+            batch.add(request);
+        }
+        final BatchResponse batchResponse;
+        try {
+            batchResponse = batch.send();
+        } catch (IOException e) {
+            log.warn("Failed to poll {} transaction receipts, retrying", receipts.size(), e);
+            return;
+        }
+        for (int i = 0; i < receipts.size(); i++) {
+            PendingReceipt pendingReceipt = receipts.get(i);
+            ThkGetTransactionByHash response = batchResponse.getResponse(requests.get(i));
+            if (response == null) {
+                continue;
+            }
+            try {
+                Optional<? extends TransactionReceipt> receipt = getTransactionReceipt(pendingReceipt.transactionHash, response);
+                receipt.ifPresent(pendingReceipt.future::complete);
+            } catch (TransactionException e) {
+                pendingReceipt.future.completeExceptionally(e);
+            }
+        }
+    }
+    
+    private class PendingReceipt {
+        private final String chainId;
+        private final String transactionHash;
+        private final long created = System.currentTimeMillis();
+        private final long deadline;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        // only touched by the poller
+        private long interval = pollingFrequency;
+        private volatile long nextPoll;
+        
+        PendingReceipt(String chainId, String transactionHash, long deadline) {
+            this.chainId = chainId;
+            this.transactionHash = transactionHash;
+            this.deadline = deadline;
+        }
+    }
+}
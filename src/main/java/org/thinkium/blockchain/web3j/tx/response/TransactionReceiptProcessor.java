@@ -12,7 +12,7 @@ import java.util.Optional;
 /** Abstraction for managing how we wait for transaction receipts to be generated on the network. */
 public abstract class TransactionReceiptProcessor {
     
-    private final Web3j web3j;
+    protected final Web3j web3j;
     
     public TransactionReceiptProcessor(Web3j web3j) {
         this.web3j = web3j;
@@ -21,7 +21,10 @@ public abstract class TransactionReceiptProcessor {
     public abstract TransactionReceipt waitForTransactionReceipt(String chainId, String transactionHash) throws IOException, TransactionException;
     
     Optional<? extends TransactionReceipt> sendTransactionReceiptRequest(String chainId, String transactionHash) throws IOException, TransactionException {
-        ThkGetTransactionByHash transactionReceipt = web3j.getTransactionByHash(chainId, transactionHash).send();
+        return getTransactionReceipt(transactionHash, web3j.getTransactionByHash(chainId, transactionHash).send());
+    }
+    
+    static Optional<? extends TransactionReceipt> getTransactionReceipt(String transactionHash, ThkGetTransactionByHash transactionReceipt) throws TransactionException {
         if (transactionReceipt.hasError() && transactionReceipt.getError().getCode() != ErrorEnum.TransactionNotFound.getCode()) {
             throw new TransactionException("Error processing request: " + transactionReceipt.getError().getMessage(), transactionHash);
         }
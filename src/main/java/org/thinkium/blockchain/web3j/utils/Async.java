@@ -1,5 +1,6 @@
 package org.thinkium.blockchain.web3j.utils;
 
+import java.io.IOException;
 import java.util.concurrent.*;
 
 /** Async task facilitation. */
@@ -27,6 +28,38 @@ public class Async {
         return result;
     }
     
+    /**
+     * Wait for a future, rethrowing its failure as a synchronous call would throw it.
+     *
+     * @param future future to wait for
+     * @param <T>    type of its value
+     *
+     * @return its value
+     *
+     * @throws IOException if the future failed with an {@link IOException} or any other checked
+     *                     exception, or if the thread was interrupted while waiting
+     */
+    public static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a response", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+    
     private static int getCpuCount() {
         return Runtime.getRuntime().availableProcessors();
     }
@@ -47,6 +80,32 @@ public class Async {
         return scheduledExecutorService;
     }
     
+    /**
+     * Provide a fixed size ExecutorService backed by a bounded work queue. Once the queue is full
+     * tasks are run on the submitting thread, which throttles the producer instead of growing the
+     * pool. Threads are daemons so an idle pool never keeps the JVM alive.
+     *
+     * @param threads       number of worker threads
+     * @param queueCapacity maximum number of queued tasks
+     *
+     * @return new ExecutorService
+     */
+    public static ExecutorService boundedExecutorService(int threads, int queueCapacity) {
+        ThreadFactory delegate = Executors.defaultThreadFactory();
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = delegate.newThread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
     /**
      * Shutdown as per {@link ExecutorService} Javadoc recommendation.
      *
@@ -1,83 +1,199 @@
 package org.thinkium.blockchain.web3j.utils;
 
-import org.bouncycastle.util.encoders.Encoder;
-import org.bouncycastle.util.encoders.HexEncoder;
+import org.thinkium.blockchain.web3j.exceptions.MessageDecodingException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
- * Created by thk on 6/18/19.
+ * Table driven hex codec. Encodes into caller supplied {@code char[]}/{@code byte[]} and decodes
+ * ranges of any {@link CharSequence}, skipping an optional {@code 0x} prefix in place, so callers
+ * need no substring or intermediate buffers.
+ *
+ * <p>Digits are written lowercase; both cases are accepted on decode. An odd number of digits
+ * decodes as if it had a leading zero.
  */
 public class Hex {
-    private static final Encoder encoder = new HexEncoder();
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+    /** Value of every char as a hex digit, or -1; indexed by the full char to avoid a range check. */
+    private static final byte[] VALUES = new byte[Character.MAX_VALUE + 1];
     
-    public Hex() {
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            VALUES['a' + i] = (byte) (10 + i);
+            VALUES['A' + i] = (byte) (10 + i);
+        }
     }
     
-    public static String toHexString(byte[] var0) {
-        return toHexString(var0, 0, var0.length);
+    public Hex() {
     }
     
-    public static String toHexString(byte[] var0, int var1, int var2) {
-        byte[] var3 = encode(var0, var1, var2);
-        return org.bouncycastle.util.Strings.fromByteArray(var3);
+    /**
+     * Encode bytes as hex digits into a char array.
+     *
+     * @param input        the bytes
+     * @param offset       first byte to encode
+     * @param length       number of bytes
+     * @param output       receives {@code 2 * length} digits
+     * @param outputOffset where the digits start in {@code output}
+     *
+     * @return number of chars written
+     */
+    public static int encode(byte[] input, int offset, int length, char[] output, int outputOffset) {
+        for (int i = offset, j = outputOffset; i < offset + length; i++) {
+            int b = input[i];
+            output[j++] = DIGITS[(b >>> 4) & 0xf];
+            output[j++] = DIGITS[b & 0xf];
+        }
+        return length << 1;
     }
     
-    public static byte[] encode(byte[] var0) {
-        return encode(var0, 0, var0.length);
+    /**
+     * Encode bytes as ASCII hex digits into a byte array.
+     *
+     * @param input        the bytes
+     * @param offset       first byte to encode
+     * @param length       number of bytes
+     * @param output       receives {@code 2 * length} digits
+     * @param outputOffset where the digits start in {@code output}
+     *
+     * @return number of bytes written
+     */
+    public static int encode(byte[] input, int offset, int length, byte[] output, int outputOffset) {
+        for (int i = offset, j = outputOffset; i < offset + length; i++) {
+            int b = input[i];
+            output[j++] = (byte) DIGITS[(b >>> 4) & 0xf];
+            output[j++] = (byte) DIGITS[b & 0xf];
+        }
+        return length << 1;
     }
     
-    public static byte[] encode(byte[] var0, int var1, int var2) {
-        ByteArrayOutputStream var3 = new ByteArrayOutputStream();
-        
-        try {
-            encoder.encode(var0, var1, var2, var3);
-        } catch (Exception var5) {
-            // throw new EncoderException("exception encoding Hex string: " + var5.getMessage(), var5);
-            System.err.println("exception encoding Hex string: 1 ");
+    public static String toHexString(byte[] input, int offset, int length, boolean withPrefix) {
+        int prefix = withPrefix ? 2 : 0;
+        char[] chars = new char[prefix + (length << 1)];
+        if (withPrefix) {
+            chars[0] = '0';
+            chars[1] = 'x';
         }
-        
-        return var3.toByteArray();
+        encode(input, offset, length, chars, prefix);
+        return new String(chars);
+    }
+    
+    public static String toHexString(byte[] input) {
+        return toHexString(input, 0, input.length);
     }
     
-    public static int encode(byte[] var0, OutputStream var1) throws IOException {
-        return encoder.encode(var0, 0, var0.length, var1);
+    public static String toHexString(byte[] input, int offset, int length) {
+        return toHexString(input, offset, length, false);
     }
     
-    public static int encode(byte[] var0, int var1, int var2, OutputStream var3) throws IOException {
-        return encoder.encode(var0, var1, var2, var3);
+    public static byte[] encode(byte[] input) {
+        return encode(input, 0, input.length);
     }
     
-    public static byte[] decode(byte[] var0) {
-        ByteArrayOutputStream var1 = new ByteArrayOutputStream();
-        
-        try {
-            encoder.decode(var0, 0, var0.length, var1);
-        } catch (Exception var3) {
-            //throw new DecoderException("exception decoding Hex data: " + var3.getMessage(), var3);
-            System.err.println("method:decode  2");
+    public static byte[] encode(byte[] input, int offset, int length) {
+        byte[] output = new byte[length << 1];
+        encode(input, offset, length, output, 0);
+        return output;
+    }
+    
+    public static int encode(byte[] input, OutputStream out) throws IOException {
+        return encode(input, 0, input.length, out);
+    }
+    
+    public static int encode(byte[] input, int offset, int length, OutputStream out) throws IOException {
+        out.write(encode(input, offset, length));
+        return length << 1;
+    }
+    
+    /**
+     * Number of bytes {@link #decode(CharSequence, int, int, byte[], int)} produces for a range.
+     *
+     * @param input hex digits, optionally 0x prefixed
+     * @param start first char of the range
+     * @param end   char after the range
+     *
+     * @return decoded length in bytes
+     */
+    public static int decodedLength(CharSequence input, int start, int end) {
+        int digits = end - skipPrefix(input, start, end);
+        return (digits + 1) >> 1;
+    }
+    
+    /**
+     * Decode a range of hex digits, optionally 0x prefixed, into a byte array.
+     *
+     * @param input        hex digits
+     * @param start        first char of the range
+     * @param end          char after the range
+     * @param output       receives {@link #decodedLength(CharSequence, int, int)} bytes
+     * @param outputOffset where the bytes start in {@code output}
+     *
+     * @return number of bytes written
+     *
+     * @throws MessageDecodingException if the range holds a char that is not a hex digit
+     */
+    public static int decode(CharSequence input, int start, int end, byte[] output, int outputOffset) {
+        int i = skipPrefix(input, start, end);
+        int j = outputOffset;
+        if (((end - i) & 1) != 0) {
+            output[j++] = (byte) digit(input, i++);
+        }
+        int invalid = 0;
+        for (; i < end; i += 2) {
+            int high = VALUES[input.charAt(i)];
+            int low = VALUES[input.charAt(i + 1)];
+            invalid |= high | low;
+            output[j++] = (byte) (high << 4 | low);
         }
-        
-        return var1.toByteArray();
-    }
-    
-    public static byte[] decode(String var0) {
-        ByteArrayOutputStream var1 = new ByteArrayOutputStream();
-        
-        try {
-            encoder.decode(var0, var1);
-        } catch (Exception var3) {
-            //throw new DecoderException("exception decoding Hex string: " + var3.getMessage(), var3);
-            System.err.println("method:decode 3 ");
+        if (invalid < 0) {
+            // report the first offending char
+            for (i = skipPrefix(input, start, end); i < end; i++) {
+                digit(input, i);
+            }
+        }
+        return j - outputOffset;
+    }
+    
+    public static byte[] decode(CharSequence input, int start, int end) {
+        byte[] output = new byte[decodedLength(input, start, end)];
+        decode(input, start, end, output, 0);
+        return output;
+    }
+    
+    public static byte[] decode(String input) {
+        return decode(input, 0, input.length());
+    }
+    
+    public static byte[] decode(byte[] input) {
+        return decode(new String(input, StandardCharsets.US_ASCII));
+    }
+    
+    public static int decode(String input, OutputStream out) throws IOException {
+        byte[] bytes = decode(input);
+        out.write(bytes);
+        return bytes.length;
+    }
+    
+    private static int skipPrefix(CharSequence input, int start, int end) {
+        if (end - start > 1 && input.charAt(start) == '0' && input.charAt(start + 1) == 'x') {
+            return start + 2;
         }
-        
-        
-        return var1.toByteArray();
+        return start;
     }
     
-    public static int decode(String var0, OutputStream var1) throws IOException {
-        return encoder.decode(var0, var1);
+    private static int digit(CharSequence input, int index) {
+        char c = input.charAt(index);
+        int value = VALUES[c];
+        if (value < 0) {
+            throw new MessageDecodingException("Invalid hex character '" + c + "' at index " + index);
+        }
+        return value;
     }
 }
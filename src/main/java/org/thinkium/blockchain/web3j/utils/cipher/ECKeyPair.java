@@ -1,9 +1,5 @@
 package org.thinkium.blockchain.web3j.utils.cipher;
 
-import org.bouncycastle.crypto.digests.SHA256Digest;
-import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
-import org.bouncycastle.crypto.signers.ECDSASigner;
-import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
 import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPrivateKey;
 import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPublicKey;
 import org.thinkium.blockchain.web3j.utils.Numeric;
@@ -41,13 +37,18 @@ public class ECKeyPair {
      * @return An {@link ECDSASignature} of the hash
      */
     public ECDSASignature sign(byte[] transactionHash) {
-        ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        
-        ECPrivateKeyParameters privKey = new ECPrivateKeyParameters(privateKey, Sign.CURVE);
-        signer.init(true, privKey);
-        BigInteger[] components = signer.generateSignature(transactionHash);
-        
-        return new ECDSASignature(components[0], components[1]).toCanonicalised();
+        return signRecoverable(transactionHash);
+    }
+    
+    /**
+     * Sign a hash with the private key of this key pair, keeping the recovery id.
+     *
+     * @param transactionHash the hash to sign
+     *
+     * @return A canonical {@link RecoverableSignature} of the hash
+     */
+    public RecoverableSignature signRecoverable(byte[] transactionHash) {
+        return new RecoverableECDSASigner().generateSignature(privateKey, transactionHash);
     }
     
     public static ECKeyPair create(KeyPair keyPair) {
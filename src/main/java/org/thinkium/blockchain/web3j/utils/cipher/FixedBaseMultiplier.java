@@ -0,0 +1,178 @@
+package org.thinkium.blockchain.web3j.utils.cipher;
+
+import org.bouncycastle.math.ec.AbstractECMultiplier;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Multiplies one fixed base point through a precomputed window table: for every {@code width}
+ * bit window {@code i} of the scalar the table holds {@code (j + 1) * 2^(width * i) * base} for
+ * every digit {@code j}, so a multiplication is one point addition per window and no doublings.
+ * The extra {@code 2^(width * i) * base} of every window is subtracted once at the end. Other
+ * points fall back to a {@link FixedPointCombMultiplier}.
+ *
+ * <p>The scalar is usually secret, a private key or an ECDSA nonce, so the table is read without
+ * depending on its digits: the scalar is read at a fixed length, every window adds a point, and the
+ * point is selected by masking every entry of the window rather than by indexing the table with
+ * the digit. Only the table access pattern is independent of the digits; this is not a constant
+ * time multiplication. The {@link BigInteger} arithmetic, the creation of the selected point and
+ * the branches of {@link ECPoint#add} still take time depending on the values.
+ *
+ * <p>The table is built once and only read afterwards, so an instance can be shared between
+ * threads.
+ */
+public class FixedBaseMultiplier extends AbstractECMultiplier {
+    
+    /**
+     * 6 bit windows for the secp256k1 generator: 43 windows of 64 points. Wider windows add fewer
+     * points but scan more of them per window.
+     */
+    public static final FixedBaseMultiplier SECP256K1 = new FixedBaseMultiplier(Sign.CURVE.getG(), Sign.CURVE.getN().bitLength(), 6);
+    
+    private final ECPoint base;
+    private final int width;
+    private final int windows;
+    private final int entries;
+    /** Longs of an affine coordinate. */
+    private final int coordinateLength;
+    private volatile Table table;
+    private final FixedPointCombMultiplier fallback = new FixedPointCombMultiplier();
+    
+    /**
+     * @param base   the fixed point
+     * @param bits   largest scalar bit length handled through the table
+     * @param width  window width in bits, the table holds {@code bits / width * 2^width} points
+     */
+    public FixedBaseMultiplier(ECPoint base, int bits, int width) {
+        this.base = base.normalize();
+        this.width = width;
+        this.windows = (bits + width - 1) / width;
+        this.entries = 1 << width;
+        this.coordinateLength = (base.getCurve().getFieldSize() + 63) / 64;
+    }
+    
+    @Override
+    protected ECPoint multiplyPositive(ECPoint p, BigInteger k) {
+        if (!p.equals(base) || k.bitLength() > windows * width) {
+            return fallback.multiply(p, k);
+        }
+        Table table = getTable();
+        byte[] scalar = BigIntegers.asUnsignedByteArray((windows * width + 7) / 8, k);
+        long[] coordinates = new long[2 * coordinateLength];
+        ECPoint result = lookup(table.coordinates[0], digit(scalar, 0), coordinates);
+        for (int window = 1; window < windows; window++) {
+            result = result.add(lookup(table.coordinates[window], digit(scalar, window * width), coordinates));
+        }
+        return result.add(table.negatedOffset);
+    }
+    
+    /** The {@code width} bits of a big-endian scalar starting at bit {@code offset}. */
+    private int digit(byte[] scalar, int offset) {
+        int digit = 0;
+        for (int bit = 0; bit < width; bit++) {
+            int index = offset + bit;
+            digit |= (scalar[scalar.length - 1 - (index >>> 3)] >>> (index & 7) & 1) << bit;
+        }
+        return digit;
+    }
+    
+    /** The entry of a window, reading every entry so that the memory accessed does not depend on the digit. */
+    private ECPoint lookup(long[] window, int digit, long[] coordinates) {
+        Arrays.fill(coordinates, 0);
+        int stride = coordinates.length;
+        for (int entry = 0; entry < entries; entry++) {
+            // all ones for the entry of the digit, else zero
+            long mask = ((entry ^ digit) - 1) >> 31;
+            int offset = entry * stride;
+            for (int i = 0; i < stride; i++) {
+                coordinates[i] |= window[offset + i] & mask;
+            }
+        }
+        return base.getCurve().createPoint(
+                toBigInteger(coordinates, 0, coordinateLength),
+                toBigInteger(coordinates, coordinateLength, coordinateLength));
+    }
+    
+    private Table getTable() {
+        Table table = this.table;
+        if (table == null) {
+            synchronized (this) {
+                table = this.table;
+                if (table == null) {
+                    table = precompute();
+                    this.table = table;
+                }
+            }
+        }
+        return table;
+    }
+    
+    private Table precompute() {
+        ECCurve curve = base.getCurve();
+        ECPoint[] points = new ECPoint[windows * entries];
+        ECPoint windowBase = base;
+        ECPoint offset = curve.getInfinity();
+        for (int window = 0; window < windows; window++) {
+            int first = window * entries;
+            points[first] = windowBase;
+            for (int entry = 1; entry < entries; entry++) {
+                points[first + entry] = points[first + entry - 1].add(windowBase);
+            }
+            offset = offset.add(windowBase);
+            // 2^width times the base of this window
+            windowBase = points[first + entries - 1].normalize();
+        }
+        curve.normalizeAll(points);
+        
+        int stride = 2 * coordinateLength;
+        long[][] coordinates = new long[windows][entries * stride];
+        for (int window = 0; window < windows; window++) {
+            for (int entry = 0; entry < entries; entry++) {
+                ECPoint point = points[window * entries + entry];
+                int at = entry * stride;
+                toLongs(point.getAffineXCoord().toBigInteger(), coordinates[window], at);
+                toLongs(point.getAffineYCoord().toBigInteger(), coordinates[window], at + coordinateLength);
+            }
+        }
+        return new Table(coordinates, offset.negate().normalize());
+    }
+    
+    private void toLongs(BigInteger value, long[] longs, int offset) {
+        byte[] bytes = BigIntegers.asUnsignedByteArray(coordinateLength * 8, value);
+        for (int i = 0; i < coordinateLength; i++) {
+            long word = 0;
+            for (int b = 0; b < 8; b++) {
+                word = word << 8 | bytes[8 * i + b] & 0xff;
+            }
+            longs[offset + i] = word;
+        }
+    }
+    
+    private static BigInteger toBigInteger(long[] longs, int offset, int length) {
+        byte[] bytes = new byte[length * 8];
+        for (int i = 0; i < length; i++) {
+            long word = longs[offset + i];
+            for (int b = 7; b >= 0; b--) {
+                bytes[8 * i + b] = (byte) word;
+                word >>>= 8;
+            }
+        }
+        return new BigInteger(1, bytes);
+    }
+    
+    /** Affine coordinates of the points of every window, x then y, and the offset to subtract. */
+    private static final class Table {
+        private final long[][] coordinates;
+        private final ECPoint negatedOffset;
+        
+        Table(long[][] coordinates, ECPoint negatedOffset) {
+            this.coordinates = coordinates;
+            this.negatedOffset = negatedOffset;
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package org.thinkium.blockchain.web3j.utils.cipher;
 
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.digests.RIPEMD160Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.macs.HMac;
 import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.jcajce.provider.digest.Keccak;
 import org.thinkium.blockchain.web3j.utils.Numeric;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -15,6 +16,16 @@ import java.security.NoSuchAlgorithmException;
  * Cryptographic hash functions.
  */
 public class Hash {
+    /** Length of a Keccak-256 hash in bytes. */
+    public static final int SHA3_LENGTH = 32;
+    
+    private static final int CHUNK_SIZE = 4096;
+    
+    /** Keccak-256 state of the calling thread, always left reset between calls. */
+    private static final ThreadLocal<KeccakDigest> KECCAK = ThreadLocal.withInitial(() -> new KeccakDigest(256));
+    /** Staging buffer for input that is not backed by an accessible array. */
+    private static final ThreadLocal<byte[]> CHUNK = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+    
     private Hash() {
     }
     
@@ -41,9 +52,72 @@ public class Hash {
      * @return hash value
      */
     public static byte[] sha3(byte[] input, int offset, int length) {
-        Keccak.DigestKeccak kecc = new Keccak.Digest256();
-        kecc.update(input, offset, length);
-        return kecc.digest();
+        byte[] output = new byte[SHA3_LENGTH];
+        sha3(input, offset, length, output, 0);
+        return output;
+    }
+    
+    /**
+     * Keccak-256 hash function writing into a caller supplied array.
+     *
+     * @param input        binary encoded input data
+     * @param offset       of start of data
+     * @param length       of data
+     * @param output       array receiving the {@link #SHA3_LENGTH} bytes of the hash
+     * @param outputOffset where the hash starts in {@code output}
+     */
+    public static void sha3(byte[] input, int offset, int length, byte[] output, int outputOffset) {
+        KeccakDigest keccak = KECCAK.get();
+        try {
+            keccak.update(input, offset, length);
+            keccak.doFinal(output, outputOffset);
+        } catch (RuntimeException e) {
+            keccak.reset();
+            throw e;
+        }
+    }
+    
+    /**
+     * Keccak-256 hash function over the remaining bytes of a buffer, heap or direct. The buffer's
+     * position is moved to its limit.
+     *
+     * @param input        binary encoded input data
+     * @param output       array receiving the {@link #SHA3_LENGTH} bytes of the hash
+     * @param outputOffset where the hash starts in {@code output}
+     */
+    public static void sha3(ByteBuffer input, byte[] output, int outputOffset) {
+        KeccakDigest keccak = KECCAK.get();
+        try {
+            if (input.hasArray()) {
+                keccak.update(input.array(), input.arrayOffset() + input.position(), input.remaining());
+                input.position(input.limit());
+            } else {
+                byte[] chunk = CHUNK.get();
+                while (input.hasRemaining()) {
+                    int length = Math.min(input.remaining(), chunk.length);
+                    input.get(chunk, 0, length);
+                    keccak.update(chunk, 0, length);
+                }
+            }
+            keccak.doFinal(output, outputOffset);
+        } catch (RuntimeException e) {
+            keccak.reset();
+            throw e;
+        }
+    }
+    
+    /**
+     * Keccak-256 hash function over the remaining bytes of a buffer, heap or direct. The buffer's
+     * position is moved to its limit.
+     *
+     * @param input binary encoded input data
+     *
+     * @return hash value
+     */
+    public static byte[] sha3(ByteBuffer input) {
+        byte[] output = new byte[SHA3_LENGTH];
+        sha3(input, output, 0);
+        return output;
     }
     
     /**
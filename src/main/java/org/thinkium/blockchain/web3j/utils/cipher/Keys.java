@@ -65,7 +65,7 @@ public class Keys {
     }
     
     public static String getAddress(BigInteger publicKey) {
-        return getAddress(Numeric.toHexStringWithPrefixZeroPadded(publicKey, PUBLIC_KEY_LENGTH_IN_HEX));
+        return Numeric.toHexStringNoPrefix(getAddress(Numeric.toBytesPadded(publicKey, PUBLIC_KEY_SIZE)));
     }
     
     public static String getAddress(String publicKey) {
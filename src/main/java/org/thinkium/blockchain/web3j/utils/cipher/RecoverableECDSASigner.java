@@ -0,0 +1,74 @@
+package org.thinkium.blockchain.web3j.utils.cipher;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.signers.DSAKCalculator;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+
+/**
+ * Deterministic (RFC 6979) ECDSA over secp256k1 that reports the recovery id of every signature.
+ *
+ * <p>Produces the same R and S as BouncyCastle's {@code ECDSASigner} with an {@link
+ * HMacDSAKCalculator}, but keeps the ephemeral point R: its y parity and whether its x overflowed
+ * the curve order are the two bits of the recovery id, so no trial key recovery is needed.
+ *
+ * <p>Instances are not thread safe.
+ */
+public class RecoverableECDSASigner {
+    
+    private final DSAKCalculator kCalculator;
+    private final ECMultiplier multiplier;
+    
+    public RecoverableECDSASigner() {
+        this(new HMacDSAKCalculator(new SHA256Digest()), FixedBaseMultiplier.SECP256K1);
+    }
+    
+    public RecoverableECDSASigner(DSAKCalculator kCalculator, ECMultiplier multiplier) {
+        this.kCalculator = kCalculator;
+        this.multiplier = multiplier;
+    }
+    
+    /**
+     * Sign a hash.
+     *
+     * @param privateKey  the private key
+     * @param messageHash the hash to sign
+     *
+     * @return the canonical signature with its recovery id
+     */
+    public RecoverableSignature generateSignature(BigInteger privateKey, byte[] messageHash) {
+        BigInteger n = Sign.CURVE.getN();
+        BigInteger e = calculateE(n, messageHash);
+        kCalculator.init(n, privateKey, messageHash);
+        
+        while (true) {
+            BigInteger k = kCalculator.nextK();
+            ECPoint p = multiplier.multiply(Sign.CURVE.getG(), k).normalize();
+            BigInteger x = p.getAffineXCoord().toBigInteger();
+            BigInteger r = x.mod(n);
+            if (r.signum() == 0) {
+                continue;
+            }
+            BigInteger s = k.modInverse(n).multiply(e.add(privateKey.multiply(r))).mod(n);
+            if (s.signum() == 0) {
+                continue;
+            }
+            int recId = (p.getAffineYCoord().testBitZero() ? 1 : 0) | (x.equals(r) ? 0 : 2);
+            return new RecoverableSignature(r, s, recId).toCanonicalised();
+        }
+    }
+    
+    private static BigInteger calculateE(BigInteger n, byte[] message) {
+        int log2n = n.bitLength();
+        int messageBitLength = message.length * 8;
+        
+        BigInteger e = new BigInteger(1, message);
+        if (log2n < messageBitLength) {
+            e = e.shiftRight(messageBitLength - log2n);
+        }
+        return e;
+    }
+}
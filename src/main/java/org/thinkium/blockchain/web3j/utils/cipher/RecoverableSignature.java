@@ -0,0 +1,42 @@
+package org.thinkium.blockchain.web3j.utils.cipher;
+
+import org.thinkium.blockchain.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+
+/**
+ * An {@link ECDSASignature} that also carries the recovery id, the index {@link
+ * Sign#recoverFromSignature(int, ECDSASignature, byte[])} needs to get the signing key back.
+ */
+public class RecoverableSignature extends ECDSASignature {
+    public final int recId;
+    
+    public RecoverableSignature(BigInteger r, BigInteger s, int recId) {
+        super(r, s);
+        this.recId = recId;
+    }
+    
+    /**
+     * Negating S mirrors the ephemeral point R, so the parity bit of the recovery id flips along.
+     *
+     * @return the signature in a canonicalised form.
+     */
+    @Override
+    public RecoverableSignature toCanonicalised() {
+        if (!isCanonical()) {
+            return new RecoverableSignature(r, Sign.CURVE.getN().subtract(s), recId ^ 1);
+        } else {
+            return this;
+        }
+    }
+    
+    /**
+     * @return signature data with the header byte {@code 27 + recId}
+     */
+    public Sign.SignatureData toSignatureData() {
+        return new Sign.SignatureData(
+                (byte) (recId + 27),
+                Numeric.toBytesPadded(r, 32),
+                Numeric.toBytesPadded(s, 32));
+    }
+}
@@ -0,0 +1,95 @@
+package org.thinkium.blockchain.web3j.utils.cipher;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+/**
+ * Keccak-256 over text that is fed piece by piece, without joining the pieces into one string
+ * first. Characters are encoded with the platform charset, as {@link String#getBytes()} would, so
+ * hashing {@code a} then {@code b} equals {@code Hash.sha3((a + b).getBytes())}. ASCII goes
+ * straight into a small reusable buffer; anything else falls back to {@link String#getBytes()}
+ * for the rest of that piece.
+ *
+ * <p>Every thread reuses one instance through {@link #begin()}; finish it before beginning the
+ * next hash on the same thread.
+ */
+public class Sha3Stream {
+    
+    private static final ThreadLocal<Sha3Stream> STREAMS = ThreadLocal.withInitial(Sha3Stream::new);
+    
+    private final KeccakDigest keccak = new KeccakDigest(256);
+    private final byte[] buffer = new byte[512];
+    private int count;
+    
+    private Sha3Stream() {
+    }
+    
+    /**
+     * @return the reset stream of the calling thread
+     */
+    public static Sha3Stream begin() {
+        Sha3Stream stream = STREAMS.get();
+        stream.keccak.reset();
+        stream.count = 0;
+        return stream;
+    }
+    
+    public Sha3Stream append(char c) {
+        if (c >= 0x80) {
+            return append(String.valueOf(c));
+        }
+        if (count == buffer.length) {
+            flush();
+        }
+        buffer[count++] = (byte) c;
+        return this;
+    }
+    
+    public Sha3Stream append(String s) {
+        return append(s, 0, s.length());
+    }
+    
+    /**
+     * Append the characters {@code [start, end)} of a string.
+     *
+     * @param s     the text
+     * @param start first character
+     * @param end   character after the last one
+     *
+     * @return this stream
+     */
+    public Sha3Stream append(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                flush();
+                byte[] rest = s.substring(i, end).getBytes();
+                keccak.update(rest, 0, rest.length);
+                return this;
+            }
+            if (count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte) c;
+        }
+        return this;
+    }
+    
+    /**
+     * Complete the hash. The stream is reset by the next {@link #begin()}.
+     *
+     * @return the Keccak-256 hash of everything appended
+     */
+    public byte[] finish() {
+        flush();
+        byte[] output = new byte[Hash.SHA3_LENGTH];
+        keccak.doFinal(output, 0);
+        return output;
+    }
+    
+    private void flush() {
+        if (count > 0) {
+            keccak.update(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
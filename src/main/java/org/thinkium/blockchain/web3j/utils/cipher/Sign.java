@@ -6,7 +6,6 @@ import org.bouncycastle.crypto.ec.CustomNamedCurves;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.math.ec.ECAlgorithms;
 import org.bouncycastle.math.ec.ECPoint;
-import org.bouncycastle.math.ec.FixedPointCombMultiplier;
 import org.bouncycastle.math.ec.custom.sec.SecP256K1Curve;
 import org.thinkium.blockchain.web3j.utils.Numeric;
 
@@ -50,7 +49,6 @@ public class Sign {
     }
     
     public static SignatureData signMessage(byte[] message, ECKeyPair keyPair, boolean needToHash) {
-        BigInteger publicKey = keyPair.getPublicKey();
         byte[] messageHash;
         if (needToHash) {
             messageHash = Hash.sha3(message);
@@ -58,29 +56,23 @@ public class Sign {
             messageHash = message;
         }
         
-        ECDSASignature sig = keyPair.sign(messageHash);
-        // Now we have to work backwards to figure out the recId needed to recover the signature.
-        int recId = -1;
-        for (int i = 0; i < 4; i++) {
-            BigInteger k = recoverFromSignature(i, sig, messageHash);
-            if (k != null && k.equals(publicKey)) {
-                recId = i;
-                break;
-            }
-        }
-        if (recId == -1) {
-            throw new RuntimeException(
-                    "Could not construct a recoverable key. Are your credentials valid?");
-        }
-        
-        int headerByte = recId + 27;
-        
-        // 1 header + 32 bytes for R + 32 bytes for S
-        byte v = (byte) headerByte;
-        byte[] r = Numeric.toBytesPadded(sig.r, 32);
-        byte[] s = Numeric.toBytesPadded(sig.s, 32);
-        
-        return new SignatureData(v, r, s);
+        return keyPair.signRecoverable(messageHash).toSignatureData();
+    }
+    
+    /**
+     * Encode a signature the way Thinkium transactions carry it: hex of R and S, each padded to
+     * 32 bytes, followed by the fixed trailer byte 0x1c.
+     *
+     * @param sig the signature
+     *
+     * @return 0x prefixed hex of the 65 byte signature
+     */
+    public static String toTransactionSignature(ECDSASignature sig) {
+        byte[] signature = new byte[65];
+        System.arraycopy(Numeric.toBytesPadded(sig.r, 32), 0, signature, 0, 32);
+        System.arraycopy(Numeric.toBytesPadded(sig.s, 32), 0, signature, 32, 32);
+        signature[64] = 0x1c;
+        return Numeric.toHexString(signature);
     }
     
     /**
@@ -258,13 +250,13 @@ public class Sign {
      */
     public static ECPoint publicPointFromPrivate(BigInteger privKey) {
         /*
-         * TODO: FixedPointCombMultiplier currently doesn't support scalars longer than the group
-         * order, but that could change in future versions.
+         * The precomputed table of FixedBaseMultiplier only covers scalars up to the bit length
+         * of the group order, reduce longer ones first.
          */
         if (privKey.bitLength() > CURVE.getN().bitLength()) {
             privKey = privKey.mod(CURVE.getN());
         }
-        return new FixedPointCombMultiplier().multiply(CURVE.getG(), privKey);
+        return FixedBaseMultiplier.SECP256K1.multiply(CURVE.getG(), privKey);
     }
     
     /**
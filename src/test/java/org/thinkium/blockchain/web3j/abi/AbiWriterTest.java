@@ -0,0 +1,110 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Int8;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray2;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint32;
+import org.thinkium.blockchain.web3j.utils.Hex;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AbiWriterTest {
+    
+    @Test
+    public void testEncodeFunction() {
+        // examples from the Solidity ABI specification
+        Assert.assertEquals("0xcdcd77c0"
+                        + "0000000000000000000000000000000000000000000000000000000000000045"
+                        + "0000000000000000000000000000000000000000000000000000000000000001",
+                FunctionEncoder.encode(new Function("baz",
+                        Arrays.asList(new Uint32(BigInteger.valueOf(69)), new Bool(true)),
+                        Collections.emptyList())));
+        
+        Assert.assertEquals("0xa5643bf2"
+                        + "0000000000000000000000000000000000000000000000000000000000000060"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "00000000000000000000000000000000000000000000000000000000000000a0"
+                        + "0000000000000000000000000000000000000000000000000000000000000004"
+                        + "6461766500000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000003",
+                FunctionEncoder.encode(new Function("sam",
+                        Arrays.asList(
+                                new DynamicBytes("dave".getBytes(StandardCharsets.UTF_8)),
+                                new Bool(true),
+                                new DynamicArray<>(Uint256.class, uint256(1), uint256(2), uint256(3))),
+                        Collections.emptyList())));
+    }
+    
+    @Test
+    public void testEncodeConstructor() {
+        List<Type> parameters = Arrays.asList(
+                new StaticArray2<>(Uint256.class, uint256(1), new Uint256(BigInteger.ONE.shiftLeft(255))),
+                new Utf8String("a"),
+                new Int8(BigInteger.valueOf(-128)));
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "8000000000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000080"
+                        + "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff80"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "6100000000000000000000000000000000000000000000000000000000000000",
+                FunctionEncoder.encodeConstructor(parameters));
+    }
+    
+    @Test
+    public void testEncodeStringArray() {
+        // offsets follow the UTF-8 length of every element
+        DynamicArray<Utf8String> strings = new DynamicArray<>(Utf8String.class,
+                new Utf8String(repeat("\u00e9", 20)), new Utf8String("b"));
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "00000000000000000000000000000000000000000000000000000000000000a0"
+                        + "0000000000000000000000000000000000000000000000000000000000000028"
+                        + repeat("c3a9", 16)
+                        + repeat("c3a9", 4) + repeat("00", 24)
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "6200000000000000000000000000000000000000000000000000000000000000",
+                TypeEncoder.encode(strings));
+    }
+    
+    @Test
+    public void testEncodedLength() {
+        Assert.assertEquals(0, AbiWriter.utf8Length(""));
+        Assert.assertEquals(1 + 2 + 3 + 4 + 1, AbiWriter.utf8Length("a\u00e9\u20ac\ud83d\ude00\ud83d"));
+        
+        Type address = new Address("0x5dfcfc6f4b48f93213dad643a50228ff873c15b9");
+        DynamicArray<Address> addresses = new DynamicArray<>(Address.class, Collections.nCopies(3, (Address) address));
+        Assert.assertEquals(4 * 32, AbiWriter.encodedLength(addresses));
+        Assert.assertEquals(6 * 32, AbiWriter.encodedLength(Arrays.asList(address, addresses)));
+        
+        byte[] buffer = new byte[2 + 32];
+        AbiWriter writer = new AbiWriter(buffer, 2);
+        writer.write(address);
+        Assert.assertEquals(buffer.length, writer.getPosition());
+        Assert.assertEquals("00000000000000000000000000005dfcfc6f4b48f93213dad643a50228ff873c15b9",
+                Hex.toHexString(buffer));
+    }
+    
+    private static Uint256 uint256(long value) {
+        return new Uint256(BigInteger.valueOf(value));
+    }
+    
+    private static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint32;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FunctionCodecTest {
+    
+    @Test
+    public void testCodecIsCachedPerShape() {
+        FunctionCodec codec = FunctionCodec.of(baz(69, true));
+        Assert.assertSame(codec, FunctionCodec.of(baz(1, false)));
+        Assert.assertEquals("baz(uint32,bool)", codec.getMethodSignature());
+        Assert.assertEquals("0xcdcd77c0", codec.getMethodId());
+        
+        Function other = new Function("baz",
+                Arrays.asList(new Uint32(BigInteger.ONE), new Bool(true)),
+                Collections.singletonList(new TypeReference<Bool>() {
+                }));
+        Assert.assertNotSame(codec, FunctionCodec.of(other));
+    }
+    
+    @Test
+    public void testEncodeReusesLayout() {
+        FunctionCodec codec = FunctionCodec.of(baz(69, true));
+        Assert.assertEquals("0xcdcd77c0"
+                        + "0000000000000000000000000000000000000000000000000000000000000045"
+                        + "0000000000000000000000000000000000000000000000000000000000000001",
+                codec.encode(baz(69, true)));
+        Assert.assertEquals("0xcdcd77c0"
+                        + "0000000000000000000000000000000000000000000000000000000000000007"
+                        + "0000000000000000000000000000000000000000000000000000000000000000",
+                codec.encode(baz(7, false)));
+        
+        Function sam = new Function("sam",
+                Arrays.asList(
+                        new DynamicBytes(new byte[]{1, 2}),
+                        new DynamicArray<>(Uint256.class, new Uint256(BigInteger.ONE))),
+                Collections.emptyList());
+        String first = FunctionEncoder.encode(sam);
+        Assert.assertEquals(FunctionCodec.of(sam).encode(sam), first);
+        Assert.assertEquals(first.substring(0, 10) + FunctionEncoder.encodeConstructor(sam.getInputParameters()), first);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeWrongParameterCount() {
+        FunctionCodec.of(baz(69, true)).encode(Collections.singletonList(new Bool(true)));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecode() {
+        Function function = new Function("balances",
+                Collections.emptyList(),
+                Arrays.asList(
+                        (TypeReference) new TypeReference<Uint256>() {
+                        },
+                        (TypeReference) new TypeReference<Utf8String>() {
+                        }));
+        List<Type> values = Arrays.asList(new Uint256(BigInteger.TEN), new Utf8String("thk"));
+        FunctionCodec codec = FunctionCodec.of(function);
+        String encoded = "0x" + FunctionEncoder.encodeConstructor(values);
+        
+        Assert.assertEquals(values, codec.decode(encoded));
+        Assert.assertEquals(values, codec.decode(encoded));
+        Assert.assertEquals(Collections.emptyList(), codec.decode("0x"));
+    }
+    
+    private static Function baz(long value, boolean flag) {
+        return new Function("baz",
+                Arrays.asList(new Uint32(BigInteger.valueOf(value)), new Bool(flag)),
+                Collections.emptyList());
+    }
+}
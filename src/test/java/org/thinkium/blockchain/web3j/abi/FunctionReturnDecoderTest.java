@@ -0,0 +1,114 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Bytes32;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Bytes4;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Int16;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Int256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray2;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint64;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint8;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FunctionReturnDecoderTest {
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeRoundTrip() {
+        List<Type> values = Arrays.asList(
+                new Uint256(BigInteger.ONE.shiftLeft(255)),
+                new Int256(BigInteger.valueOf(-5)),
+                new Int16(BigInteger.valueOf(-300)),
+                new Uint8(BigInteger.valueOf(255)),
+                new Uint64(new BigInteger("18446744073709551615")),
+                new Bool(true),
+                new Address("0x5dfcfc6f4b48f93213dad643a50228ff873c15b9"),
+                new Bytes4(new byte[]{1, 2, 3, 4}),
+                new Utf8String("hello world, this is a string longer than thirty-two bytes"),
+                new DynamicBytes(new byte[]{9, 8, 7}),
+                new StaticArray2<>(Uint256.class, new Uint256(BigInteger.ONE), new Uint256(BigInteger.TEN)),
+                new DynamicArray<>(Utf8String.class, new Utf8String("a"), new Utf8String("")));
+        List<TypeReference<Type>> outputParameters = Arrays.asList(
+                (TypeReference) new TypeReference<Uint256>() {
+                },
+                (TypeReference) new TypeReference<Int256>() {
+                },
+                (TypeReference) new TypeReference<Int16>() {
+                },
+                (TypeReference) new TypeReference<Uint8>() {
+                },
+                (TypeReference) new TypeReference<Uint64>() {
+                },
+                (TypeReference) new TypeReference<Bool>() {
+                },
+                (TypeReference) new TypeReference<Address>() {
+                },
+                (TypeReference) new TypeReference<Bytes4>() {
+                },
+                (TypeReference) new TypeReference<Utf8String>() {
+                },
+                (TypeReference) new TypeReference<DynamicBytes>() {
+                },
+                (TypeReference) new TypeReference.StaticArrayTypeReference<StaticArray<Uint256>>(2) {
+                },
+                (TypeReference) new TypeReference<DynamicArray<Utf8String>>() {
+                });
+        
+        List<Type> decoded = FunctionReturnDecoder.decode("0x" + FunctionEncoder.encodeConstructor(values), outputParameters);
+        Assert.assertEquals(values.size(), decoded.size());
+        for (int i = 0; i < values.size(); i++) {
+            Assert.assertEquals(TypeEncoder.encode(values.get(i)), TypeEncoder.encode(decoded.get(i)));
+        }
+        Assert.assertEquals(BigInteger.valueOf(-300), decoded.get(2).getValue());
+        Assert.assertEquals("0x5dfcfc6f4b48f93213dad643a50228ff873c15b9", decoded.get(6).getValue());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDecodeLargeArray() {
+        List<Uint256> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(new Uint256(BigInteger.valueOf(i).shiftLeft(i % 200)));
+        }
+        String encoded = FunctionEncoder.encodeConstructor(Collections.singletonList(new DynamicArray<>(Uint256.class, values)));
+        
+        List<Type> decoded = FunctionReturnDecoder.decode(encoded, Collections.singletonList(
+                (TypeReference) new TypeReference<DynamicArray<Uint256>>() {
+                }));
+        Assert.assertEquals(values, ((DynamicArray<Uint256>) decoded.get(0)).getValue());
+    }
+    
+    @Test
+    public void testDecodeIndexedValue() {
+        String word = "0x0000000000000000000000005dfcfc6f4b48f93213dad643a50228ff873c15b9";
+        Assert.assertEquals(new Address("0x5dfcfc6f4b48f93213dad643a50228ff873c15b9"),
+                FunctionReturnDecoder.decodeIndexedValue(word, new TypeReference<Address>() {
+                }));
+        Assert.assertEquals(new Bytes32(Numeric.hexStringToByteArray(word)),
+                FunctionReturnDecoder.decodeIndexedValue(word, new TypeReference<Utf8String>() {
+                }));
+    }
+    
+    @Test
+    public void testDecodeEmpty() {
+        Assert.assertEquals(Collections.emptyList(), FunctionReturnDecoder.decode("0x", Collections.emptyList()));
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    @SuppressWarnings("unchecked")
+    public void testDecodeTruncated() {
+        FunctionReturnDecoder.decode("0x0000000000000000000000000000000000000000000000000000000000000020"
+                        + "0000000000000000000000000000000000000000000000000000000000000040",
+                Collections.singletonList((TypeReference) new TypeReference<DynamicBytes>() {
+                }));
+    }
+}
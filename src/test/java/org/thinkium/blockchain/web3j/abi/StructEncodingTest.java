@@ -0,0 +1,233 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.datatypes.*;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray2;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class StructEncodingTest {
+    
+    /** {@code struct Bar { uint256 a; uint256 b; }}, shaped like a generated struct. */
+    public static class Bar extends StaticStruct {
+        public BigInteger a;
+        public BigInteger b;
+        
+        public Bar(BigInteger a, BigInteger b) {
+            super(new Uint256(a), new Uint256(b));
+            this.a = a;
+            this.b = b;
+        }
+        
+        public Bar(Uint256 a, Uint256 b) {
+            super(a, b);
+            this.a = a.getValue();
+            this.b = b.getValue();
+        }
+    }
+    
+    /** {@code struct Outer { Bar bar; uint256 c; }} */
+    public static class Outer extends StaticStruct {
+        public Bar bar;
+        public BigInteger c;
+        
+        public Outer(Bar bar, Uint256 c) {
+            super(bar, c);
+            this.bar = bar;
+            this.c = c.getValue();
+        }
+    }
+    
+    /** {@code struct Foo { string id; uint256 value; }} */
+    public static class Foo extends DynamicStruct {
+        public String id;
+        public BigInteger value;
+        
+        public Foo(String id, BigInteger value) {
+            super(new Utf8String(id), new Uint256(value));
+            this.id = id;
+            this.value = value;
+        }
+        
+        public Foo(Utf8String id, Uint256 value) {
+            super(id, value);
+            this.id = id.getValue();
+            this.value = value.getValue();
+        }
+    }
+    
+    /** {@code struct Nest { Bar bar; Foo foo; string name; }} */
+    public static class Nest extends DynamicStruct {
+        public Bar bar;
+        public Foo foo;
+        public String name;
+        
+        public Nest(Bar bar, Foo foo, Utf8String name) {
+            super(bar, foo, name);
+            this.bar = bar;
+            this.foo = foo;
+            this.name = name.getValue();
+        }
+    }
+    
+    @Test
+    public void testEncodeStaticStruct() {
+        Outer outer = new Outer(new Bar(BigInteger.ONE, BigInteger.valueOf(2)), new Uint256(BigInteger.valueOf(3)));
+        Assert.assertFalse(TypeEncoder.isDynamic(outer));
+        Assert.assertEquals("((uint256,uint256),uint256)", outer.getTypeAsString());
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "0000000000000000000000000000000000000000000000000000000000000004",
+                FunctionEncoder.encodeConstructor(Arrays.asList(outer, new Uint256(BigInteger.valueOf(4)))));
+    }
+    
+    @Test
+    public void testEncodeDynamicStruct() {
+        Foo foo = new Foo("ab", BigInteger.valueOf(5));
+        Assert.assertTrue(TypeEncoder.isDynamic(foo));
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000005"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "6162000000000000000000000000000000000000000000000000000000000000",
+                TypeEncoder.encode(foo));
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000020"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000005"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "6162000000000000000000000000000000000000000000000000000000000000",
+                FunctionEncoder.encodeConstructor(Collections.singletonList(foo)));
+    }
+    
+    @Test
+    public void testEncodeNestedStruct() {
+        Nest nest = new Nest(
+                new Bar(BigInteger.ONE, BigInteger.valueOf(2)),
+                new Foo("ab", BigInteger.valueOf(5)),
+                new Utf8String("c"));
+        // offsets of foo and name count from the start of nest
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000080"
+                        + "0000000000000000000000000000000000000000000000000000000000000100"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000005"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "6162000000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "6300000000000000000000000000000000000000000000000000000000000000",
+                TypeEncoder.encode(nest));
+    }
+    
+    @Test
+    public void testEncodeArrayOfDynamicStructs() {
+        DynamicArray<Foo> foos = new DynamicArray<>(Foo.class,
+                new Foo("a", BigInteger.ONE), new Foo("b", BigInteger.valueOf(2)));
+        Assert.assertEquals(""
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "00000000000000000000000000000000000000000000000000000000000000c0"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "6100000000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "6200000000000000000000000000000000000000000000000000000000000000",
+                TypeEncoder.encode(foos));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRoundTrip() {
+        Bar bar = new Bar(BigInteger.ONE, BigInteger.valueOf(2));
+        Foo foo = new Foo("a string longer than thirty-two bytes, to span words", BigInteger.TEN);
+        List<Type> values = Arrays.asList(
+                new Uint256(BigInteger.valueOf(7)),
+                foo,
+                new Outer(bar, new Uint256(BigInteger.valueOf(3))),
+                new DynamicArray<>(Foo.class, foo, new Foo("", BigInteger.ZERO)),
+                new StaticArray2<>(Foo.class, new Foo("x", BigInteger.ONE), foo),
+                new DynamicArray<>(Bar.class, bar, new Bar(BigInteger.valueOf(3), BigInteger.valueOf(4))),
+                new Nest(bar, foo, new Utf8String("nest")),
+                new Utf8String("end"));
+        List<TypeReference<Type>> outputParameters = Arrays.asList(
+                (TypeReference) new TypeReference<Uint256>() {
+                },
+                (TypeReference) new TypeReference<Foo>() {
+                },
+                (TypeReference) new TypeReference<Outer>() {
+                },
+                (TypeReference) new TypeReference<DynamicArray<Foo>>() {
+                },
+                (TypeReference) new TypeReference<StaticArray2<Foo>>() {
+                },
+                (TypeReference) new TypeReference<DynamicArray<Bar>>() {
+                },
+                (TypeReference) new TypeReference<Nest>() {
+                },
+                (TypeReference) new TypeReference<Utf8String>() {
+                });
+        
+        String encoded = FunctionEncoder.encodeConstructor(values);
+        Assert.assertEquals(AbiWriter.encodedLength(values) * 2, encoded.length());
+        Assert.assertEquals(values, FunctionReturnDecoder.decode(encoded, outputParameters));
+    }
+    
+    /** {@code struct Pack { Foo[] foos; Bar[2] bars; }} */
+    public static class Pack extends DynamicStruct {
+        public List<Foo> foos;
+        public List<Bar> bars;
+        
+        public Pack(DynamicArray<Foo> foos, StaticArray2<Bar> bars) {
+            super(foos, bars);
+            this.foos = foos.getValue();
+            this.bars = bars.getValue();
+        }
+    }
+    
+    @Test
+    public void testSignatureOfStructArrays() {
+        Function function = new Function("f",
+                Collections.singletonList(new DynamicArray<>(Foo.class, new Foo("a", BigInteger.ONE))),
+                Collections.emptyList());
+        Assert.assertEquals("f((string,uint256)[])", FunctionCodec.of(function).getMethodSignature());
+        Assert.assertEquals("0xe2f9937f", FunctionEncoder.encode(function).substring(0, 10));
+        Assert.assertEquals(FunctionEncoder.encode(function), FunctionCodec.of(function).encode(function));
+        
+        Bar bar = new Bar(BigInteger.ONE, BigInteger.valueOf(2));
+        Function g = new Function("g",
+                Arrays.asList(
+                        new StaticArray2<>(Bar.class, bar, bar),
+                        new DynamicArray<>(Nest.class, Collections.emptyList())),
+                Collections.emptyList());
+        Assert.assertEquals("g((uint256,uint256)[2],((uint256,uint256),(string,uint256),string)[])",
+                FunctionCodec.of(g).getMethodSignature());
+        Assert.assertEquals("0x3dbbed7e", FunctionEncoder.encode(g).substring(0, 10));
+        
+        Pack pack = new Pack(new DynamicArray<>(Foo.class, new Foo("a", BigInteger.ONE)),
+                new StaticArray2<>(Bar.class, bar, bar));
+        Assert.assertEquals("((string,uint256)[],(uint256,uint256)[2])", pack.getTypeAsString());
+        Assert.assertEquals(pack.getTypeAsString(), TypeRegistry.getStructTypeAsString(Pack.class));
+    }
+    
+    @Test
+    public void testStructLayoutIsCached() {
+        AbiWriter.Layout layout = TypeRegistry.getStructLayout(Nest.class);
+        Assert.assertSame(layout, TypeRegistry.getStructLayout(Nest.class));
+        Assert.assertEquals("[false, true, true]", Arrays.toString(layout.dynamic));
+        Assert.assertEquals(4 * Type.MAX_BYTE_LENGTH, layout.headLength);
+        Assert.assertEquals(3 * Type.MAX_BYTE_LENGTH, TypeRegistry.getStaticLength(Outer.class));
+        Assert.assertEquals(-1, TypeRegistry.getStaticLength(Foo.class));
+    }
+}
@@ -0,0 +1,55 @@
+package org.thinkium.blockchain.web3j.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.datatypes.Bytes;
+import org.thinkium.blockchain.web3j.abi.datatypes.Int;
+import org.thinkium.blockchain.web3j.abi.datatypes.StaticArray;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.Uint;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Bytes32;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Bytes4;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Int24;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.StaticArray3;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint8;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+public class TypeRegistryTest {
+    
+    @Test
+    public void testLengths() {
+        Assert.assertEquals(8, TypeRegistry.getTypeLength(Uint8.class));
+        Assert.assertEquals(24, TypeRegistry.getTypeLength(Int24.class));
+        Assert.assertEquals(256, TypeRegistry.getTypeLength(Uint256.class));
+        Assert.assertEquals(Type.MAX_BIT_LENGTH, TypeRegistry.getTypeLength(Uint.class));
+        Assert.assertEquals(Type.MAX_BIT_LENGTH, TypeRegistry.getTypeLength(Int.class));
+        Assert.assertEquals(4, TypeRegistry.getBytesLength(Bytes4.class));
+        Assert.assertEquals(32, TypeRegistry.getBytesLength(Bytes32.class));
+        Assert.assertEquals(-1, TypeRegistry.getBytesLength(Bytes.class));
+        Assert.assertEquals(3, TypeRegistry.getStaticArraySize(StaticArray3.class));
+        Assert.assertEquals(StaticArray3.class, TypeRegistry.getStaticArrayType(3));
+        Assert.assertNull(TypeRegistry.getStaticArrayType(StaticArray.MAX_SIZE_OF_STATIC_ARRAY + 1));
+    }
+    
+    @Test
+    public void testNewInstance() {
+        Assert.assertEquals(new Uint8(BigInteger.TEN), TypeRegistry.newNumeric(Uint8.class, BigInteger.TEN));
+        Assert.assertEquals(new Bytes4(new byte[]{1, 2, 3, 4}), TypeRegistry.newBytes(Bytes4.class, new byte[]{1, 2, 3, 4}));
+        
+        List<Uint8> values = Arrays.asList(new Uint8(BigInteger.ONE), new Uint8(BigInteger.ONE), new Uint8(BigInteger.ONE));
+        StaticArray<Uint8> array = TypeRegistry.newStaticArray(3, Uint8.class, values);
+        Assert.assertTrue(array instanceof StaticArray3);
+        Assert.assertEquals(Uint8.class, array.getComponentType());
+        Assert.assertEquals(values, array.getValue());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNewInstanceInvalid() {
+        // the constructor rejects values wider than the type
+        TypeRegistry.newNumeric(Uint8.class, BigInteger.valueOf(256));
+    }
+}
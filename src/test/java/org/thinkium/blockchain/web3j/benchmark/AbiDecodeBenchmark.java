@@ -0,0 +1,71 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.abi.FunctionEncoder;
+import org.thinkium.blockchain.web3j.abi.FunctionReturnDecoder;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.DynamicArray;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a large view function result, {@code (address[], uint256[])}, as returned by
+ * {@code getAll()} style functions.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main AbiDecodeBenchmark} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbiDecodeBenchmark {
+    
+    @Param({"10", "1000"})
+    public int size;
+    
+    private String encoded;
+    private List<TypeReference<Type>> outputParameters;
+    
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        List<Address> addresses = new ArrayList<>();
+        List<Uint256> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            addresses.add(new Address(BigInteger.valueOf(i).shiftLeft(100).add(BigInteger.valueOf(0xabcdef))));
+            values.add(new Uint256(BigInteger.TEN.pow(18).multiply(BigInteger.valueOf(i))));
+        }
+        encoded = "0x" + FunctionEncoder.encodeConstructor(Arrays.asList(
+                new DynamicArray<>(Address.class, addresses),
+                new DynamicArray<>(Uint256.class, values)));
+        outputParameters = Arrays.asList(
+                (TypeReference) new TypeReference<DynamicArray<Address>>() {
+                },
+                (TypeReference) new TypeReference<DynamicArray<Uint256>>() {
+                });
+    }
+    
+    @Benchmark
+    public List<Type> decode() {
+        return FunctionReturnDecoder.decode(encoded, outputParameters);
+    }
+}
@@ -0,0 +1,106 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.abi.FunctionCodec;
+import org.thinkium.blockchain.web3j.abi.FunctionEncoder;
+import org.thinkium.blockchain.web3j.abi.TypeEncoder;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.DynamicArray;
+import org.thinkium.blockchain.web3j.abi.datatypes.Function;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a wide call, {@code multiTransfer(address[],uint256[])}: the previous string
+ * concatenating encoder, one hex string per value, against {@link FunctionEncoder} on top of the
+ * binary {@link org.thinkium.blockchain.web3j.abi.AbiWriter}. {@code encodeUncached} builds and
+ * hashes the method signature on every call, {@code encode} takes the selector and head layout from
+ * the cached {@link FunctionCodec}.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main AbiEncodeBenchmark} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbiEncodeBenchmark {
+    
+    @Param({"10", "500"})
+    public int size;
+    
+    private Function function;
+    
+    @Setup
+    public void setUp() {
+        List<Address> addresses = new ArrayList<>();
+        List<Uint256> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            addresses.add(new Address(BigInteger.valueOf(i).shiftLeft(100).add(BigInteger.valueOf(0xabcdef))));
+            values.add(new Uint256(BigInteger.TEN.pow(18).multiply(BigInteger.valueOf(i))));
+        }
+        function = new Function("multiTransfer",
+                Arrays.asList(
+                        new DynamicArray<>(Address.class, addresses),
+                        new DynamicArray<>(Uint256.class, values)),
+                Collections.emptyList());
+    }
+    
+    @Benchmark
+    public String legacyEncodeParameters() {
+        List<Type> parameters = function.getInputParameters();
+        StringBuilder result = new StringBuilder();
+        long dynamicDataOffset = parameters.size() * Type.MAX_BYTE_LENGTH;
+        StringBuilder dynamicData = new StringBuilder();
+        for (Type parameter : parameters) {
+            List<?> elements = ((DynamicArray<?>) parameter).getValue();
+            StringBuilder encodedValue = new StringBuilder();
+            encodedValue.append(TypeEncoder.encode(new Uint256(BigInteger.valueOf(elements.size()))));
+            for (Object element : elements) {
+                encodedValue.append(TypeEncoder.encode((Type) element));
+            }
+            result.append(TypeEncoder.encode(new Uint256(BigInteger.valueOf(dynamicDataOffset))));
+            dynamicData.append(encodedValue);
+            dynamicDataOffset += encodedValue.length() >> 1;
+        }
+        result.append(dynamicData);
+        return result.toString();
+    }
+    
+    @Benchmark
+    public String encodeParameters() {
+        return FunctionEncoder.encodeConstructor(function.getInputParameters());
+    }
+    
+    @Benchmark
+    public String encodeUncached() {
+        String methodSignature = "multiTransfer(address[],uint256[])";
+        byte[] hash = Hash.sha3(methodSignature.getBytes());
+        return Numeric.toHexString(hash, 0, 4, true) + FunctionEncoder.encodeConstructor(function.getInputParameters());
+    }
+    
+    @Benchmark
+    public String encode() {
+        return FunctionEncoder.encode(function);
+    }
+}
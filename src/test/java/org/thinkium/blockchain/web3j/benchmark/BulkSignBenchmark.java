@@ -0,0 +1,87 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.crypto.BulkSigner;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+import org.thinkium.blockchain.web3j.tx.RawTransactionManager;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a batch of 1024 transfers: one at a time, as {@link RawTransactionManager#sign} does,
+ * against {@link BulkSigner} on a pool of {@code parallelism} workers. Scores are transactions per
+ * second, so throughput should grow with {@code parallelism} up to the number of cores.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main BulkSignBenchmark} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkSignBenchmark {
+    
+    private static final int BATCH = 1024;
+    
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+    
+    private Credentials credentials;
+    private List<Transaction> transactions;
+    private ForkJoinPool pool;
+    private BulkSigner bulkSigner;
+    
+    @Setup
+    public void setUp() {
+        credentials = Credentials.create("0x8e5b44b6cee8fa05092b4b5a8843aa6b0ec37915a940c9b5938e88a7e6fdd83a");
+        transactions = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            transactions.add(Transaction.createTransaction("2", BigInteger.valueOf(i), BigInteger.valueOf(30000),
+                    "0x2e988a386a799f506693793c6a5af6b54dfaabfb", BigInteger.TEN.pow(18), ""));
+        }
+        pool = new ForkJoinPool(parallelism);
+        bulkSigner = new BulkSigner(credentials, pool);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object serial() {
+        String last = null;
+        for (Transaction transaction : transactions) {
+            transaction.setFrom(credentials.getAddress());
+            transaction.setPub(credentials.getPublicKey());
+            last = credentials.sign(transaction);
+            transaction.setSig(last);
+        }
+        return last;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object bulk() {
+        return bulkSigner.sign(transactions);
+    }
+}
@@ -0,0 +1,111 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.thinkium.blockchain.web3j.abi.EventEncoder;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.protocol.methods.Log;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+import org.thinkium.blockchain.web3j.tx.Contract;
+import org.thinkium.blockchain.web3j.tx.EventDecoderRegistry;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding the logs of 100 receipts, two logs each, against 30 known events: trying every event on
+ * every log, as an indexer on {@link Contract#staticExtractEventParameters} does, against dispatch on
+ * the first topic by an {@link EventDecoderRegistry}. {@code legacyExtractPerEvent} hashes every
+ * event signature for every log, as {@code EventEncoder} did before it cached topics.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main EventDecodeBenchmark} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDecodeBenchmark {
+    
+    private static final int EVENTS = 30;
+    private static final String ADDRESS = "0x0000000000000000000000005dfcfc6f4b48f93213dad643a50228ff873c15b9";
+    private static final String VALUE = "0x0000000000000000000000000000000000000000000000000de0b6b3a7640000";
+    
+    private final List<Event> events = new ArrayList<>();
+    private final List<String> signatures = new ArrayList<>();
+    private final List<TransactionReceipt> receipts = new ArrayList<>();
+    private final EventDecoderRegistry registry = new EventDecoderRegistry();
+    
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event("Event" + i, Arrays.asList(
+                    new TypeReference<Address>(true) {
+                    },
+                    new TypeReference<Uint256>() {
+                    }));
+            events.add(event);
+            signatures.add("Event" + i + "(address,uint256)");
+            registry.register(event);
+        }
+        for (int i = 0; i < 100; i++) {
+            List<Log> logs = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                Log log = new Log();
+                log.setTopics(Arrays.asList(EventEncoder.encode(events.get((i * 7 + j) % EVENTS)), ADDRESS));
+                log.setData(VALUE);
+                logs.add(log);
+            }
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setLogs(logs);
+            receipts.add(receipt);
+        }
+    }
+    
+    @Benchmark
+    public void legacyExtractPerEvent(Blackhole blackhole) {
+        for (TransactionReceipt receipt : receipts) {
+            for (Log log : receipt.getLogs()) {
+                for (int i = 0; i < EVENTS; i++) {
+                    String topic = Numeric.toHexString(Hash.sha3(signatures.get(i).getBytes()));
+                    if (topic.equals(log.getTopics().get(0))) {
+                        blackhole.consume(Contract.staticExtractEventParameters(events.get(i), log));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public void extractPerEvent(Blackhole blackhole) {
+        for (TransactionReceipt receipt : receipts) {
+            for (Log log : receipt.getLogs()) {
+                for (Event event : events) {
+                    blackhole.consume(Contract.staticExtractEventParameters(event, log));
+                }
+            }
+        }
+    }
+    
+    @Benchmark
+    public void registry(Blackhole blackhole) {
+        registry.decode(receipts).forEach(blackhole::consume);
+    }
+}
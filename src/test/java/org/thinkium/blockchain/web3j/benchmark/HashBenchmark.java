@@ -0,0 +1,75 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keccak-256: a new JCA digest per call, as {@link Hash} used to do, against the thread-local
+ * digest with array, caller output and direct buffer input.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main HashBenchmark} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+    
+    @Param({"32", "256", "4096"})
+    public int size;
+    
+    private byte[] input;
+    private ByteBuffer direct;
+    private final byte[] output = new byte[Hash.SHA3_LENGTH];
+    
+    @Setup
+    public void setUp() {
+        input = new byte[size];
+        for (int i = 0; i < size; i++) {
+            input[i] = (byte) i;
+        }
+        direct = ByteBuffer.allocateDirect(size);
+        direct.put(input).flip();
+    }
+    
+    @Benchmark
+    public byte[] newDigestPerCall() {
+        Keccak.DigestKeccak kecc = new Keccak.Digest256();
+        kecc.update(input, 0, input.length);
+        return kecc.digest();
+    }
+    
+    @Benchmark
+    public byte[] threadLocalDigest() {
+        return Hash.sha3(input);
+    }
+    
+    @Benchmark
+    public byte[] threadLocalDigestIntoOutput() {
+        Hash.sha3(input, 0, input.length, output, 0);
+        return output;
+    }
+    
+    @Benchmark
+    public byte[] directBuffer() {
+        direct.rewind();
+        Hash.sha3(direct, output, 0);
+        return output;
+    }
+}
@@ -0,0 +1,113 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.abi.FunctionReturnDecoder;
+import org.thinkium.blockchain.web3j.abi.TypeEncoder;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.utils.Hex;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hex encoding and decoding: the previous {@code String.format}/{@code Character.digit}
+ * implementation of {@link Numeric} against the table driven {@link Hex}, plus the ABI paths built
+ * on them.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main HexBenchmark} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexBenchmark {
+    
+    @Param({"32", "1024"})
+    public int size;
+    
+    private byte[] bytes;
+    private String hex;
+    private final char[] chars = new char[2048];
+    private String encodedWords;
+    private List<TypeReference<Type>> wordTypes;
+    
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        hex = Numeric.toHexString(bytes);
+        
+        StringBuilder words = new StringBuilder("0x");
+        wordTypes = new ArrayList<>();
+        for (int i = 0; i < size / 32; i++) {
+            words.append(TypeEncoder.encode(new Uint256(BigInteger.valueOf(i))));
+            wordTypes.add((TypeReference) new TypeReference<Uint256>() {
+            });
+        }
+        encodedWords = words.toString();
+    }
+    
+    @Benchmark
+    public String legacyEncode() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("0x");
+        for (byte b : bytes) {
+            stringBuilder.append(String.format("%02x", b & 0xFF));
+        }
+        return stringBuilder.toString();
+    }
+    
+    @Benchmark
+    public String encode() {
+        return Numeric.toHexString(bytes);
+    }
+    
+    @Benchmark
+    public char[] encodeIntoChars() {
+        Hex.encode(bytes, 0, bytes.length, chars, 0);
+        return chars;
+    }
+    
+    @Benchmark
+    public byte[] legacyDecode() {
+        String cleanInput = Numeric.cleanHexPrefix(hex);
+        int len = cleanInput.length();
+        byte[] data = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            data[i / 2] = (byte) ((Character.digit(cleanInput.charAt(i), 16) << 4)
+                    + Character.digit(cleanInput.charAt(i + 1), 16));
+        }
+        return data;
+    }
+    
+    @Benchmark
+    public byte[] decode() {
+        return Numeric.hexStringToByteArray(hex);
+    }
+    
+    @Benchmark
+    public List<Type> decodeUint256Words() {
+        return wordTypes.isEmpty() ? Collections.emptyList() : FunctionReturnDecoder.decode(encodedWords, wordTypes);
+    }
+}
@@ -0,0 +1,88 @@
+package org.thinkium.blockchain.web3j.benchmark;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.crypto.Signer;
+import org.thinkium.blockchain.web3j.utils.cipher.ECDSASignature;
+import org.thinkium.blockchain.web3j.utils.cipher.FixedBaseMultiplier;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+import org.thinkium.blockchain.web3j.utils.cipher.Sign;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a transaction hash: the previous path (new BouncyCastle signer per call plus trial key
+ * recovery) against {@link Signer}.
+ *
+ * <p>Run {@code org.openjdk.jmh.Main SignBenchmark} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignBenchmark {
+    
+    private static final ECDomainParameters CURVE = new ECDomainParameters(
+            Sign.CURVE_PARAMS.getCurve(), Sign.CURVE_PARAMS.getG(), Sign.CURVE_PARAMS.getN(), Sign.CURVE_PARAMS.getH());
+    
+    private Credentials credentials;
+    private Signer signer;
+    private byte[] messageHash;
+    private BigInteger scalar;
+    
+    @Setup
+    public void setUp() {
+        credentials = Credentials.create("0x8e5b44b6cee8fa05092b4b5a8843aa6b0ec37915a940c9b5938e88a7e6fdd83a");
+        signer = credentials.getSigner();
+        messageHash = Hash.sha3("benchmark".getBytes());
+        scalar = credentials.getEcKeyPair().getPrivateKey();
+    }
+    
+    @Benchmark
+    public Object legacySign() {
+        ECDSASigner ecdsaSigner = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+        ecdsaSigner.init(true, new ECPrivateKeyParameters(credentials.getEcKeyPair().getPrivateKey(), CURVE));
+        BigInteger[] components = ecdsaSigner.generateSignature(messageHash);
+        ECDSASignature sig = new ECDSASignature(components[0], components[1]).toCanonicalised();
+        for (int i = 0; i < 4; i++) {
+            BigInteger k = Sign.recoverFromSignature(i, sig, messageHash);
+            if (k != null && k.equals(credentials.getEcKeyPair().getPublicKey())) {
+                return sig;
+            }
+        }
+        throw new IllegalStateException();
+    }
+    
+    @Benchmark
+    public String signerSign() {
+        return signer.signHash(messageHash);
+    }
+    
+    @Benchmark
+    public Object combMultiply() {
+        return new FixedPointCombMultiplier().multiply(CURVE.getG(), scalar).normalize();
+    }
+    
+    @Benchmark
+    public Object fixedBaseMultiply() {
+        return FixedBaseMultiplier.SECP256K1.multiply(CURVE.getG(), scalar).normalize();
+    }
+}
@@ -0,0 +1,232 @@
+package org.thinkium.blockchain.web3j.codegen;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.thinkium.blockchain.web3j.abi.FunctionEncoder;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.Function;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.Utf8String;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint8;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.protocol.RemoteCall;
+import org.thinkium.blockchain.web3j.protocol.RemoteFunctionCall;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.methods.BaseEventResponse;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+import org.thinkium.blockchain.web3j.tx.Contract;
+import org.thinkium.blockchain.web3j.tx.TransactionManager;
+import org.thinkium.blockchain.web3j.tx.gas.ContractGasProvider;
+
+/**
+ * <p>Auto generated code.
+ * <p><strong>Do not modify!</strong>
+ *
+ * <p>Generated with web3j version 2.0.
+ */
+@SuppressWarnings("rawtypes")
+public class HumanStandardToken extends Contract {
+    public static final String BINARY = "60c0604052600460808190527f48302e310000000000000000000000000000000000000000000000000000000060a090815261003e91600691906100d0565b5034801561004b57600080fd5b506040516109ab3803806109ab8339810160409081528151602080840151838501516060860151336000908152600185529586208590559484905590850180519395909491939101916100a3916003918601906100d0565b506004805460ff191660ff841617905580516100c69060059060208401906100d0565b505050505061016b565b828054600181600116156101000203166002900490600052602060002090601f016020900481019282601f1061011157805160ff191683800117855561013e565b8280016001018555821561013e579182015b8281111561013e578251825591602001919060010190610123565b5061014a92915061014e565b5090565b61016891905b8082111561014a5760008155600101610154565b90565b6108318061017a6000396000f3006080604052600436106100955763ffffffff60e060020a60003504166306fdde0381146100a7578063095ea7b31461013157806318160ddd1461016957806323b872dd14610190578063313ce567146101ba57806354fd4d50146101e557806370a08231146101fa57806395d89b411461021b578063a9059cbb14610230578063cae9ca5114610254578063dd62ed3e146102bd575b3480156100a157600080fd5b50600080fd5b3480156100b357600080fd5b506100bc6102e4565b6040805160208082528351818301528351919283929083019185019080838360005b838110156100f65781810151838201526020016100de565b50505050905090810190601f1680156101235780820380516001836020036101000a031916815260200191505b509250505060405180910390f35b34801561013d57600080fd5b50610155600160a060020a0360043516602435610372565b604080519115158252519081900360200190f35b34801561017557600080fd5b5061017e6103d9565b60408051918252519081900360200190f35b34801561019c57600080fd5b50610155600160a060020a03600435811690602435166044356103df565b3480156101c657600080fd5b506101cf6104cc565b6040805160ff9092168252519081900360200190f35b3480156101f157600080fd5b506100bc6104d5565b34801561020657600080fd5b5061017e600160a060020a0360043516610530565b34801561022757600080fd5b506100bc61054b565b34801561023c57600080fd5b50610155600160a060020a03600435166024356105a6565b34801561026057600080fd5b50604080516020600460443581810135601f8101849004840285018401909552848452610155948235600160a060020a031694602480359536959460649492019190819084018382808284375094975061063f9650505050505050565b3480156102c957600080fd5b5061017e600160a060020a03600435811690602435166107da565b6003805460408051602060026001851615610100026000190190941693909304601f8101849004840282018401909252818152929183018282801561036a5780601f1061033f5761010080835404028352916020019161036a565b820191906000526020600020905b81548152906001019060200180831161034d57829003601f168201915b505050505081565b336000818152600260209081526040808320600160a060020a038716808552908352818420869055815186815291519394909390927f8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925928290030190a35060015b92915050565b60005481565b600160a060020a038316600090815260016020526040812054821180159061042a5750600160a060020a03841660009081526002602090815260408083203384529091529020548211155b80156104365750600082115b156104c157600160a060020a03808416600081815260016020908152604080832080548801905593881680835284832080548890039055600282528483203384528252918490208054879003905583518681529351929391927fddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef9281900390910190a35060016104c5565b5060005b9392505050565b60045460ff1681565b6006805460408051602060026001851615610100026000190190941693909304601f8101849004840282018401909252818152929183018282801561036a5780601f1061033f5761010080835404028352916020019161036a565b600160a060020a031660009081526001602052604090205490565b6005805460408051602060026001851615610100026000190190941693909304601f8101849004840282018401909252818152929183018282801561036a5780601f1061033f5761010080835404028352916020019161036a565b3360009081526001602052604081205482118015906105c55750600082115b156106375733600081815260016020908152604080832080548790039055600160a060020a03871680845292819020805487019055805186815290519293927fddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef929181900390910190a35060016103d3565b5060006103d3565b336000818152600260209081526040808320600160a060020a038816808552908352818420879055815187815291519394909390927f8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925928290030190a383600160a060020a031660405180807f72656365697665417070726f76616c28616464726573732c75696e743235362c81526020017f616464726573732c627974657329000000000000000000000000000000000000815250602e019050604051809103902060e060020a9004338530866040518563ffffffff1660e060020a0281526004018085600160a060020a0316600160a060020a0316815260200184815260200183600160a060020a0316600160a060020a03168152602001828051906020019080838360005b8381101561077f578181015183820152602001610767565b50505050905090810190601f1680156107ac5780820380516001836020036101000a031916815260200191505b509450505050506000604051808303816000875af19250505015156107d057600080fd5b5060019392505050565b600160a060020a039182166000908152600260209081526040808320939094168252919091522054905600a165627a7a723058203f2de808df5359509254dc2a0d616b226de2b64f0bf28bae7323aeba4487199b0029";
+
+    public static final String ABI = "[{\"constant\":true,\"inputs\":[],\"name\":\"name\",\"outputs\":[{\"name\":\"\",\"type\":\"string\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"approve\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[],\"name\":\"totalSupply\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_from\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"transferFrom\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[],\"name\":\"decimals\",\"outputs\":[{\"name\":\"\",\"type\":\"uint8\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":true,\"inputs\":[],\"name\":\"version\",\"outputs\":[{\"name\":\"\",\"type\":\"string\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":true,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"balanceOf\",\"outputs\":[{\"name\":\"balance\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":true,\"inputs\":[],\"name\":\"symbol\",\"outputs\":[{\"name\":\"\",\"type\":\"string\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"transfer\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":false,\"inputs\":[{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_extraData\",\"type\":\"bytes\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true}],\"name\":\"approveAndCall\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"allowance\",\"outputs\":[{\"name\":\"remaining\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_initialAmount\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_tokenName\",\"type\":\"string\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true},{\"name\":\"_decimalUnits\",\"type\":\"uint8\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_tokenSymbol\",\"type\":\"string\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":true}],\"name\":null,\"outputs\":[],\"type\":\"constructor\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":false,\"inputs\":[],\"name\":null,\"outputs\":[],\"type\":\"fallback\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":false,\"inputs\":[{\"name\":\"_from\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"Transfer\",\"outputs\":[],\"type\":\"event\",\"payable\":false,\"stateMutability\":null},{\"constant\":false,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"Approval\",\"outputs\":[],\"type\":\"event\",\"payable\":false,\"stateMutability\":null}]";
+
+    public static final String FUNC_NAME = "name";
+
+    public static final String FUNC_APPROVE = "approve";
+
+    public static final String FUNC_TOTALSUPPLY = "totalSupply";
+
+    public static final String FUNC_TRANSFERFROM = "transferFrom";
+
+    public static final String FUNC_DECIMALS = "decimals";
+
+    public static final String FUNC_VERSION = "version";
+
+    public static final String FUNC_BALANCEOF = "balanceOf";
+
+    public static final String FUNC_SYMBOL = "symbol";
+
+    public static final String FUNC_TRANSFER = "transfer";
+
+    public static final String FUNC_APPROVEANDCALL = "approveAndCall";
+
+    public static final String FUNC_ALLOWANCE = "allowance";
+
+    public static final Event TRANSFER_EVENT = new Event("Transfer", 
+            Arrays.<TypeReference<?>>asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+    ;
+
+    public static final Event APPROVAL_EVENT = new Event("Approval", 
+            Arrays.<TypeReference<?>>asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+    ;
+
+    protected HumanStandardToken(String chainId, String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
+        super(BINARY, chainId, contractAddress, web3j, credentials, contractGasProvider);
+    }
+
+    protected HumanStandardToken(String contractAddress, Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider) {
+        super(BINARY, contractAddress, web3j, transactionManager, contractGasProvider);
+    }
+
+    public RemoteFunctionCall<String> name() {
+        final Function function = new Function(FUNC_NAME, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Utf8String>() {}));
+        return executeRemoteCallSingleValueReturn(function, String.class);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> approve(String _spender, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_APPROVE, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _spender), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> totalSupply() {
+        final Function function = new Function(FUNC_TOTALSUPPLY, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> transferFrom(String _from, String _to, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_TRANSFERFROM, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _from), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _to), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> decimals() {
+        final Function function = new Function(FUNC_DECIMALS, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint8>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public RemoteFunctionCall<String> version() {
+        final Function function = new Function(FUNC_VERSION, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Utf8String>() {}));
+        return executeRemoteCallSingleValueReturn(function, String.class);
+    }
+
+    public RemoteFunctionCall<BigInteger> balanceOf(String _owner) {
+        final Function function = new Function(FUNC_BALANCEOF, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _owner)), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public RemoteFunctionCall<String> symbol() {
+        final Function function = new Function(FUNC_SYMBOL, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Utf8String>() {}));
+        return executeRemoteCallSingleValueReturn(function, String.class);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> transfer(String _to, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_TRANSFER, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _to), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> approveAndCall(String _spender, BigInteger _value, byte[] _extraData) {
+        final Function function = new Function(
+                FUNC_APPROVEANDCALL, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _spender), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.DynamicBytes(_extraData)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> allowance(String _owner, String _spender) {
+        final Function function = new Function(FUNC_ALLOWANCE, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _owner), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _spender)), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public List<TransferEventResponse> getTransferEvents(TransactionReceipt transactionReceipt) {
+        List<Contract.EventValuesWithLog> valueList = extractEventParametersWithLog(TRANSFER_EVENT, transactionReceipt);
+        ArrayList<TransferEventResponse> responses = new ArrayList<TransferEventResponse>(valueList.size());
+        for (Contract.EventValuesWithLog eventValues : valueList) {
+            TransferEventResponse typedResponse = new TransferEventResponse();
+            typedResponse.log = eventValues.getLog();
+            typedResponse._from = (String) eventValues.getIndexedValues().get(0).getValue();
+            typedResponse._to = (String) eventValues.getIndexedValues().get(1).getValue();
+            typedResponse._value = (BigInteger) eventValues.getNonIndexedValues().get(0).getValue();
+            responses.add(typedResponse);
+        }
+        return responses;
+    }
+
+    public List<ApprovalEventResponse> getApprovalEvents(TransactionReceipt transactionReceipt) {
+        List<Contract.EventValuesWithLog> valueList = extractEventParametersWithLog(APPROVAL_EVENT, transactionReceipt);
+        ArrayList<ApprovalEventResponse> responses = new ArrayList<ApprovalEventResponse>(valueList.size());
+        for (Contract.EventValuesWithLog eventValues : valueList) {
+            ApprovalEventResponse typedResponse = new ApprovalEventResponse();
+            typedResponse.log = eventValues.getLog();
+            typedResponse._owner = (String) eventValues.getIndexedValues().get(0).getValue();
+            typedResponse._spender = (String) eventValues.getIndexedValues().get(1).getValue();
+            typedResponse._value = (BigInteger) eventValues.getNonIndexedValues().get(0).getValue();
+            responses.add(typedResponse);
+        }
+        return responses;
+    }
+
+    public static HumanStandardToken load(String chainId, String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
+        return new HumanStandardToken(chainId, contractAddress, web3j, credentials, contractGasProvider);
+    }
+
+    public static HumanStandardToken load(String contractAddress, Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider) {
+        return new HumanStandardToken(contractAddress, web3j, transactionManager, contractGasProvider);
+    }
+
+    public static RemoteCall<HumanStandardToken> deploy(Web3j web3j, String chainId, Credentials credentials, ContractGasProvider contractGasProvider, BigInteger _initialAmount, String _tokenName, BigInteger _decimalUnits, String _tokenSymbol) {
+        String encodedConstructor = FunctionEncoder.encodeConstructor(Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_initialAmount), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Utf8String(_tokenName), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint8(_decimalUnits), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Utf8String(_tokenSymbol)));
+        return deployRemoteCall(HumanStandardToken.class, web3j, chainId, credentials, contractGasProvider, BINARY, encodedConstructor);
+    }
+
+    public static RemoteCall<HumanStandardToken> deploy(Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider, BigInteger _initialAmount, String _tokenName, BigInteger _decimalUnits, String _tokenSymbol) {
+        String encodedConstructor = FunctionEncoder.encodeConstructor(Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_initialAmount), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Utf8String(_tokenName), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint8(_decimalUnits), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Utf8String(_tokenSymbol)));
+        return deployRemoteCall(HumanStandardToken.class, web3j, transactionManager, contractGasProvider, BINARY, encodedConstructor);
+    }
+
+    public static class TransferEventResponse extends BaseEventResponse {
+        public String _from;
+
+        public String _to;
+
+        public BigInteger _value;
+    }
+
+    public static class ApprovalEventResponse extends BaseEventResponse {
+        public String _owner;
+
+        public String _spender;
+
+        public BigInteger _value;
+    }
+}
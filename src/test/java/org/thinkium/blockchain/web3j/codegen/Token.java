@@ -0,0 +1,173 @@
+package org.thinkium.blockchain.web3j.codegen;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.Function;
+import org.thinkium.blockchain.web3j.abi.datatypes.Type;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.protocol.RemoteCall;
+import org.thinkium.blockchain.web3j.protocol.RemoteFunctionCall;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.methods.BaseEventResponse;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+import org.thinkium.blockchain.web3j.tx.Contract;
+import org.thinkium.blockchain.web3j.tx.TransactionManager;
+import org.thinkium.blockchain.web3j.tx.gas.ContractGasProvider;
+
+/**
+ * <p>Auto generated code.
+ * <p><strong>Do not modify!</strong>
+ *
+ * <p>Generated with web3j version 2.0.
+ */
+@SuppressWarnings("rawtypes")
+public class Token extends Contract {
+    public static final String BINARY = "";
+
+    public static final String ABI = "[{\"constant\":false,\"inputs\":[{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"approve\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[],\"name\":\"totalSupply\",\"outputs\":[{\"name\":\"\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_from\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"transferFrom\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"balanceOf\",\"outputs\":[{\"name\":\"balance\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"transfer\",\"outputs\":[{\"name\":\"success\",\"type\":\"bool\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"nonpayable\"},{\"constant\":true,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false},{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"allowance\",\"outputs\":[{\"name\":\"remaining\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"type\":\"function\",\"payable\":false,\"stateMutability\":\"view\"},{\"constant\":false,\"inputs\":[{\"name\":\"_from\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_to\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"Transfer\",\"outputs\":[],\"type\":\"event\",\"payable\":false,\"stateMutability\":null},{\"constant\":false,\"inputs\":[{\"name\":\"_owner\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_spender\",\"type\":\"address\",\"components\":[],\"internalType\":\"\",\"indexed\":true,\"dynamic\":false},{\"name\":\"_value\",\"type\":\"uint256\",\"components\":[],\"internalType\":\"\",\"indexed\":false,\"dynamic\":false}],\"name\":\"Approval\",\"outputs\":[],\"type\":\"event\",\"payable\":false,\"stateMutability\":null}]";
+
+    public static final String FUNC_APPROVE = "approve";
+
+    public static final String FUNC_TOTALSUPPLY = "totalSupply";
+
+    public static final String FUNC_TRANSFERFROM = "transferFrom";
+
+    public static final String FUNC_BALANCEOF = "balanceOf";
+
+    public static final String FUNC_TRANSFER = "transfer";
+
+    public static final String FUNC_ALLOWANCE = "allowance";
+
+    public static final Event TRANSFER_EVENT = new Event("Transfer", 
+            Arrays.<TypeReference<?>>asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+    ;
+
+    public static final Event APPROVAL_EVENT = new Event("Approval", 
+            Arrays.<TypeReference<?>>asList(new TypeReference<Address>(true) {}, new TypeReference<Address>(true) {}, new TypeReference<Uint256>() {}));
+    ;
+
+    protected Token(String chainId, String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
+        super(BINARY, chainId, contractAddress, web3j, credentials, contractGasProvider);
+    }
+
+    protected Token(String contractAddress, Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider) {
+        super(BINARY, contractAddress, web3j, transactionManager, contractGasProvider);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> approve(String _spender, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_APPROVE, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _spender), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> totalSupply() {
+        final Function function = new Function(FUNC_TOTALSUPPLY, 
+                Arrays.<Type>asList(), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> transferFrom(String _from, String _to, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_TRANSFERFROM, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _from), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _to), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> balanceOf(String _owner) {
+        final Function function = new Function(FUNC_BALANCEOF, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _owner)), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public RemoteFunctionCall<TransactionReceipt> transfer(String _to, BigInteger _value) {
+        final Function function = new Function(
+                FUNC_TRANSFER, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _to), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256(_value)), 
+                Collections.<TypeReference<?>>emptyList());
+        return executeRemoteCallTransaction(function);
+    }
+
+    public RemoteFunctionCall<BigInteger> allowance(String _owner, String _spender) {
+        final Function function = new Function(FUNC_ALLOWANCE, 
+                Arrays.<Type>asList(new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _owner), 
+                new org.thinkium.blockchain.web3j.abi.datatypes.Address(160, _spender)), 
+                Arrays.<TypeReference<?>>asList(new TypeReference<Uint256>() {}));
+        return executeRemoteCallSingleValueReturn(function, BigInteger.class);
+    }
+
+    public List<TransferEventResponse> getTransferEvents(TransactionReceipt transactionReceipt) {
+        List<Contract.EventValuesWithLog> valueList = extractEventParametersWithLog(TRANSFER_EVENT, transactionReceipt);
+        ArrayList<TransferEventResponse> responses = new ArrayList<TransferEventResponse>(valueList.size());
+        for (Contract.EventValuesWithLog eventValues : valueList) {
+            TransferEventResponse typedResponse = new TransferEventResponse();
+            typedResponse.log = eventValues.getLog();
+            typedResponse._from = (String) eventValues.getIndexedValues().get(0).getValue();
+            typedResponse._to = (String) eventValues.getIndexedValues().get(1).getValue();
+            typedResponse._value = (BigInteger) eventValues.getNonIndexedValues().get(0).getValue();
+            responses.add(typedResponse);
+        }
+        return responses;
+    }
+
+    public List<ApprovalEventResponse> getApprovalEvents(TransactionReceipt transactionReceipt) {
+        List<Contract.EventValuesWithLog> valueList = extractEventParametersWithLog(APPROVAL_EVENT, transactionReceipt);
+        ArrayList<ApprovalEventResponse> responses = new ArrayList<ApprovalEventResponse>(valueList.size());
+        for (Contract.EventValuesWithLog eventValues : valueList) {
+            ApprovalEventResponse typedResponse = new ApprovalEventResponse();
+            typedResponse.log = eventValues.getLog();
+            typedResponse._owner = (String) eventValues.getIndexedValues().get(0).getValue();
+            typedResponse._spender = (String) eventValues.getIndexedValues().get(1).getValue();
+            typedResponse._value = (BigInteger) eventValues.getNonIndexedValues().get(0).getValue();
+            responses.add(typedResponse);
+        }
+        return responses;
+    }
+
+    public static Token load(String chainId, String contractAddress, Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
+        return new Token(chainId, contractAddress, web3j, credentials, contractGasProvider);
+    }
+
+    public static Token load(String contractAddress, Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider) {
+        return new Token(contractAddress, web3j, transactionManager, contractGasProvider);
+    }
+
+    public static RemoteCall<Token> deploy(Web3j web3j, String chainId, Credentials credentials, ContractGasProvider contractGasProvider) {
+        return deployRemoteCall(Token.class, web3j, chainId, credentials, contractGasProvider, BINARY, "");
+    }
+
+    public static RemoteCall<Token> deploy(Web3j web3j, TransactionManager transactionManager, ContractGasProvider contractGasProvider) {
+        return deployRemoteCall(Token.class, web3j, transactionManager, contractGasProvider, BINARY, "");
+    }
+
+    public static class TransferEventResponse extends BaseEventResponse {
+        public String _from;
+
+        public String _to;
+
+        public BigInteger _value;
+    }
+
+    public static class ApprovalEventResponse extends BaseEventResponse {
+        public String _owner;
+
+        public String _spender;
+
+        public BigInteger _value;
+    }
+}
@@ -0,0 +1,55 @@
+package org.thinkium.blockchain.web3j.crypto;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class BulkSignerTest {
+    
+    private static final Credentials CREDENTIALS = Credentials.create("0x8e5b44b6cee8fa05092b4b5a8843aa6b0ec37915a940c9b5938e88a7e6fdd83a");
+    
+    @Test
+    public void testSignInOrderWithoutModifyingInput() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 10 * BulkSigner.THRESHOLD + 3; i++) {
+            transactions.add(Transaction.createTransaction("2", BigInteger.valueOf(i), BigInteger.valueOf(30000),
+                    "0x2e988a386a799f506693793c6a5af6b54dfaabfb", BigInteger.valueOf(1000 + i), ""));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Transaction> signed = new BulkSigner(CREDENTIALS, pool).sign(transactions.stream());
+            Assert.assertEquals(transactions.size(), signed.size());
+            for (int i = 0; i < transactions.size(); i++) {
+                Transaction transaction = transactions.get(i);
+                Assert.assertEquals("", transaction.getSig());
+                Assert.assertEquals("", transaction.getFrom());
+                
+                // as RawTransactionManager signs
+                transaction.setFrom(CREDENTIALS.getAddress());
+                transaction.setPub(CREDENTIALS.getPublicKey());
+                String sig = CREDENTIALS.sign(transaction);
+                
+                Transaction copy = signed.get(i);
+                Assert.assertEquals(transaction.getNonce(), copy.getNonce());
+                Assert.assertEquals(transaction.getValue(), copy.getValue());
+                Assert.assertEquals(CREDENTIALS.getAddress(), copy.getFrom());
+                Assert.assertEquals(CREDENTIALS.getPublicKey(), copy.getPub());
+                Assert.assertEquals(transaction.getHash(), copy.getHash());
+                Assert.assertEquals(sig, copy.getSig());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSignEmpty() {
+        Assert.assertEquals(Collections.emptyList(), new BulkSigner(CREDENTIALS).sign(Collections.<Transaction>emptyList()));
+    }
+}
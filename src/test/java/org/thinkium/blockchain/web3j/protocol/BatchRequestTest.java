@@ -0,0 +1,92 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetTransactionByHash;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class BatchRequestTest {
+    
+    private String lastPayload;
+    private String reply;
+    
+    private final Web3j web3j = Web3j.load(new Service(false) {
+        @Override
+        protected InputStream performIO(String payload) {
+            lastPayload = payload;
+            if (reply == null) {
+                return null;
+            }
+            return new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public void close() {
+        }
+    });
+    
+    @Test
+    public void testResponsesAreMatchedById() throws Exception {
+        Request<?, ThkGetAccount> first = web3j.getAccount("1", "0x01");
+        Request<?, ThkGetTransactionByHash> second = web3j.getTransactionByHash("1", "0xaa");
+        
+        // the node is free to answer out of order
+        reply = "[{\"id\":" + second.getId() + ",\"result\":{\"transactionHash\":\"0xaa\",\"status\":1}},"
+                + "{\"id\":" + first.getId() + ",\"result\":{\"address\":\"0x01\",\"nonce\":7}}]";
+        BatchResponse response = web3j.newBatch().add(first).add(second).send();
+        
+        Assert.assertTrue(lastPayload.startsWith("[{"));
+        Assert.assertEquals(BigInteger.valueOf(7), response.getResponse(first).getAccount().getNonce());
+        Assert.assertEquals("0xaa", response.getResponse(second).getTransaction().getTransactionHash());
+        Assert.assertSame(ThkGetAccount.class, response.getResponses().get(0).getClass());
+    }
+    
+    @Test
+    public void testResponsesWithoutIdAreMatchedByPosition() throws Exception {
+        reply = "[{\"result\":{\"nonce\":1}},{\"result\":{\"nonce\":2}}]";
+        BatchRequest batch = web3j.newBatch()
+                .add(web3j.getAccount("1", "0x01"))
+                .add(web3j.getAccount("1", "0x02"));
+        
+        List<? extends Response<?>> responses = batch.sendAsync().get().getResponses();
+        Assert.assertEquals(BigInteger.ONE, ((ThkGetAccount) responses.get(0)).getAccount().getNonce());
+        Assert.assertEquals(BigInteger.valueOf(2), ((ThkGetAccount) responses.get(1)).getAccount().getNonce());
+        Assert.assertEquals(BigInteger.valueOf(2),
+                ((ThkGetAccount) batch.sendAsyncEach().get(1).get()).getAccount().getNonce());
+    }
+    
+    @Test
+    public void testSendAsyncEachFailsUnansweredRequests() throws Exception {
+        Request<?, ThkGetAccount> first = web3j.getAccount("1", "0x01");
+        Request<?, ThkGetAccount> second = web3j.getAccount("1", "0x02");
+        reply = "[{\"id\":" + first.getId() + ",\"result\":{\"nonce\":1}}]";
+        List<CompletableFuture<Response<?>>> futures = web3j.newBatch().add(first).add(second).sendAsyncEach();
+        Assert.assertEquals(BigInteger.ONE, ((ThkGetAccount) futures.get(0).get(1, TimeUnit.SECONDS)).getAccount().getNonce());
+        assertFailsWithIOException(futures.get(1));
+        
+        reply = null;
+        futures = web3j.newBatch().add(web3j.getAccount("1", "0x01")).add(web3j.getAccount("1", "0x02")).sendAsyncEach();
+        for (CompletableFuture<Response<?>> future : futures) {
+            assertFailsWithIOException(future);
+        }
+    }
+    
+    private static void assertFailsWithIOException(CompletableFuture<Response<?>> future) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetBlockHeader;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetTransactionByHash;
+
+import java.math.BigInteger;
+
+public class CachingWeb3jServiceTest {
+    
+    private final FakeWeb3jService node = new FakeWeb3jService();
+    
+    @Test
+    public void testCacheImmutableResponsesOnly() throws Exception {
+        CachingWeb3jService service = new CachingWeb3jService(node);
+        Web3j web3j = Web3j.load(service);
+        
+        node.reply = "{\"result\":{\"hash\":\"0x0a\",\"height\":100}}";
+        ThkGetBlockHeader header = web3j.getBlockHeader("1", "100").send();
+        Assert.assertSame(header, web3j.getBlockHeader("1", "100").sendAsync().get());
+        Assert.assertEquals(1, node.methods.size());
+        Assert.assertEquals(1, service.getHitCount());
+        Assert.assertEquals(1, service.getMissCount());
+        Assert.assertEquals(0.5, service.getHitRate(), 0);
+        
+        // another chain, a block not produced yet and a height that is not a number
+        web3j.getBlockHeader("2", "100").send();
+        node.reply = "{\"error\":{\"code\":-1,\"message\":\"not found\"}}";
+        web3j.getBlockHeader("1", "101").send();
+        web3j.getBlockHeader("1", "101").send();
+        node.reply = "{\"result\":{\"hash\":\"0x0b\",\"height\":101}}";
+        web3j.getBlockHeader("1", "latest").send();
+        web3j.getBlockHeader("1", "latest").send();
+        Assert.assertEquals(6, node.methods.size());
+        
+        node.reply = "{\"result\":{\"transactionHash\":\"0x0c\"}}";
+        web3j.getTransactionByHash("1", "0x0c").send();
+        node.reply = "{\"result\":{\"transactionHash\":\"0x0c\",\"blockHeight\":102}}";
+        web3j.getTransactionByHash("1", "0x0c").send();
+        web3j.getTransactionByHash("1", "0x0c").send();
+        Assert.assertEquals(8, node.methods.size());
+        
+        node.reply = "{\"result\":{\"nonce\":3}}";
+        web3j.getAccount("1", "0x01").send();
+        web3j.getAccount("1", "0x01").send();
+        Assert.assertEquals(10, node.methods.size());
+        Assert.assertEquals(2, service.getHitCount());
+        Assert.assertEquals(6, service.getMissCount());
+    }
+    
+    @Test
+    public void testSerializedTier() throws Exception {
+        CachingWeb3jService service = new CachingWeb3jService(node, 1, 1 << 20);
+        Web3j web3j = Web3j.load(service);
+        
+        node.reply = "{\"result\":{\"transactionHash\":\"0x0c\",\"blockHeight\":102,\"tx\":{\"chainId\":\"1\",\"nonce\":7}}}";
+        web3j.getTransactionByHash("1", "0x0c").send();
+        node.reply = "{\"result\":{\"hash\":\"0x0a\",\"height\":100}}";
+        web3j.getBlockHeader("1", "100").send();
+        Assert.assertEquals(1, service.size());
+        Assert.assertTrue(service.serializedSize() > 0);
+        
+        ThkGetTransactionByHash response = web3j.getTransactionByHash("1", "0x0c").send();
+        Assert.assertEquals(2, node.methods.size());
+        Assert.assertEquals(1, service.getSerializedHitCount());
+        Assert.assertEquals("0x0c", response.getTransaction().getTransactionHash());
+        Assert.assertEquals(BigInteger.valueOf(102), response.getTransaction().getBlockHeight());
+        Assert.assertEquals(BigInteger.valueOf(7), response.getTransaction().getTx().getNonce());
+        
+        // the header moved to the serialized tier in its place
+        Assert.assertEquals("0x0a", web3j.getBlockHeader("1", "100").send().getBlockHeader().getHash());
+        Assert.assertEquals(2, node.methods.size());
+        Assert.assertEquals(0, service.getEvictionCount());
+    }
+    
+    @Test
+    public void testDecodedTierIsBoundedByWeight() throws Exception {
+        node.reply = "{\"result\":{\"hash\":\"0x0a\",\"height\":100}}";
+        CachingWeb3jService service = new CachingWeb3jService(node, 100, 1000, null, 0);
+        Web3j web3j = Web3j.load(service);
+        ThkGetBlockHeader header = web3j.getBlockHeader("1", "100").send();
+        long weight = service.weight();
+        Assert.assertEquals(new ObjectMapper().writeValueAsBytes(header).length, weight);
+        
+        for (int i = 101; i < 150; i++) {
+            web3j.getBlockHeader("1", String.valueOf(i)).send();
+        }
+        Assert.assertEquals(1000 / weight, service.size());
+        Assert.assertTrue(service.weight() <= 1000);
+        Assert.assertEquals(50 - 1000 / weight, service.getEvictionCount());
+        
+        // a caller supplied weigher
+        service = new CachingWeb3jService(node, 100, 3, response -> 1, 0);
+        web3j = Web3j.load(service);
+        for (int i = 100; i < 110; i++) {
+            web3j.getBlockHeader("1", String.valueOf(i)).send();
+        }
+        Assert.assertEquals(3, service.size());
+    }
+}
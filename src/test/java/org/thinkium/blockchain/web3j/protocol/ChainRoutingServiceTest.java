@@ -0,0 +1,251 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetChainInfo;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+public class ChainRoutingServiceTest {
+    
+    private ScheduledExecutorService scheduledExecutorService;
+    private final RecordingService defaultService = new RecordingService();
+    private final Map<String, RecordingService> chainServices = new ConcurrentHashMap<>();
+    private volatile List<ThkGetChainInfo.ChainInfo> topology;
+    
+    @Before
+    public void setUp() {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        topology = Arrays.asList(chain(1), chain(2, "10.0.0.2"), chain(3, "10.0.0.3", "10.0.0.4"));
+    }
+    
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+    
+    private ChainRoutingService routing() throws Exception {
+        ChainRoutingService routing = new ChainRoutingService(
+                defaultService,
+                (chainId, dataNodes) -> {
+                    RecordingService service = new RecordingService();
+                    chainServices.put(chainId, service);
+                    return service;
+                },
+                scheduledExecutorService,
+                3600000);
+        routing.refresh();
+        return routing;
+    }
+    
+    @Test
+    public void testRouteByChainId() throws Exception {
+        ChainRoutingService routing = routing();
+        Web3j web3j = Web3j.load(routing);
+        Assert.assertEquals(Arrays.asList("2", "3"), sorted(chainServices.keySet()));
+        
+        web3j.getAccount("2", "0x01").send();
+        web3j.sendTx(new Transaction("3", "0x01", "0x02", "")).sendAsync().get();
+        web3j.getAccount("1", "0x01").send();
+        web3j.getChainInfo().send();
+        Assert.assertEquals(Collections.singletonList("GetAccount"), chainServices.get("2").methods);
+        Assert.assertEquals(Collections.singletonList("SendTx"), chainServices.get("3").methods);
+        Assert.assertTrue(defaultService.methods.contains("GetAccount"));
+        
+        RecordingService fixed = new RecordingService();
+        routing.route("2", fixed);
+        web3j.getBlockHeader("2", "100").send();
+        Assert.assertEquals(Collections.singletonList("GetBlockHeader"), fixed.methods);
+    }
+    
+    @Test
+    public void testSplitBatchAcrossChains() throws Exception {
+        Web3j web3j = Web3j.load(routing());
+        BatchRequest batch = web3j.newBatch()
+                .add(web3j.getAccount("2", "0x01"))
+                .add(web3j.getAccount("3", "0x01"))
+                .add(web3j.getAccount("2", "0x02"))
+                .add(web3j.getChainInfo());
+        
+        BatchResponse response = batch.send();
+        for (int i = 0; i < batch.getRequests().size(); i++) {
+            Assert.assertEquals(batch.getRequests().get(i).getId(), response.getResponses().get(i).getId());
+        }
+        Assert.assertEquals(Arrays.asList("GetAccount", "GetAccount"), chainServices.get("2").methods);
+        Assert.assertEquals(Collections.singletonList("GetAccount"), chainServices.get("3").methods);
+    }
+    
+    @Test
+    public void testRefreshReplacesChangedChainsOnly() throws Exception {
+        ChainRoutingService routing = routing();
+        RecordingService chain2 = chainServices.get("2");
+        RecordingService chain3 = chainServices.get("3");
+        
+        topology = Arrays.asList(chain(2, "10.0.0.2"), chain(3, "10.0.0.4"));
+        routing.refresh();
+        Assert.assertSame(chain2, routing.serviceOf("2"));
+        Assert.assertFalse(chain2.closed);
+        Assert.assertNotSame(chain3, routing.serviceOf("3"));
+        // requests routed before the refresh may still be in flight
+        Assert.assertFalse(chain3.closed);
+        
+        topology = Collections.singletonList(chain(2, "10.0.0.2"));
+        routing.refresh();
+        Assert.assertSame(defaultService, routing.serviceOf("3"));
+        
+        routing.close();
+        Assert.assertTrue(chain3.closed);
+    }
+    
+    @Test
+    public void testCloseReplacedServiceAfterRefreshInterval() throws Exception {
+        ChainRoutingService routing = new ChainRoutingService(
+                defaultService,
+                (chainId, dataNodes) -> {
+                    RecordingService service = new RecordingService();
+                    chainServices.put(chainId, service);
+                    return service;
+                },
+                scheduledExecutorService,
+                50);
+        routing.refresh();
+        RecordingService chain3 = chainServices.get("3");
+        topology = Arrays.asList(chain(2, "10.0.0.2"), chain(3, "10.0.0.4"));
+        routing.refresh();
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!chain3.closed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(chain3.closed);
+        routing.close();
+    }
+    
+    @Test
+    public void testRefreshReadsTopologyFromChainInfoEndpoint() throws Exception {
+        List<String> paths = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            paths.add(exchange.getRequestURI().getPath());
+            byte[] body = ("{\"result\":[{\"chainId\":2,\"datanodes\":"
+                    + "[{\"dataNodeIp\":\"10.0.0.2\",\"dataNodePort\":8089}]}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            ChainRoutingService routing = new ChainRoutingService(
+                    new HttpService("http://127.0.0.1:" + server.getAddress().getPort()),
+                    (chainId, dataNodes) -> {
+                        RecordingService service = new RecordingService();
+                        chainServices.put(chainId, service);
+                        return service;
+                    },
+                    scheduledExecutorService,
+                    3600000);
+            // the constructor schedules a refresh of its own, which may run alongside this one
+            routing.refresh();
+            Assert.assertFalse(paths.isEmpty());
+            for (String path : paths) {
+                Assert.assertEquals("/chaininfo", path);
+            }
+            Assert.assertSame(chainServices.get("2"), routing.serviceOf("2"));
+            routing.close();
+        } finally {
+            server.stop(0);
+        }
+    }
+    
+    private static List<String> sorted(Iterable<String> values) {
+        List<String> list = new ArrayList<>();
+        values.forEach(list::add);
+        Collections.sort(list);
+        return list;
+    }
+    
+    private static ThkGetChainInfo.ChainInfo chain(int chainId, String... ips) {
+        List<ThkGetChainInfo.DataNode> dataNodes = new ArrayList<>();
+        for (String ip : ips) {
+            ThkGetChainInfo.DataNode dataNode = new ThkGetChainInfo.DataNode();
+            dataNode.setDataNodeIp(ip);
+            dataNode.setDataNodePort(8089);
+            dataNodes.add(dataNode);
+        }
+        ThkGetChainInfo.ChainInfo chain = new ThkGetChainInfo.ChainInfo();
+        chain.setChainId(chainId);
+        chain.setDataNodes(dataNodes);
+        return chain;
+    }
+    
+    /** A node answering every request with an empty response of its type, with the id of the request. */
+    private class RecordingService implements Web3jService {
+        private final List<String> methods = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+        
+        @Override
+        public <T extends Response> T send(Request request, Class<T> responseType) {
+            if (!"GetChainInfo".equals(request.getMethod()) || this != defaultService) {
+                methods.add(request.getMethod());
+            }
+            try {
+                T response = responseType.newInstance();
+                response.setId(request.getId());
+                if (response instanceof ThkGetChainInfo) {
+                    ((ThkGetChainInfo) response).setResult(topology);
+                }
+                return response;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        @Override
+        public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+            return CompletableFuture.completedFuture(send(request, responseType));
+        }
+        
+        @Override
+        public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public BatchResponse sendBatch(BatchRequest batchRequest) {
+            List<Response<?>> responses = new ArrayList<>();
+            for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+                responses.add(send(request, request.getResponseType()));
+            }
+            return new BatchResponse(batchRequest.getRequests(), responses);
+        }
+        
+        @Override
+        public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+            return CompletableFuture.completedFuture(sendBatch(batchRequest));
+        }
+        
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CoalescingWeb3jServiceTest {
+    
+    private final AtomicInteger nonce = new AtomicInteger(1);
+    
+    /** A node whose accounts have a nonce of one more than the transactions sent to it. */
+    private final FakeWeb3jService node = new FakeWeb3jService() {
+        @Override
+        <T extends Response> T reply(Request request, Class<T> responseType) throws IOException {
+            if ("SendTx".equals(request.getMethod())) {
+                nonce.incrementAndGet();
+            }
+            T response = super.reply(request, responseType);
+            if (response instanceof ThkGetAccount) {
+                ThkGetAccount.Account account = new ThkGetAccount.Account();
+                account.setNonce(BigInteger.valueOf(nonce.get()));
+                ((ThkGetAccount) response).setResult(account);
+            }
+            return response;
+        }
+    };
+    
+    @Test
+    public void testCoalesceRequestsInFlight() throws Exception {
+        CoalescingWeb3jService service = new CoalescingWeb3jService(node);
+        Web3j web3j = Web3j.load(service);
+        node.hold = true;
+        
+        List<CompletableFuture<ThkGetAccount>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(web3j.getAccount("1", i % 2 == 0 ? "0xAB" : "0xab").sendAsync());
+        }
+        futures.add(web3j.getAccount("2", "0xab").sendAsync());
+        Assert.assertEquals(2, node.calls("GetAccount"));
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ThkGetAccount> blocking = executor.submit(() -> web3j.getAccount("1", "0xab").send());
+            while (service.getCoalescedCount() < 10) {
+                Thread.sleep(1);
+            }
+            node.release();
+            for (CompletableFuture<ThkGetAccount> future : futures) {
+                Assert.assertEquals(BigInteger.ONE, future.get(1, TimeUnit.SECONDS).getAccount().getNonce());
+            }
+            Assert.assertEquals(BigInteger.ONE, blocking.get(1, TimeUnit.SECONDS).getAccount().getNonce());
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(2, service.getRequestCount());
+        
+        // nothing is kept without a time to live
+        node.hold = false;
+        web3j.getAccount("1", "0xab").send();
+        Assert.assertEquals(3, node.calls("GetAccount"));
+    }
+    
+    @Test
+    public void testKeepRepliesUntilOwnSendTx() throws Exception {
+        CoalescingWeb3jService service = new CoalescingWeb3jService(node, 60000);
+        Web3j web3j = Web3j.load(service);
+        
+        Assert.assertEquals(BigInteger.ONE, web3j.getAccount("1", "0xab").send().getAccount().getNonce());
+        Assert.assertEquals(BigInteger.ONE, web3j.getAccount("1", "0xab").sendAsync().get().getAccount().getNonce());
+        Assert.assertEquals(1, node.calls("GetAccount"));
+        Assert.assertEquals(1, service.getHitCount());
+        
+        web3j.sendTx(new Transaction("1", "0xab", "0xcd", "")).send();
+        Assert.assertEquals(BigInteger.valueOf(2), web3j.getAccount("1", "0xab").send().getAccount().getNonce());
+        Assert.assertEquals(2, node.calls("GetAccount"));
+    }
+    
+    @Test
+    public void testDoNotKeepReplyStartedBeforeSendTx() throws Exception {
+        CoalescingWeb3jService service = new CoalescingWeb3jService(node, 60000);
+        Web3j web3j = Web3j.load(service);
+        node.hold = true;
+        CompletableFuture<ThkGetAccount> before = web3j.getAccount("1", "0xab").sendAsync();
+        
+        node.hold = false;
+        web3j.sendTx(new Transaction("1", "0xab", "0xcd", "")).send();
+        node.release();
+        Assert.assertEquals(BigInteger.ONE, before.get().getAccount().getNonce());
+        
+        Assert.assertEquals(BigInteger.valueOf(2), web3j.getAccount("1", "0xab").send().getAccount().getNonce());
+        Assert.assertEquals(2, node.calls("GetAccount"));
+    }
+}
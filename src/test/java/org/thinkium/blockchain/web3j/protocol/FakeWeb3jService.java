@@ -0,0 +1,117 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A node answering every request with {@link #reply}, or with an empty response of its type, and
+ * recording the methods it is sent. Batches and streams are not supported.
+ */
+class FakeWeb3jService implements Web3jService {
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final List<Runnable> held = new CopyOnWriteArrayList<>();
+    
+    final List<String> methods = new CopyOnWriteArrayList<>();
+    /** Number of requests to come that fail with a 502. */
+    final AtomicInteger failing = new AtomicInteger();
+    /** Number of asynchronous requests to come that are never answered. */
+    final AtomicInteger unanswered = new AtomicInteger();
+    /** JSON of the reply to every request, or null for an empty response. */
+    volatile String reply;
+    /** Whether requests fail with a 502. */
+    volatile boolean reachable = true;
+    /** Whether asynchronous replies wait for {@link #release()}. */
+    volatile boolean hold;
+    /** Whether {@link #sendAsync} throws instead of returning a future. */
+    volatile boolean sendAsyncThrows;
+    /** Milliseconds each request takes. */
+    volatile long delay;
+    
+    long calls(String method) {
+        return methods.stream().filter(method::equals).count();
+    }
+    
+    /** Complete the asynchronous replies held so far. */
+    void release() {
+        held.forEach(Runnable::run);
+    }
+    
+    /** The response to a request that reached the node. */
+    <T extends Response> T reply(Request request, Class<T> responseType) throws IOException {
+        if (reply != null) {
+            return objectMapper.readValue(reply, responseType);
+        }
+        try {
+            return responseType.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IOException(e);
+        }
+    }
+    
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        methods.add(request.getMethod());
+        if (!reachable || failing.getAndDecrement() > 0) {
+            throw new ClientConnectionException("Invalid response received: 502; down", 502);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return reply(request, responseType);
+    }
+    
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        if (sendAsyncThrows) {
+            methods.add(request.getMethod());
+            throw new IllegalStateException("sendAsync failed");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (unanswered.getAndDecrement() > 0) {
+            methods.add(request.getMethod());
+            return result;
+        }
+        Runnable complete;
+        try {
+            T response = send(request, responseType);
+            complete = () -> result.complete(response);
+        } catch (IOException | RuntimeException e) {
+            complete = () -> result.completeExceptionally(e);
+        }
+        if (hold) {
+            held.add(complete);
+        } else {
+            complete.run();
+        }
+        return result;
+    }
+    
+    @Override
+    public <E> StreamingResponse<E> sendStreaming(Request request, Class<E> elementType, String... resultPath) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public void close() {
+    }
+}
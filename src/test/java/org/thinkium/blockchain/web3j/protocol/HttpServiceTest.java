@@ -0,0 +1,140 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class HttpServiceTest {
+    
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile String reply;
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+    
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            paths.add(exchange.getRequestURI().getPath());
+            byte[] body = reply.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+    
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+    
+    private Web3j web3j() {
+        return Web3j.load(new HttpService("http://127.0.0.1:" + server.getAddress().getPort() + "/"));
+    }
+    
+    @Test
+    public void testSendAsync() throws Exception {
+        reply = "{\"result\":{\"address\":\"0x01\",\"nonce\":3,\"balance\":10}}";
+        CompletableFuture<ThkGetAccount> future = web3j().getAccount("1", "0x01").sendAsync();
+        ThkGetAccount.Account account = future.get().getAccount();
+        Assert.assertEquals(BigInteger.valueOf(3), account.getNonce());
+        Assert.assertEquals(BigInteger.TEN, account.getBalance());
+    }
+    
+    @Test
+    public void testRawResponse() throws Exception {
+        reply = "{\"result\":{\"nonce\":3}}";
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        ThkGetAccount response = Web3j.load(new HttpService(url, true)).getAccount("1", "0x01").send();
+        Assert.assertEquals(reply, response.getRawResponse());
+        Assert.assertEquals(BigInteger.valueOf(3), response.getAccount().getNonce());
+    }
+    
+    @Test
+    public void testSendBatchAsync() throws Exception {
+        reply = "[{\"result\":{\"nonce\":1}},{\"result\":{\"nonce\":2}}]";
+        Web3j web3j = web3j();
+        List<? extends Response<?>> responses = web3j.newBatch()
+                .add(web3j.getAccount("1", "0x01"))
+                .add(web3j.getAccount("1", "0x02"))
+                .sendAsync().get().getResponses();
+        Assert.assertEquals(BigInteger.valueOf(2), ((ThkGetAccount) responses.get(1)).getAccount().getNonce());
+    }
+    
+    @Test
+    public void testSendAsyncFailsOnHttpError() throws Exception {
+        status = 500;
+        reply = "boom";
+        try {
+            web3j().getAccount("1", "0x01").sendAsync().get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ClientConnectionException);
+        }
+    }
+    
+    @Test
+    public void testSendAsyncFailsWhenDecodeIsRejected() throws Exception {
+        reply = "{\"result\":{\"nonce\":3}}";
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        HttpService service = new HttpService(url, new OkHttpClient(), false, command -> {
+            throw new RejectedExecutionException("full");
+        });
+        try {
+            Web3j.load(service).getAccount("1", "0x01").sendAsync().get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+    
+    @Test
+    public void testChainInfoMethodsUseChainInfoEndpoint() throws Exception {
+        reply = "{\"result\":null}";
+        Web3j web3j = web3j();
+        web3j.getChainInfo().send();
+        web3j.getCommittee("1", "0").sendAsync().get(5, TimeUnit.SECONDS);
+        web3j.ping("127.0.0.1:22010").send();
+        Assert.assertEquals(Arrays.asList("/chaininfo", "/chaininfo", "/chaininfo"), paths);
+        
+        paths.clear();
+        reply = "{\"result\":{\"nonce\":3}}";
+        web3j.getAccount("1", "0x01").send();
+        Assert.assertEquals(Collections.singletonList("/"), paths);
+    }
+    
+    @Test
+    public void testBatchRoutesByCommonMethod() throws Exception {
+        reply = "[{\"result\":null},{\"result\":null}]";
+        Web3j web3j = web3j();
+        web3j.newBatch().add(web3j.getChainInfo()).add(web3j.getChainInfo()).send();
+        web3j.newBatch().add(web3j.getChainInfo()).add(web3j.getAccount("1", "0x01")).sendAsync().get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(Arrays.asList("/chaininfo", "/"), paths);
+    }
+    
+    @Test
+    public void testChainInfoUrl() {
+        Assert.assertEquals("http://host:8089/chaininfo", new HttpService("http://host:8089").getChainInfoUrl());
+        Assert.assertEquals("http://host:8089/chaininfo", new HttpService("http://host:8089/").getChainInfoUrl());
+    }
+}
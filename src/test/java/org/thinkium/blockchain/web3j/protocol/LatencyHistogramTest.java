@@ -0,0 +1,45 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+    
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentile(0.95));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        Assert.assertEquals(1000, histogram.getCount());
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(500), histogram.getPercentile(0.5));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(950), histogram.getPercentile(0.95));
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(1000), histogram.getPercentile(1));
+        
+        LatencyHistogram submicrosecond = new LatencyHistogram();
+        submicrosecond.record(1);
+        Assert.assertEquals(2000, submicrosecond.getPercentile(0.5));
+    }
+    
+    @Test
+    public void testDecay() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < LatencyHistogram.DECAY_INTERVAL; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(1));
+        }
+        Assert.assertEquals(LatencyHistogram.DECAY_INTERVAL / 2, histogram.getCount());
+        for (int i = 0; i < LatencyHistogram.DECAY_INTERVAL; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        // halved twice, the old latencies are down to a third of the samples
+        assertWithin(TimeUnit.MILLISECONDS.toNanos(1), histogram.getPercentile(0.6));
+        assertWithin(TimeUnit.SECONDS.toNanos(1), histogram.getPercentile(0.7));
+    }
+    
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue(expected + " ~ " + actual, actual >= expected && actual <= expected * 1.25);
+    }
+}
@@ -0,0 +1,185 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class LoadBalancedServiceTest {
+    
+    private ScheduledExecutorService scheduledExecutorService;
+    
+    @Before
+    public void setUp() {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+    
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+    
+    private LoadBalancedService balance(long hedgeDelay, FakeWeb3jService... services) {
+        return balance(LoadBalancedService.Strategy.LEAST_OUTSTANDING, hedgeDelay, services);
+    }
+    
+    private LoadBalancedService balance(LoadBalancedService.Strategy strategy, long hedgeDelay, FakeWeb3jService... services) {
+        return new LoadBalancedService(Arrays.asList(services), strategy, hedgeDelay, scheduledExecutorService, 10);
+    }
+    
+    @Test
+    public void testLeastOutstanding() throws Exception {
+        FakeWeb3jService first = new FakeWeb3jService();
+        FakeWeb3jService second = new FakeWeb3jService();
+        first.hold = true;
+        second.hold = true;
+        Web3j web3j = Web3j.load(balance(-1, first, second));
+        
+        CompletableFuture<ThkGetAccount> one = web3j.getAccount("1", "0x01").sendAsync();
+        CompletableFuture<ThkGetAccount> two = web3j.getAccount("1", "0x02").sendAsync();
+        Assert.assertEquals(Arrays.asList("GetAccount"), first.methods);
+        Assert.assertEquals(Arrays.asList("GetAccount"), second.methods);
+        
+        first.release();
+        second.release();
+        Assert.assertNotNull(one.get(1, TimeUnit.SECONDS));
+        Assert.assertNotNull(two.get(1, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testFailOverReadsAndProbe() throws Exception {
+        FakeWeb3jService first = new FakeWeb3jService();
+        FakeWeb3jService second = new FakeWeb3jService();
+        first.reachable = false;
+        LoadBalancedService service = balance(-1, first, second);
+        Web3j web3j = Web3j.load(service);
+        
+        for (int i = 0; i < 4; i++) {
+            Assert.assertNotNull(web3j.getAccount("1", "0x01").send());
+            Assert.assertNotNull(web3j.getAccount("1", "0x01").sendAsync().get(1, TimeUnit.SECONDS));
+        }
+        Assert.assertFalse(service.isUp(0));
+        Assert.assertTrue(service.isUp(1));
+        Assert.assertEquals(1, first.calls("GetAccount"));
+        
+        first.reachable = true;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!service.isUp(0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(service.isUp(0));
+        Assert.assertTrue(first.methods.contains("Ping"));
+    }
+    
+    @Test
+    public void testProbeSurvivesThrowingService() throws Exception {
+        FakeWeb3jService first = new FakeWeb3jService();
+        FakeWeb3jService second = new FakeWeb3jService();
+        first.reachable = false;
+        first.sendAsyncThrows = true;
+        LoadBalancedService service = balance(-1, first, second);
+        Web3j web3j = Web3j.load(service);
+        Assert.assertNotNull(web3j.getAccount("1", "0x01").send());
+        Assert.assertFalse(service.isUp(0));
+        
+        long deadline = System.currentTimeMillis() + 5000;
+        while (first.calls("Ping") < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        first.reachable = true;
+        first.sendAsyncThrows = false;
+        while (!service.isUp(0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(service.isUp(0));
+    }
+    
+    @Test
+    public void testIsConnectionFailure() {
+        Assert.assertTrue(LoadBalancedService.isConnectionFailure(new ClientConnectionException("refused", new IOException())));
+        Assert.assertTrue(LoadBalancedService.isConnectionFailure(new ClientConnectionException("bad gateway", 502)));
+        Assert.assertTrue(LoadBalancedService.isConnectionFailure(new ClientConnectionException("unavailable", 503)));
+        Assert.assertTrue(LoadBalancedService.isConnectionFailure(new CompletionException(new IOException("reset"))));
+        Assert.assertFalse(LoadBalancedService.isConnectionFailure(new ClientConnectionException("bad request", 400)));
+        Assert.assertFalse(LoadBalancedService.isConnectionFailure(new ClientConnectionException("not found", 404)));
+        Assert.assertFalse(LoadBalancedService.isConnectionFailure(new JsonParseException("garbage", null)));
+    }
+    
+    @Test
+    public void testRecoveredNodeSharesLoad() throws Exception {
+        FakeWeb3jService first = new FakeWeb3jService();
+        FakeWeb3jService second = new FakeWeb3jService();
+        first.reachable = false;
+        second.delay = 5;
+        LoadBalancedService service = balance(LoadBalancedService.Strategy.EWMA, -1, first, second);
+        Web3j web3j = Web3j.load(service);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertNotNull(web3j.getAccount("1", "0x01").send());
+        }
+        
+        first.reachable = true;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!service.isUp(0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(service.isUp(0));
+        
+        // until its first reply the recovered node is as fast as the other, not free
+        first.hold = true;
+        second.hold = true;
+        long before = second.calls("GetAccount");
+        for (int i = 0; i < 6; i++) {
+            web3j.getAccount("1", "0x01").sendAsync();
+        }
+        Assert.assertEquals(3, first.calls("GetAccount") - 1);
+        Assert.assertEquals(3, second.calls("GetAccount") - before);
+        first.release();
+        second.release();
+    }
+    
+    @Test
+    public void testSendTxIsNotSentAgain() throws Exception {
+        FakeWeb3jService first = new FakeWeb3jService();
+        FakeWeb3jService second = new FakeWeb3jService();
+        first.reachable = false;
+        Web3j web3j = Web3j.load(balance(0, first, second));
+        
+        int failures = 0;
+        for (int i = 0; i < 2; i++) {
+            try {
+                web3j.sendTx(new Transaction()).send();
+            } catch (ClientConnectionException e) {
+                failures++;
+            }
+        }
+        Assert.assertEquals(1, failures);
+        Assert.assertEquals(1, first.calls("SendTx"));
+        Assert.assertEquals(1, second.calls("SendTx"));
+    }
+    
+    @Test
+    public void testHedgeReads() throws Exception {
+        FakeWeb3jService slow = new FakeWeb3jService();
+        FakeWeb3jService fast = new FakeWeb3jService();
+        slow.hold = true;
+        Web3j web3j = Web3j.load(balance(20, slow, fast));
+        
+        for (int i = 0; i < 4; i++) {
+            Assert.assertNotNull(web3j.getAccount("1", "0x01").sendAsync().get(1, TimeUnit.SECONDS));
+        }
+        Assert.assertFalse(slow.methods.isEmpty());
+        Assert.assertEquals(4, fast.methods.size());
+    }
+}
@@ -0,0 +1,116 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ResilientServiceTest {
+    
+    private ScheduledExecutorService scheduledExecutorService;
+    private final FakeWeb3jService node = new FakeWeb3jService();
+    
+    @Before
+    public void setUp() {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+    
+    @After
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+    
+    private ResilientService guard(int failureThreshold, long openDuration) {
+        return new ResilientService(node, scheduledExecutorService, failureThreshold, openDuration, 0.1);
+    }
+    
+    @Test
+    public void testHedgeSlowRead() throws Exception {
+        ResilientService service = guard(5, 1000);
+        Web3j web3j = Web3j.load(service);
+        for (int i = 0; i < ResilientService.MIN_HEDGE_SAMPLES; i++) {
+            web3j.getAccount("1", "0x01").send();
+        }
+        Assert.assertEquals(ResilientService.MIN_HEDGE_SAMPLES, service.getLatencyHistogram("GetAccount").getCount());
+        
+        node.unanswered.set(1);
+        Assert.assertNotNull(web3j.getAccount("1", "0x01").sendAsync().get(1, TimeUnit.SECONDS));
+        Assert.assertEquals(ResilientService.MIN_HEDGE_SAMPLES + 2, node.calls("GetAccount"));
+    }
+    
+    @Test
+    public void testNeverHedgeSendTx() throws Exception {
+        ResilientService service = guard(5, 1000);
+        Web3j web3j = Web3j.load(service);
+        for (int i = 0; i < ResilientService.MIN_HEDGE_SAMPLES; i++) {
+            web3j.sendTx(new Transaction()).send();
+        }
+        node.unanswered.set(1);
+        CompletableFuture<?> held = web3j.sendTx(new Transaction()).sendAsync();
+        Thread.sleep(50);
+        Assert.assertFalse(held.isDone());
+        Assert.assertEquals(ResilientService.MIN_HEDGE_SAMPLES + 1, node.calls("SendTx"));
+    }
+    
+    @Test
+    public void testRetryReadsOnly() throws Exception {
+        Web3j web3j = Web3j.load(guard(5, 1000));
+        node.failing.set(1);
+        Assert.assertNotNull(web3j.getAccount("1", "0x01").send());
+        Assert.assertEquals(2, node.calls("GetAccount"));
+        
+        node.failing.set(1);
+        try {
+            web3j.sendTx(new Transaction()).send();
+            Assert.fail();
+        } catch (ClientConnectionException e) {
+            Assert.assertEquals(1, node.calls("SendTx"));
+        }
+    }
+    
+    @Test
+    public void testRetryBudget() throws Exception {
+        Web3j web3j = Web3j.load(guard(Integer.MAX_VALUE, 1000));
+        node.failing.set(Integer.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            try {
+                web3j.getAccount("1", "0x01").send();
+                Assert.fail();
+            } catch (ClientConnectionException e) {
+                // expected
+            }
+        }
+        // 100 requests, 10 retries to start with and 10 more earned by the requests
+        Assert.assertTrue(node.calls("GetAccount") <= 120);
+    }
+    
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        ResilientService service = guard(3, 100);
+        Web3j web3j = Web3j.load(service);
+        node.failing.set(Integer.MAX_VALUE);
+        for (int i = 0; i < 4; i++) {
+            try {
+                web3j.sendTx(new Transaction()).send();
+                Assert.fail();
+            } catch (ClientConnectionException e) {
+                // expected
+            }
+        }
+        Assert.assertTrue(service.isCircuitOpen());
+        Assert.assertEquals(3, node.calls("SendTx"));
+        
+        node.failing.set(0);
+        Thread.sleep(150);
+        web3j.sendTx(new Transaction()).send();
+        Assert.assertFalse(service.isCircuitOpen());
+        Assert.assertEquals(4, node.calls("SendTx"));
+    }
+}
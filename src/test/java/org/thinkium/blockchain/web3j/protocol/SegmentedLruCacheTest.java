@@ -0,0 +1,67 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SegmentedLruCacheTest {
+    
+    @Test
+    public void testScanDoesNotEvictHotEntries() {
+        List<String> evicted = new ArrayList<>();
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, value -> 1, (key, value) -> evicted.add(key));
+        cache.put("hot1", "a");
+        cache.put("hot2", "b");
+        Assert.assertEquals("a", cache.get("hot1"));
+        Assert.assertEquals("b", cache.get("hot2"));
+        
+        for (int i = 0; i < 100; i++) {
+            cache.put("scan" + i, "c");
+        }
+        Assert.assertEquals("a", cache.get("hot1"));
+        Assert.assertEquals("b", cache.get("hot2"));
+        Assert.assertNull(cache.get("scan0"));
+        Assert.assertEquals("c", cache.get("scan99"));
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(92, evicted.size());
+        Assert.assertEquals("scan0", evicted.get(0));
+    }
+    
+    @Test
+    public void testWeight() {
+        List<String> evicted = new ArrayList<>();
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, String::length, (key, value) -> evicted.add(key));
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.get("a");
+        cache.put("c", "1234");
+        Assert.assertEquals(Arrays.asList("b"), evicted);
+        Assert.assertEquals(8, cache.weight());
+        
+        cache.put("d", "12345678901");
+        Assert.assertNull(cache.get("d"));
+        Assert.assertEquals("1234", cache.remove("a"));
+        Assert.assertEquals(4, cache.weight());
+        Assert.assertEquals(1, evicted.size());
+    }
+    
+    @Test
+    public void testWeightAndSize() {
+        List<String> evicted = new ArrayList<>();
+        SegmentedLruCache<String, String> cache = new SegmentedLruCache<>(10, 3, String::length, (key, value) -> evicted.add(key));
+        cache.put("a", "1");
+        cache.put("b", "1");
+        cache.put("c", "1");
+        cache.put("d", "1");
+        Assert.assertEquals(Arrays.asList("a"), evicted);
+        Assert.assertEquals(3, cache.size());
+        
+        cache.put("e", "123456789");
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), evicted);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(10, cache.weight());
+    }
+}
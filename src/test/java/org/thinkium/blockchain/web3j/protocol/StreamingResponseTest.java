@@ -0,0 +1,53 @@
+package org.thinkium.blockchain.web3j.protocol;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StreamingResponseTest {
+    
+    private static <E> StreamingResponse<E> open(String json, Class<E> type, String... path) throws Exception {
+        return StreamingResponse.open(
+                ObjectMapperFactory.getObjectMapper(),
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                type,
+                path);
+    }
+    
+    @Test
+    public void testResultArray() throws Exception {
+        String json = "{\"id\":1,\"result\":[{\"nonce\":1},{\"nonce\":2},{\"nonce\":3}]}";
+        try (StreamingResponse<ThkGetAccount.Account> response = open(json, ThkGetAccount.Account.class)) {
+            List<BigInteger> nonces = response.stream().map(ThkGetAccount.Account::getNonce).collect(Collectors.toList());
+            Assert.assertEquals(3, nonces.size());
+            Assert.assertEquals(BigInteger.valueOf(3), nonces.get(2));
+            Assert.assertFalse(response.hasNext());
+        }
+    }
+    
+    @Test
+    public void testNestedArray() throws Exception {
+        String json = "{\"result\":{\"elections\":{\"a\":[1,2]},\"accountchanges\":[{\"nonce\":30}]}}";
+        try (StreamingResponse<ThkGetAccount.Account> response = open(json, ThkGetAccount.Account.class, "accountchanges")) {
+            Assert.assertTrue(response.hasNext());
+            Assert.assertEquals(BigInteger.valueOf(30), response.next().getNonce());
+            Assert.assertFalse(response.hasNext());
+        }
+    }
+    
+    @Test
+    public void testError() throws Exception {
+        String json = "{\"error\":{\"code\":4003,\"message\":\"not found\"}}";
+        try (StreamingResponse<Object> response = open(json, Object.class)) {
+            Assert.assertTrue(response.hasError());
+            Assert.assertEquals("not found", response.getError().getMessage());
+            Assert.assertFalse(response.hasNext());
+        }
+    }
+}
@@ -7,12 +7,19 @@ import org.slf4j.LoggerFactory;
 import org.thinkium.blockchain.web3j.protocol.HttpService;
 import org.thinkium.blockchain.web3j.protocol.Web3j;
 import org.thinkium.blockchain.web3j.protocol.methods.ThkGetAccount;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetBlockHeader;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetBlockTxs;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetChainInfo;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetChainStats;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkGetTransactions;
+import org.thinkium.blockchain.web3j.protocol.methods.ThkPing;
 import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
 import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
 import org.thinkium.blockchain.web3j.tx.BaseTest;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.List;
 
 /**
  * @author HarryPotter
@@ -63,18 +70,42 @@ public class Web3JTest extends BaseTest {
     
     @Test
     public void getChainStats() {
+        try {
+            final ThkGetChainStats.ChainStats chainStats = web3j.getChainStats("1").send().getChainStats();
+            log.debug("chainStats:{}", formatOut(chainStats));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
     public void getTransactions() {
+        try {
+            final List<ThkGetTransactions.TransactionInfo> transactions = web3j.getTransactions("1", ADDRESS, "90000", "100000").send().getTransactions();
+            log.debug("transactions:{}", formatOut(transactions));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
     public void getBlockHeader() {
+        try {
+            final ThkGetBlockHeader.BlockHeader blockHeader = web3j.getBlockHeader("1", "30").send().getBlockHeader();
+            log.debug("blockHeader:{}", formatOut(blockHeader));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
     public void getBlockTxs() {
+        try {
+            final ThkGetBlockTxs.BlockTxs blockTxs = web3j.getBlockTxs("1", "84", "1", "10").send().getBlockTxs();
+            log.debug("blockTxs:{}", formatOut(blockTxs));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
@@ -102,10 +133,22 @@ public class Web3JTest extends BaseTest {
     
     @Test
     public void getChainInfo() {
+        try {
+            final List<ThkGetChainInfo.ChainInfo> chainInfos = web3j.getChainInfo().send().getChainInfos();
+            log.debug("chainInfos:{}", formatOut(chainInfos));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
     public void getCommittee() {
+        try {
+            final List<String> members = web3j.getCommittee("1", "1").send().getMembers();
+            log.debug("members:{}", formatOut(members));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
     
     @Test
@@ -118,5 +161,11 @@ public class Web3JTest extends BaseTest {
     
     @Test
     public void ping() {
+        try {
+            final ThkPing.NodeInfo nodeInfo = web3j.ping("192.168.1.7:22007").send().getNodeInfo();
+            log.debug("nodeInfo:{}", formatOut(nodeInfo));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 }
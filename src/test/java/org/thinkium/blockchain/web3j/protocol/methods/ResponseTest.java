@@ -0,0 +1,101 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.ObjectMapperFactory;
+import org.thinkium.blockchain.web3j.protocol.Request;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.thk.models.vo.CashCheque;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+public class ResponseTest {
+    
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    
+    private <T> T read(String result, Class<T> type) throws IOException {
+        return objectMapper.readValue("{\"result\":" + result + "}", type);
+    }
+    
+    @Test
+    public void testGetChainStats() throws IOException {
+        ThkGetChainStats.ChainStats stats = read(
+                "{\"accountcount\":0,\"currentcomm\":[\"0x6e4a\",\"0xd1f8\"],\"currentheight\":280413,"
+                        + "\"epochduration\":202,\"epochlength\":80,\"lastepochduration\":202,\"lives\":64362,"
+                        + "\"tps\":0,\"tpsLastEpoch\":0,\"txcount\":10}",
+                ThkGetChainStats.class).getChainStats();
+        Assert.assertEquals(BigInteger.valueOf(280413), stats.getCurrentHeight());
+        Assert.assertEquals(10, stats.getTxCount());
+        Assert.assertEquals(80, stats.getEpochLength());
+        Assert.assertEquals(2, stats.getCurrentComm().size());
+    }
+    
+    @Test
+    public void testGetBlockHeader() throws IOException {
+        ThkGetBlockHeader.BlockHeader header = read(
+                "{\"hash\":\"0x7160\",\"previoushash\":\"0xd0f6\",\"chainid\":2,\"height\":30,"
+                        + "\"mergeroot\":\"0xdddf\",\"deltaroot\":\"0xdddf\",\"stateroot\":\"0x0b67\","
+                        + "\"txcount\":1,\"timestamp\":1547777358}",
+                ThkGetBlockHeader.class).getBlockHeader();
+        Assert.assertEquals("0xd0f6", header.getPreviousHash());
+        Assert.assertEquals("2", header.getChainId());
+        Assert.assertEquals(BigInteger.valueOf(30), header.getHeight());
+        Assert.assertEquals("0x0b67", header.getStateRoot());
+        Assert.assertEquals(1547777358L, header.getTimestamp());
+    }
+    
+    @Test
+    public void testGetBlockTxs() throws IOException {
+        ThkGetBlockTxs.BlockTxs txs = read(
+                "{\"elections\":null,\"accountchanges\":[{\"chainid\":2,\"height\":30,\"from\":\"0x4fa1\","
+                        + "\"to\":\"0x4fa1\",\"nonce\":30,\"value\":1,\"timestamp\":1547777358}]}",
+                ThkGetBlockTxs.class).getBlockTxs();
+        Assert.assertEquals(1, txs.getAccountChanges().size());
+        ThkGetBlockTxs.AccountChange change = txs.getAccountChanges().get(0);
+        Assert.assertEquals("2", change.getChainId());
+        Assert.assertEquals(BigInteger.valueOf(30), change.getNonce());
+        Assert.assertEquals(BigInteger.ONE, change.getValue());
+    }
+    
+    @Test
+    public void testGetChainInfo() throws IOException {
+        ThkGetChainInfo.ChainInfo info = read(
+                "[{\"chainId\":1,\"datanodes\":[{\"dataNodeId\":\"0x96dc\",\"dataNodeIp\":\"192.168.1.13\","
+                        + "\"dataNodePort\":22014}],\"mode\":6,\"parent\":0}]",
+                ThkGetChainInfo.class).getChainInfos().get(0);
+        Assert.assertEquals(1, info.getChainId());
+        Assert.assertEquals(6, info.getMode());
+        Assert.assertEquals(22014, info.getDataNodes().get(0).getDataNodePort());
+    }
+    
+    @Test
+    public void testPing() throws IOException {
+        ThkPing.NodeInfo node = read(
+                "{\"nodeId\":\"0x8438\",\"version\":\"V1.0.0\",\"isDataNode\":true,\"dataNodeOf\":1,"
+                        + "\"lastBlocks\":{\"0\":6889,\"1\":6899},\"opTypes\":{\"3\":[\"COMM\"]}}",
+                ThkPing.class).getNodeInfo();
+        Assert.assertTrue(node.isDataNode());
+        Assert.assertEquals(BigInteger.valueOf(6899), node.getLastBlocks().get("1"));
+        Assert.assertEquals("COMM", node.getOpTypes().get("3").get(0));
+    }
+    
+    @Test
+    public void testMakeVccProofRequest() throws IOException {
+        CashCheque cheque = new CashCheque();
+        cheque.setChainId(3);
+        cheque.setFromChainId(2);
+        cheque.setToChainId(3);
+        cheque.setFromAddress("0x2c75");
+        cheque.setToAddress("0x4fa1");
+        cheque.setNonce(10);
+        cheque.setExpireHeight(284228);
+        cheque.setAmount(BigInteger.ONE);
+        Request<?, ThkMakeVccProof> request = Web3j.load(null).makeVccProof(cheque, false);
+        String payload = objectMapper.writeValueAsString(request);
+        Assert.assertTrue(payload.contains("\"method\":\"MakeCCCExistenceProof\""));
+        Assert.assertTrue(payload.contains("\"expireheight\":\"284228\""));
+        Assert.assertTrue(read("{\"existence\":true,\"input\":\"0x96\"}", ThkMakeVccProof.class).getProof().isExistence());
+    }
+}
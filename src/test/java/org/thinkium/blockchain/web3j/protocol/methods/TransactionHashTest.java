@@ -0,0 +1,56 @@
+package org.thinkium.blockchain.web3j.protocol.methods;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.utils.Numeric;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.math.BigInteger;
+
+public class TransactionHashTest {
+    
+    /** The pre-image as it used to be built, by joining the fields into one string. */
+    private static byte[] joinedHash(Transaction tx) {
+        String to = tx.getTo();
+        String input = tx.getInput();
+        String from = tx.getFrom();
+        if (to.length() > 2) {
+            to = to.substring(2);
+        }
+        if (input.length() > 2) {
+            input = input.substring(2);
+        }
+        if (from.length() > 2) {
+            from = from.substring(2);
+        }
+        String extra = tx.getExtra() == null || tx.getExtra().trim().isEmpty() ? "" : tx.getExtra().replace("0x", "");
+        String str = tx.getChainId() + "-" + from + "-" + to + "-" + tx.getNonce() + "-"
+                + (tx.getUseLocal() ? "1" : "0") + "-" + tx.getValue() + "-" + input + "-" + extra;
+        return Hash.sha3(str.getBytes());
+    }
+    
+    @Test
+    public void testHashMatchesJoinedPreImage() {
+        StringBuilder largeInput = new StringBuilder("0x");
+        for (int i = 0; i < 5000; i++) {
+            largeInput.append(Integer.toHexString(i & 0xf));
+        }
+        String[][] cases = {
+                {"0x", ""},
+                {"0xa9059cbb", "0x7b22"},
+                {largeInput.toString(), "0x0x00xx"},
+                {"0xab", "extra \u00e9"},
+        };
+        for (String[] c : cases) {
+            Transaction tx = new Transaction(
+                    "2", "2", "2",
+                    "0x2c7536e3605d9c16a7a3d7b1898e529396a65c23",
+                    "0x5dfcfc6f4b48f93213dad643a50228ff873c15b9",
+                    BigInteger.valueOf(17), BigInteger.TEN.pow(18),
+                    c[0], null, null, c[1].startsWith("extra"), c[1]);
+            byte[] expected = joinedHash(tx);
+            Assert.assertArrayEquals(expected, tx.hash());
+            Assert.assertEquals(Numeric.toHexString(expected), tx.getHash());
+        }
+    }
+}
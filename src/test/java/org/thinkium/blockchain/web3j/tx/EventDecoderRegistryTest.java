@@ -0,0 +1,110 @@
+package org.thinkium.blockchain.web3j.tx;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.abi.EventEncoder;
+import org.thinkium.blockchain.web3j.abi.EventValues;
+import org.thinkium.blockchain.web3j.abi.TypeReference;
+import org.thinkium.blockchain.web3j.abi.datatypes.Address;
+import org.thinkium.blockchain.web3j.abi.datatypes.Event;
+import org.thinkium.blockchain.web3j.abi.datatypes.generated.Uint256;
+import org.thinkium.blockchain.web3j.protocol.methods.Log;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class EventDecoderRegistryTest {
+    
+    private static final String TRANSFER_TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String FROM = "0x0000000000000000000000005dfcfc6f4b48f93213dad643a50228ff873c15b9";
+    private static final String TO = "0x0000000000000000000000002e988a386a799f506693793c6a5af6b54dfaabfb";
+    private static final String SEVEN = "0x0000000000000000000000000000000000000000000000000000000000000007";
+    
+    private static final Event ERC20_TRANSFER = new Event("Transfer", Arrays.asList(
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Uint256>() {
+            }));
+    
+    private static final Event ERC721_TRANSFER = new Event("Transfer", Arrays.asList(
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Uint256>(true) {
+            }));
+    
+    private static final Event APPROVAL = new Event("Approval", Arrays.asList(
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Address>(true) {
+            },
+            new TypeReference<Uint256>() {
+            }));
+    
+    @Test
+    public void testDecodeByTopicAndTopicCount() {
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        Assert.assertEquals(TRANSFER_TOPIC, registry.register(ERC20_TRANSFER));
+        Assert.assertEquals(TRANSFER_TOPIC, registry.register(ERC721_TRANSFER));
+        registry.register(APPROVAL);
+        
+        Log erc20 = log(SEVEN, TRANSFER_TOPIC, FROM, TO);
+        DecodedEvent decoded = registry.decode(erc20);
+        Assert.assertSame(ERC20_TRANSFER, decoded.getEvent());
+        Assert.assertSame(erc20, decoded.getLog());
+        assertSameValues(Contract.staticExtractEventParameters(ERC20_TRANSFER, erc20), decoded.getEventValues());
+        
+        Log erc721 = log("0x", TRANSFER_TOPIC.toUpperCase().replace("0X", "0x"), FROM, TO, SEVEN);
+        decoded = registry.decode(erc721);
+        Assert.assertSame(ERC721_TRANSFER, decoded.getEvent());
+        Assert.assertEquals(Collections.emptyList(), decoded.getNonIndexedValues());
+        Assert.assertEquals(3, decoded.getIndexedValues().size());
+        
+        Assert.assertNull(registry.decode(log(SEVEN, SEVEN)));
+        Assert.assertNull(registry.decode(log(SEVEN, TRANSFER_TOPIC)));
+        Assert.assertNull(registry.decode(log(SEVEN)));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterTwice() {
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        registry.register(ERC20_TRANSFER);
+        registry.register(ERC20_TRANSFER);
+    }
+    
+    @Test
+    public void testDecodeReceipts() {
+        EventDecoderRegistry registry = new EventDecoderRegistry();
+        registry.registerAll(Arrays.asList(ERC20_TRANSFER, ERC721_TRANSFER, APPROVAL));
+        String approvalTopic = EventEncoder.encode(APPROVAL);
+        
+        TransactionReceipt first = new TransactionReceipt();
+        first.setLogs(Arrays.asList(log(SEVEN, TRANSFER_TOPIC, FROM, TO), log(SEVEN, SEVEN), log(SEVEN, approvalTopic, FROM, TO)));
+        TransactionReceipt second = new TransactionReceipt();
+        second.setLogs(Collections.singletonList(log("0x", TRANSFER_TOPIC, FROM, TO, SEVEN)));
+        TransactionReceipt empty = new TransactionReceipt();
+        
+        List<String> names = registry.decode(Arrays.asList(first, empty, second))
+                .map(event -> event.getName() + event.getIndexedValues().size())
+                .collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("Transfer2", "Approval2", "Transfer3"), names);
+    }
+    
+    private static void assertSameValues(EventValues expected, EventValues actual) {
+        Assert.assertEquals(expected.getIndexedValues(), actual.getIndexedValues());
+        Assert.assertEquals(expected.getNonIndexedValues(), actual.getNonIndexedValues());
+    }
+    
+    private static Log log(String data, String... topics) {
+        Log log = new Log();
+        log.setData(data);
+        log.setTopics(Arrays.asList(topics));
+        return log;
+    }
+}
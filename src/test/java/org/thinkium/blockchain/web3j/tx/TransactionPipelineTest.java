@@ -0,0 +1,122 @@
+package org.thinkium.blockchain.web3j.tx;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.crypto.Credentials;
+import org.thinkium.blockchain.web3j.protocol.ObjectMapperFactory;
+import org.thinkium.blockchain.web3j.protocol.Service;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.methods.Transaction;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+import org.thinkium.blockchain.web3j.tx.nonce.NonceManager;
+import org.thinkium.blockchain.web3j.tx.response.PollingTransactionReceiptProcessor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TransactionPipelineTest {
+    
+    private static final Credentials CREDENTIALS = Credentials.create("0x8e5b44b6cee8fa05092b4b5a8843aa6b0ec37915a940c9b5938e88a7e6fdd83a");
+    
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Set<String> sentNonces = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * A node that accepts every transaction except those sending value 13, and accepts those
+     * sending value 14 without replying in time.
+     */
+    private final Web3j web3j = Web3j.load(new Service(false) {
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            JsonNode request = objectMapper.readTree(payload);
+            JsonNode params = request.get("params");
+            String reply;
+            switch (request.get("method").asText()) {
+                case "GetAccount":
+                    reply = "{\"result\":{\"nonce\":5}}";
+                    break;
+                case "SendTx":
+                    if ("13".equals(params.get("value").asText())) {
+                        reply = "{\"error\":{\"code\":1,\"message\":\"rejected\"}}";
+                    } else if ("14".equals(params.get("value").asText())) {
+                        throw new SocketTimeoutException("timeout");
+                    } else {
+                        sentNonces.add(params.get("nonce").asText());
+                        reply = "{\"result\":{\"TXhash\":\"0x" + params.get("nonce").asText() + "\"}}";
+                    }
+                    break;
+                default:
+                    reply = "{\"result\":{\"transactionHash\":\"" + params.get("hash").asText() + "\",\"status\":1}}";
+            }
+            return new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public void close() {
+        }
+    });
+    
+    private static Transaction transfer(long value) {
+        return Transaction.createTransaction("1", null, BigInteger.valueOf(21000), "0x5dfcfc6f4b48f93213dad643a50228ff873c15b9", BigInteger.valueOf(value), "");
+    }
+    
+    @Test
+    public void testPipeline() throws Exception {
+        try (TransactionPipeline pipeline = new TransactionPipeline(
+                web3j, CREDENTIALS, "1", new NonceManager(web3j),
+                new PollingTransactionReceiptProcessor(web3j, 10, 3), 2, 4, 4, 8)) {
+            List<CompletableFuture<TransactionReceipt>> futures = pipeline.submitAll(
+                    IntStream.range(0, 100).mapToObj(i -> transfer(1)));
+            for (CompletableFuture<TransactionReceipt> future : futures) {
+                Assert.assertTrue(future.get().isStatusOK());
+            }
+        }
+        Assert.assertEquals(100, sentNonces.size());
+        Assert.assertEquals(
+                IntStream.range(5, 105).mapToObj(String::valueOf).collect(Collectors.toSet()),
+                sentNonces);
+    }
+    
+    @Test
+    public void testRejectedTransactionReleasesNonce() throws Exception {
+        try (TransactionPipeline pipeline = new TransactionPipeline(
+                web3j, CREDENTIALS, "1", new NonceManager(web3j),
+                new PollingTransactionReceiptProcessor(web3j, 10, 3), 1, 1, 1, 8)) {
+            try {
+                pipeline.submit(transfer(13)).get();
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause().getMessage().contains("rejected"));
+            }
+            pipeline.submit(transfer(1)).get();
+        }
+        Assert.assertEquals(Collections.singleton("5"), sentNonces);
+    }
+    
+    @Test
+    public void testTimedOutTransactionKeepsNonce() throws Exception {
+        try (TransactionPipeline pipeline = new TransactionPipeline(
+                web3j, CREDENTIALS, "1", new NonceManager(web3j),
+                new PollingTransactionReceiptProcessor(web3j, 10, 3), 1, 1, 1, 8)) {
+            Transaction timedOut = transfer(14);
+            Assert.assertTrue(pipeline.submit(timedOut).get().isStatusOK());
+            Assert.assertEquals(BigInteger.valueOf(5), timedOut.getNonce());
+            pipeline.submit(transfer(1)).get();
+        }
+        Assert.assertEquals(Collections.singleton("6"), sentNonces);
+    }
+}
@@ -0,0 +1,108 @@
+package org.thinkium.blockchain.web3j.tx.nonce;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.Service;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.exceptions.ClientConnectionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NonceManagerTest {
+    
+    private static final String CHAIN_ID = "1";
+    private static final String ADDRESS = "0xf167a1c5c5fab6bddca66118216817af3fa86827";
+    
+    private volatile long chainNonce = 10;
+    private final AtomicInteger rpcCount = new AtomicInteger();
+    
+    private final NonceManager nonceManager = new NonceManager(Web3j.load(new Service(false) {
+        @Override
+        protected InputStream performIO(String payload) {
+            rpcCount.incrementAndGet();
+            String reply = "{\"result\":{\"nonce\":" + chainNonce + "}}";
+            return new ByteArrayInputStream(reply.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public void close() {
+        }
+    }));
+    
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        int threads = 8;
+        int perThread = 1000;
+        Set<BigInteger> nonces = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    nonces.add(nonceManager.acquire(CHAIN_ID, ADDRESS));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        Assert.assertEquals(threads * perThread, nonces.size());
+        Assert.assertTrue(nonces.contains(BigInteger.valueOf(10)));
+        Assert.assertTrue(nonces.contains(BigInteger.valueOf(10 + threads * perThread - 1)));
+        Assert.assertEquals(1, rpcCount.get());
+    }
+    
+    @Test
+    public void testReleasedNoncesAreReused() throws Exception {
+        BigInteger first = nonceManager.acquire(CHAIN_ID, ADDRESS);
+        BigInteger second = nonceManager.acquire(CHAIN_ID, ADDRESS);
+        BigInteger third = nonceManager.acquire(CHAIN_ID, ADDRESS);
+        
+        nonceManager.release(CHAIN_ID, ADDRESS, first);
+        nonceManager.release(CHAIN_ID, ADDRESS, third);
+        Assert.assertEquals(first, nonceManager.acquire(CHAIN_ID, ADDRESS));
+        Assert.assertEquals(third, nonceManager.acquire(CHAIN_ID, ADDRESS));
+        Assert.assertEquals(third.add(BigInteger.ONE), nonceManager.acquire(CHAIN_ID, ADDRESS));
+        Assert.assertEquals(BigInteger.valueOf(11), second);
+    }
+    
+    @Test
+    public void testNonceTooLowResyncs() throws Exception {
+        BigInteger nonce = nonceManager.acquire(CHAIN_ID, ADDRESS);
+        chainNonce = 42;
+        nonceManager.reject(CHAIN_ID, ADDRESS.toUpperCase(), nonce, "Nonce too low");
+        Assert.assertEquals(BigInteger.valueOf(42), nonceManager.acquire(CHAIN_ID, ADDRESS));
+        Assert.assertEquals(2, rpcCount.get());
+        
+        nonceManager.reject(CHAIN_ID, ADDRESS, BigInteger.valueOf(42), "insufficient balance");
+        Assert.assertEquals(BigInteger.valueOf(42), nonceManager.acquire(CHAIN_ID, ADDRESS));
+    }
+    
+    @Test
+    public void testIsNotSent() {
+        Assert.assertTrue(NonceManager.isNotSent(new ConnectException("Connection refused")));
+        Assert.assertTrue(NonceManager.isNotSent(new RuntimeException(new UnknownHostException("node"))));
+        Assert.assertTrue(NonceManager.isNotSent(new ClientConnectionException("Invalid response received: 413; ", 413)));
+        Assert.assertFalse(NonceManager.isNotSent(new ClientConnectionException("Invalid response received: 502; ", 502)));
+        Assert.assertFalse(NonceManager.isNotSent(new SocketTimeoutException("timeout")));
+        Assert.assertFalse(NonceManager.isNotSent(new IOException("unexpected end of stream")));
+    }
+}
@@ -0,0 +1,116 @@
+package org.thinkium.blockchain.web3j.tx.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.protocol.ObjectMapperFactory;
+import org.thinkium.blockchain.web3j.protocol.Service;
+import org.thinkium.blockchain.web3j.protocol.Web3j;
+import org.thinkium.blockchain.web3j.protocol.exceptions.TransactionException;
+import org.thinkium.blockchain.web3j.protocol.methods.TransactionReceipt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueueingTransactionReceiptProcessorTest {
+    
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final AtomicInteger batches = new AtomicInteger();
+    
+    /** Knows the receipts of hashes starting with 0xaa, fails 0xbad and has not seen the others yet. */
+    private final Web3j web3j = Web3j.load(new Service(false) {
+        @Override
+        protected InputStream performIO(String payload) throws IOException {
+            batches.incrementAndGet();
+            ArrayNode replies = objectMapper.createArrayNode();
+            for (JsonNode request : objectMapper.readTree(payload)) {
+                String hash = request.get("params").get("hash").asText();
+                ObjectNode reply = replies.addObject();
+                reply.set("id", request.get("id"));
+                if (hash.startsWith("0xaa")) {
+                    reply.putObject("result").put("transactionHash", hash).put("status", 1);
+                } else if (hash.equals("0xbad")) {
+                    reply.putObject("error").put("code", 1).put("message", "broken");
+                } else {
+                    reply.putObject("error").put("code", 4003).put("message", "Transaction not found");
+                }
+            }
+            return new ByteArrayInputStream(objectMapper.writeValueAsBytes(replies));
+        }
+        
+        @Override
+        public void close() {
+        }
+    });
+    
+    @After
+    public void tearDown() {
+        web3j.shutdown();
+    }
+    
+    @Test
+    public void testPollsPendingHashesInBatches() throws Exception {
+        QueueingTransactionReceiptProcessor processor = new QueueingTransactionReceiptProcessor(
+                web3j, web3j.getScheduledExecutorService(), 10, 40, 5000, 50);
+        List<CompletableFuture<TransactionReceipt>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(processor.submit("1", "0xaa" + i));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            Assert.assertEquals("0xaa" + i, futures.get(i).get(5, TimeUnit.SECONDS).getTransactionHash());
+        }
+        Assert.assertTrue(batches.get() <= 8);
+        Assert.assertEquals(0, processor.getPendingCount());
+    }
+    
+    @Test
+    public void testErrorAndTimeout() throws Exception {
+        QueueingTransactionReceiptProcessor processor = new QueueingTransactionReceiptProcessor(
+                web3j, web3j.getScheduledExecutorService(), 10, 40, 300, 50);
+        try {
+            processor.submit("1", "0xbad").get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TransactionException);
+        }
+        try {
+            processor.waitForTransactionReceipt("1", "0xbb");
+            Assert.fail();
+        } catch (TransactionException e) {
+            Assert.assertEquals("0xbb", e.getTransactionHash());
+        }
+    }
+    
+    @Test
+    public void testCallback() throws Exception {
+        QueueingTransactionReceiptProcessor processor = new QueueingTransactionReceiptProcessor(web3j, 10, 10);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<TransactionReceipt> receipts = new ArrayList<>();
+        processor.submit("1", "0xaa", new Callback() {
+            @Override
+            public void accept(TransactionReceipt transactionReceipt) {
+                receipts.add(transactionReceipt);
+                latch.countDown();
+            }
+            
+            @Override
+            public void exception(Exception exception) {
+                latch.countDown();
+            }
+        });
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, receipts.size());
+    }
+}
@@ -1,11 +1,21 @@
 package org.thinkium.blockchain.web3j.utils;
 
 
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.thinkium.blockchain.web3j.utils.cipher.*;
 
+import java.math.BigInteger;
+
 /**
  * @author HarryPotter
  * @date 18:46 2020/7/2
@@ -43,4 +53,38 @@ public class ECKeyPairTest {
         String addressByPubKey = Keys.getAddress(pubKeyWithPrefix);
         log.debug("addressByPubKey: {}", addressByPubKey);
     }
+    
+    @Test
+    public void signRecoverable() {
+        ECDomainParameters curve = new ECDomainParameters(
+                Sign.CURVE_PARAMS.getCurve(), Sign.CURVE_PARAMS.getG(), Sign.CURVE_PARAMS.getN(), Sign.CURVE_PARAMS.getH());
+        for (int i = 0; i < 50; i++) {
+            ECKeyPair ecKeyPair = ECKeyPair.create(Hash.sha256(new byte[]{(byte) i}));
+            byte[] messageHash = Hash.sha3(new byte[]{(byte) i, 1});
+            
+            ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            signer.init(true, new ECPrivateKeyParameters(ecKeyPair.getPrivateKey(), curve));
+            BigInteger[] components = signer.generateSignature(messageHash);
+            ECDSASignature expected = new ECDSASignature(components[0], components[1]).toCanonicalised();
+            
+            RecoverableSignature sig = ecKeyPair.signRecoverable(messageHash);
+            Assert.assertEquals(expected.r, sig.r);
+            Assert.assertEquals(expected.s, sig.s);
+            Assert.assertEquals(ecKeyPair.getPublicKey(), Sign.recoverFromSignature(sig.recId, sig, messageHash));
+        }
+    }
+    
+    @Test
+    public void fixedBaseMultiply() {
+        BigInteger n = Sign.CURVE_PARAMS.getN();
+        BigInteger[] scalars = {
+                BigInteger.ONE, BigInteger.valueOf(255), BigInteger.valueOf(256), n.subtract(BigInteger.ONE),
+                BigInteger.ONE.shiftLeft(255), BigInteger.ONE.shiftLeft(248).subtract(BigInteger.ONE),
+                new BigInteger(1, Hash.sha256(new byte[]{1}))};
+        FixedPointCombMultiplier comb = new FixedPointCombMultiplier();
+        for (BigInteger k : scalars) {
+            ECPoint expected = comb.multiply(Sign.CURVE_PARAMS.getG(), k).normalize();
+            Assert.assertEquals(expected, FixedBaseMultiplier.SECP256K1.multiply(Sign.CURVE_PARAMS.getG(), k).normalize());
+        }
+    }
 }
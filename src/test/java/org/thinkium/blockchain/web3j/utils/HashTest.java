@@ -0,0 +1,46 @@
+package org.thinkium.blockchain.web3j.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.utils.cipher.Hash;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class HashTest {
+    
+    @Test
+    public void testSha3() {
+        Assert.assertEquals(
+                "0xc5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470",
+                Numeric.toHexString(Hash.sha3(new byte[0])));
+        Assert.assertEquals(
+                "0x47173285a8d7341e5e972fc677286384f802f8ef42a5ec5f03bbfa254cb01fad",
+                Hash.sha3String("hello world"));
+    }
+    
+    @Test
+    public void testSha3ByteBuffer() {
+        byte[] input = new byte[10000];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = (byte) i;
+        }
+        byte[] expected = Hash.sha3(input, 1, input.length - 1);
+        
+        ByteBuffer direct = ByteBuffer.allocateDirect(input.length);
+        direct.put(input).flip();
+        direct.position(1);
+        Assert.assertArrayEquals(expected, Hash.sha3(direct));
+        Assert.assertFalse(direct.hasRemaining());
+        
+        ByteBuffer heap = ByteBuffer.wrap(input, 1, input.length - 1);
+        Assert.assertArrayEquals(expected, Hash.sha3(heap.slice()));
+        Assert.assertArrayEquals(expected, Hash.sha3(ByteBuffer.wrap(input, 1, input.length - 1).asReadOnlyBuffer()));
+        
+        byte[] output = new byte[40];
+        Hash.sha3("hello world".getBytes(StandardCharsets.UTF_8), 0, 11, output, 8);
+        Assert.assertEquals(
+                "0x47173285a8d7341e5e972fc677286384f802f8ef42a5ec5f03bbfa254cb01fad",
+                Numeric.toHexString(output, 8, 32, true));
+    }
+}
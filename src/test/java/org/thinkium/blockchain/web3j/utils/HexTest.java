@@ -0,0 +1,38 @@
+package org.thinkium.blockchain.web3j.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.thinkium.blockchain.web3j.exceptions.MessageDecodingException;
+
+public class HexTest {
+    
+    @Test
+    public void testEncode() {
+        byte[] input = {0x00, 0x0f, (byte) 0xab, (byte) 0xff, 0x10};
+        Assert.assertEquals("000fabff10", Hex.toHexString(input));
+        Assert.assertEquals("0x0fab", Numeric.toHexString(input, 1, 2, true));
+        Assert.assertEquals("0x", Numeric.toHexString(new byte[0]));
+        
+        char[] out = new char[6];
+        Assert.assertEquals(4, Hex.encode(input, 2, 2, out, 1));
+        Assert.assertEquals("\u0000abff\u0000", new String(out));
+    }
+    
+    @Test
+    public void testDecode() {
+        Assert.assertArrayEquals(new byte[]{0x0f, (byte) 0xab}, Numeric.hexStringToByteArray("0x0fAB"));
+        Assert.assertArrayEquals(new byte[]{0x0f, (byte) 0xab}, Numeric.hexStringToByteArray("fab"));
+        Assert.assertArrayEquals(new byte[0], Numeric.hexStringToByteArray("0x"));
+        Assert.assertArrayEquals(new byte[0], Numeric.hexStringToByteArray(""));
+        
+        StringBuilder sb = new StringBuilder("zz0x0102zz");
+        byte[] out = new byte[4];
+        Assert.assertEquals(2, Hex.decode(sb, 2, 8, out, 1));
+        Assert.assertArrayEquals(new byte[]{0, 1, 2, 0}, out);
+    }
+    
+    @Test(expected = MessageDecodingException.class)
+    public void testDecodeInvalid() {
+        Numeric.hexStringToByteArray("0x0g");
+    }
+}